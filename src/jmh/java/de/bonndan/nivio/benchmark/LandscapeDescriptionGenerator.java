@@ -0,0 +1,165 @@
+package de.bonndan.nivio.benchmark;
+
+import de.bonndan.nivio.input.dto.ItemDescription;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.dto.SourceReference;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic input for indexing benchmarks.
+ *
+ * Items have plain labels, a url-like label pointing to another item (a "magic" relation), and relations given as
+ * identifiers or queries. Templates are assigned to items by identifier. The same parameters and seed always result
+ * in the same description, churn modifies a fixed share of it.
+ */
+public class LandscapeDescriptionGenerator {
+
+    public static final String IDENTIFIER = "benchmark";
+
+    private static File emptySource;
+
+    private final int items;
+    private final int groups;
+    private final int labels;
+    private final int templates;
+    private final int relations;
+    private final long seed;
+
+    /**
+     * @param items     number of items
+     * @param groups    number of groups the items are distributed to
+     * @param labels    number of plain labels per item
+     * @param templates number of templates, each assigned to a share of the items
+     * @param relations number of relations per item, every second one is a query
+     * @param seed      random seed
+     */
+    public LandscapeDescriptionGenerator(int items, int groups, int labels, int templates, int relations, long seed) {
+        this.items = items;
+        this.groups = groups;
+        this.labels = labels;
+        this.templates = templates;
+        this.relations = relations;
+        this.seed = seed;
+    }
+
+    /**
+     * @return the description without churn
+     */
+    public LandscapeDescription generate() {
+        return generate(0);
+    }
+
+    /**
+     * A third of the churned items is removed, a third is modified (label value and an additional relation) and the
+     * same number of new items is added.
+     *
+     * @param churn share of the items which are changed compared to {@link #generate()}
+     * @return a new description
+     */
+    public LandscapeDescription generate(double churn) {
+        Random random = new Random(seed);
+        Random churnRandom = new Random(seed + 1);
+        int churned = (int) Math.round(items * churn / 3);
+
+        List<ItemDescription> descriptions = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            ItemDescription item = createItem(i, random);
+            boolean removed = churned > 0 && churnRandom.nextDouble() < churn / 3;
+            boolean modified = !removed && churned > 0 && churnRandom.nextDouble() < churn / 2;
+            if (removed) {
+                continue;
+            }
+            if (modified) {
+                item.setLabel("label0", "changed");
+                item.setRelations(List.of(identifier(other(i, churnRandom))));
+            }
+            descriptions.add(item);
+        }
+        for (int i = items; i < items + churned; i++) {
+            descriptions.add(createItem(i, churnRandom));
+        }
+
+        LandscapeDescription description = new LandscapeDescription(IDENTIFIER, "Benchmark", null);
+        description.mergeItems(descriptions);
+        description.setSources(List.of(templateSource(description)));
+        return description;
+    }
+
+    private ItemDescription createItem(int i, Random random) {
+        ItemDescription item = new ItemDescription(identifier(i));
+        item.setName("Item " + i);
+        item.setGroup("group" + random.nextInt(groups));
+        for (int l = 0; l < labels; l++) {
+            item.setLabel("label" + l, "value" + random.nextInt(100));
+        }
+        if (i % 4 == 0) {
+            item.setLabel("db_url", identifier(other(i, random)));
+        }
+
+        List<String> targets = new ArrayList<>();
+        for (int r = 0; r < relations; r++) {
+            int target = other(i, random);
+            targets.add(r % 2 == 0 ? identifier(target) : String.format("identifier = '%s'", identifier(target)));
+        }
+        item.setRelations(targets);
+        return item;
+    }
+
+    /**
+     * Templates are assigned by source references, the reference points to a file without items.
+     */
+    private SourceReference templateSource(LandscapeDescription description) {
+        SourceReference reference = SourceReference.of(getEmptySource());
+        reference.setLandscapeDescription(description);
+
+        Map<String, List<String>> assignments = new HashMap<>();
+        for (int t = 0; t < templates; t++) {
+            ItemDescription template = new ItemDescription("template" + t);
+            template.setOwner("team" + t);
+            template.setLabel("template", "template" + t);
+            description.getTemplates().put("template" + t, template);
+
+            List<String> targets = new ArrayList<>();
+            for (int i = t; i < items; i += templates) {
+                targets.add(identifier(i));
+            }
+            assignments.put("template" + t, targets);
+        }
+        reference.setAssignTemplates(assignments);
+        return reference;
+    }
+
+    private static synchronized File getEmptySource() {
+        if (emptySource == null) {
+            try {
+                emptySource = File.createTempFile("benchmark", ".yml");
+                emptySource.deleteOnExit();
+                Files.writeString(emptySource.toPath(), "items: []");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return emptySource;
+    }
+
+    /**
+     * @return a random item index other than i
+     */
+    private int other(int i, Random random) {
+        int other = random.nextInt(items - 1);
+        return other >= i ? other + 1 : other;
+    }
+
+    private static String identifier(int i) {
+        return "item" + i;
+    }
+}
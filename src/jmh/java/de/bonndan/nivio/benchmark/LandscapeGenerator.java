@@ -0,0 +1,65 @@
+package de.bonndan.nivio.benchmark;
+
+import de.bonndan.nivio.model.Group;
+import de.bonndan.nivio.model.Item;
+import de.bonndan.nivio.model.ItemFactory;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.LandscapeFactory;
+import de.bonndan.nivio.model.Relation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic landscapes for benchmarks.
+ *
+ * The same parameters and seed always result in the same landscape.
+ */
+public class LandscapeGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * @param itemCount       number of items
+     * @param groupCount      number of groups the items are distributed to
+     * @param relationDensity number of relations per item
+     * @param seed            random seed
+     * @return a landscape with groups, items and relations
+     */
+    public static Landscape generate(int itemCount, int groupCount, double relationDensity, long seed) {
+        Random random = new Random(seed);
+        Landscape landscape = LandscapeFactory.createForTesting("benchmark", "Benchmark").build();
+
+        List<Group> groups = new ArrayList<>();
+        for (int g = 0; g < groupCount; g++) {
+            Group group = new Group("group" + g, landscape.getIdentifier());
+            landscape.getGroups().put(group.getIdentifier(), group);
+            groups.add(group);
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Group group = groups.get(random.nextInt(groups.size()));
+            Item item = ItemFactory.getTestItem(group.getIdentifier(), "item" + i, landscape);
+            group.addItem(item);
+            items.add(item);
+        }
+        landscape.setItems(new HashSet<>(items));
+
+        long relationCount = Math.round(itemCount * relationDensity);
+        for (long r = 0; r < relationCount && itemCount > 1; r++) {
+            Item source = items.get(random.nextInt(itemCount));
+            Item target = items.get(random.nextInt(itemCount));
+            if (source.equals(target)) {
+                continue;
+            }
+            Relation relation = new Relation(source, target);
+            source.addOrReplace(relation);
+            target.addOrReplace(relation);
+        }
+
+        return landscape;
+    }
+}
@@ -0,0 +1,117 @@
+package de.bonndan.nivio.input;
+
+import de.bonndan.nivio.benchmark.LandscapeDescriptionGenerator;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.external.LinkHandlerFactory;
+import de.bonndan.nivio.input.http.HttpService;
+import de.bonndan.nivio.input.nivio.InputFormatHandlerNivio;
+import de.bonndan.nivio.model.LandscapeRepository;
+import de.bonndan.nivio.output.icons.ExternalIcons;
+import de.bonndan.nivio.output.icons.IconService;
+import de.bonndan.nivio.output.icons.LocalIcons;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexing of synthetic landscapes end to end, initially and after 5% of the items have changed.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndexerBenchmark {
+
+    public static final double CHURN = 0.05;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"100", "1000", "3000"})
+        public int items;
+
+        @Param({"20"})
+        public int groups;
+
+        @Param({"5"})
+        public int labels;
+
+        @Param({"10"})
+        public int templates;
+
+        @Param({"2"})
+        public int relations;
+
+        LandscapeDescriptionGenerator generator;
+        HttpService httpService;
+        SourceReaderExecutor sourceReaders;
+
+        @Setup(Level.Trial)
+        public void setupGenerator() {
+            generator = new LandscapeDescriptionGenerator(items, groups, labels, templates, relations, 42);
+            httpService = new HttpService();
+            sourceReaders = new SourceReaderExecutor(16, 256);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            httpService.close();
+            sourceReaders.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FirstIndex {
+
+        Indexer indexer;
+        LandscapeDescription description;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            indexer = createIndexer(new LandscapeRepository(), input.httpService, input.sourceReaders);
+            description = input.generator.generate();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reindex {
+
+        Indexer indexer;
+        LandscapeDescription description;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            indexer = createIndexer(new LandscapeRepository(), input.httpService, input.sourceReaders);
+            indexer.index(input.generator.generate());
+            description = input.generator.generate(CHURN);
+        }
+    }
+
+    @Benchmark
+    public LandscapeDescription firstIndex(FirstIndex state) {
+        state.indexer.index(state.description);
+        return state.description;
+    }
+
+    @Benchmark
+    public LandscapeDescription reindexWithChurn(Reindex state) {
+        state.indexer.index(state.description);
+        return state.description;
+    }
+
+    static Indexer createIndexer(LandscapeRepository repository, HttpService httpService, SourceReaderExecutor sourceReaders) {
+        FileFetcher fileFetcher = new FileFetcher(httpService);
+        return new Indexer(
+                repository,
+                new InputFormatHandlerFactory(List.of(new InputFormatHandlerNivio(fileFetcher))),
+                new LinkHandlerFactory(null),
+                event -> {
+                },
+                new IconService(new LocalIcons(), new ExternalIcons(httpService)),
+                new SourceReferenceCache(fileFetcher),
+                sourceReaders
+        );
+    }
+}
@@ -0,0 +1,177 @@
+package de.bonndan.nivio.input;
+
+import de.bonndan.nivio.benchmark.LandscapeDescriptionGenerator;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.http.HttpService;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.LandscapeFactory;
+import de.bonndan.nivio.model.LandscapeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resolvers and processors of the indexing pipeline in isolation.
+ *
+ * Each stage gets the input as it would be in the pipeline, i.e. the preceding stages have been run in the setup.
+ * Processors work on a re-index with 5% churn.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResolverBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        @Param({"100", "1000", "3000"})
+        public int items;
+
+        @Param({"20"})
+        public int groups;
+
+        @Param({"5"})
+        public int labels;
+
+        @Param({"10"})
+        public int templates;
+
+        @Param({"2"})
+        public int relations;
+
+        LandscapeDescriptionGenerator generator;
+        HttpService httpService;
+        SourceReaderExecutor sourceReaders;
+
+        @Setup(Level.Trial)
+        public void setupGenerator() {
+            generator = new LandscapeDescriptionGenerator(items, groups, labels, templates, relations, 42);
+            httpService = new HttpService();
+            sourceReaders = new SourceReaderExecutor(16, 256);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            httpService.close();
+            sourceReaders.shutdown();
+        }
+
+        /**
+         * The log collects all messages, so each invocation gets a new one.
+         */
+        ProcessLog newLog() {
+            return new ProcessLog(LoggerFactory.getLogger(ResolverBenchmark.class), LandscapeDescriptionGenerator.IDENTIFIER);
+        }
+    }
+
+    /**
+     * A fresh description, as it is after reading the sources.
+     */
+    @State(Scope.Thread)
+    public static class Described {
+
+        LandscapeDescription description;
+        ProcessLog log;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            description = input.generator.generate();
+            log = input.newLog();
+        }
+    }
+
+    /**
+     * Description with applied templates.
+     */
+    @State(Scope.Thread)
+    public static class Templated {
+
+        LandscapeDescription description;
+        ProcessLog log;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            description = input.generator.generate();
+            log = input.newLog();
+            new TemplateResolver(log).resolve(description);
+            new LabelRelationResolver(log, new HintFactory()).resolve(description);
+        }
+    }
+
+    /**
+     * A churned description with resolved relations and the recreated landscape of the previous index.
+     */
+    @State(Scope.Thread)
+    public static class Resolved {
+
+        LandscapeDescription description;
+        Landscape landscape;
+        ProcessLog log;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            log = input.newLog();
+            LandscapeRepository repository = new LandscapeRepository();
+            IndexerBenchmark.createIndexer(repository, input.httpService, input.sourceReaders).index(input.generator.generate());
+
+            description = input.generator.generate(IndexerBenchmark.CHURN);
+            new TemplateResolver(log).resolve(description);
+            new LabelRelationResolver(log, new HintFactory()).resolve(description);
+            new RelationEndpointResolver(log).resolve(description);
+            landscape = LandscapeFactory.recreate(repository.findDistinctByIdentifier(description.getIdentifier()).orElseThrow(), description);
+        }
+    }
+
+    /**
+     * Like {@link Resolved}, but items are already added, removed and assigned to groups.
+     */
+    @State(Scope.Thread)
+    public static class Diffed {
+
+        LandscapeDescription description;
+        Landscape landscape;
+        ProcessLog log;
+
+        @Setup(Level.Invocation)
+        public void setup(Input input) {
+            Resolved resolved = new Resolved();
+            resolved.setup(input);
+            description = resolved.description;
+            landscape = resolved.landscape;
+            log = resolved.log;
+            new DiffProcessor(log).process(description, landscape);
+            new GroupProcessor(log).process(description, landscape);
+        }
+    }
+
+    @Benchmark
+    public LandscapeDescription templateResolver(Described state) {
+        new TemplateResolver(state.log).resolve(state.description);
+        return state.description;
+    }
+
+    @Benchmark
+    public LandscapeDescription labelRelationResolver(Described state) {
+        new LabelRelationResolver(state.log, new HintFactory()).resolve(state.description);
+        return state.description;
+    }
+
+    @Benchmark
+    public LandscapeDescription relationEndpointResolver(Templated state) {
+        new RelationEndpointResolver(state.log).resolve(state.description);
+        return state.description;
+    }
+
+    @Benchmark
+    public ProcessingChangelog diffProcessor(Resolved state) {
+        return new DiffProcessor(state.log).process(state.description, state.landscape);
+    }
+
+    @Benchmark
+    public ProcessingChangelog itemRelationProcessor(Diffed state) {
+        return new ItemRelationProcessor(state.log).process(state.description, state.landscape);
+    }
+}
@@ -0,0 +1,54 @@
+package de.bonndan.nivio.output.layout;
+
+import de.bonndan.nivio.benchmark.LandscapeGenerator;
+import de.bonndan.nivio.model.Landscape;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layout of a whole landscape (group sub-layouts and the arrangement of groups).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({"100", "1000"})
+    public int items;
+
+    @Param({"10", "50"})
+    public int groups;
+
+    @Param({"1.0"})
+    public double relationDensity;
+
+    private Landscape landscape;
+    private OrganicLayouter reusingLayouter;
+
+    @Setup
+    public void setup() {
+        landscape = LandscapeGenerator.generate(items, groups, relationDensity, LandscapeGenerator.DEFAULT_SEED);
+        reusingLayouter = new OrganicLayouter();
+        reusingLayouter.layout(landscape);
+    }
+
+    /**
+     * Layout from scratch.
+     */
+    @Benchmark
+    public LayoutedComponent layout() {
+        return new OrganicLayouter().layout(landscape);
+    }
+
+    /**
+     * Layout of an unchanged landscape, reusing the previous result.
+     */
+    @Benchmark
+    public LayoutedComponent relayoutUnchanged() {
+        return reusingLayouter.layout(landscape);
+    }
+}
@@ -0,0 +1,99 @@
+package de.bonndan.nivio.output.map.hex;
+
+import de.bonndan.nivio.benchmark.LandscapeGenerator;
+import de.bonndan.nivio.model.Group;
+import de.bonndan.nivio.model.Item;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.Relation;
+import de.bonndan.nivio.output.layout.LayoutedComponent;
+import de.bonndan.nivio.output.layout.OrganicLayouter;
+import de.bonndan.nivio.output.map.svg.HexPath;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pathfinding of relations and creation of group areas on a laid out landscape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HexMapBenchmark {
+
+    @Param({"100", "1000"})
+    public int items;
+
+    @Param({"10", "50"})
+    public int groups;
+
+    @Param({"1.0", "3.0"})
+    public double relationDensity;
+
+    private HexMap hexMap;
+    private List<Relation> relations;
+    private List<Group> groupList;
+    private Map<Object, Hex> itemsToHexes;
+    private PathFinder pathFinder;
+
+    @Setup
+    public void setup() {
+        Landscape landscape = LandscapeGenerator.generate(items, groups, relationDensity, LandscapeGenerator.DEFAULT_SEED);
+        LayoutedComponent layouted = new OrganicLayouter().layout(landscape);
+
+        hexMap = new HexMap(false);
+        itemsToHexes = new HashMap<>();
+        layouted.getChildren().forEach(group -> group.getChildren().forEach(layoutedItem -> {
+            Hex hex = hexMap.add(layoutedItem);
+            itemsToHexes.put(layoutedItem.getComponent(), hex);
+        }));
+
+        relations = landscape.getItems().all().stream()
+                .flatMap(item -> item.getRelations().stream().filter(relation -> relation.getSource().equals(item)))
+                .collect(Collectors.toList());
+        groupList = new ArrayList<>(landscape.getGroups().values());
+
+        HexTable<Hex> hexes = new HexTable<>();
+        itemsToHexes.values().forEach(hex -> hexes.put(hex.q, hex.r, hex));
+        pathFinder = new PathFinder(hexes);
+    }
+
+    /**
+     * Paths of all relations, searched in parallel.
+     */
+    @Benchmark
+    public List<Optional<HexPath>> paths() {
+        return hexMap.getPaths(relations);
+    }
+
+    /**
+     * Paths of all relations, searched by a single pathfinder.
+     */
+    @Benchmark
+    public void pathsSingleThreaded(Blackhole blackhole) {
+        for (Relation relation : relations) {
+            Item source = relation.getSource();
+            Item target = relation.getTarget();
+            blackhole.consume(pathFinder.getPath(itemsToHexes.get(source), itemsToHexes.get(target)));
+        }
+    }
+
+    /**
+     * Areas of all groups.
+     */
+    @Benchmark
+    public void groupAreas(Blackhole blackhole) {
+        for (Group group : groupList) {
+            blackhole.consume(GroupAreaFactory.getGroup(itemsToHexes, group));
+        }
+    }
+}
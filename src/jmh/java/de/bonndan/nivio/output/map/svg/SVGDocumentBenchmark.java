@@ -0,0 +1,55 @@
+package de.bonndan.nivio.output.map.svg;
+
+import de.bonndan.nivio.assessment.Assessment;
+import de.bonndan.nivio.benchmark.LandscapeGenerator;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.output.layout.LayoutedComponent;
+import de.bonndan.nivio.output.layout.OrganicLayouter;
+import de.bonndan.nivio.output.map.CachedRendering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of a laid out landscape to svg (hex map, paths, group areas and xml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SVGDocumentBenchmark {
+
+    @Param({"100", "1000"})
+    public int items;
+
+    @Param({"10", "50"})
+    public int groups;
+
+    @Param({"1.0"})
+    public double relationDensity;
+
+    private LayoutedComponent layouted;
+    private Assessment assessment;
+
+    @Setup
+    public void setup() {
+        Landscape landscape = LandscapeGenerator.generate(items, groups, relationDensity, LandscapeGenerator.DEFAULT_SEED);
+        layouted = new OrganicLayouter().layout(landscape);
+        assessment = new Assessment(landscape.applyKPIs(landscape.getKpis()));
+    }
+
+    @Benchmark
+    public String render() {
+        return new SVGDocument(layouted, assessment, "").getXML();
+    }
+
+    /**
+     * Streaming into the compressed cache entry, as done by the render cache.
+     */
+    @Benchmark
+    public CachedRendering renderCompressed() {
+        return new CachedRendering(new SVGDocument(layouted, assessment, "")::write);
+    }
+}
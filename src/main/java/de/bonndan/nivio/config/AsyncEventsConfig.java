@@ -1,23 +1,29 @@
 package de.bonndan.nivio.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ApplicationEventMulticaster;
-import org.springframework.context.event.SimpleApplicationEventMulticaster;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 /**
  * Events are handled asynchronously in order not to block threads.
  *
- *
+ * Events of one landscape are handled one after another, different landscapes in parallel on a bounded number of
+ * threads. The number of waiting event tasks is limited by "nivio.eventQueueCapacity". The executor metrics are
+ * registered as "nivio.events.*".
  */
 @Configuration
 public class AsyncEventsConfig {
 
+    @Bean(destroyMethod = "shutdown")
+    public KeyedEventExecutor keyedEventExecutor(@Value("${nivio.eventThreads:4}") int threads,
+                                                 @Value("${nivio.eventQueueCapacity:1000}") int queueCapacity
+    ) {
+        return new KeyedEventExecutor(threads, queueCapacity);
+    }
+
     @Bean(name = "applicationEventMulticaster")
-    public ApplicationEventMulticaster simpleApplicationEventMulticaster() {
-        SimpleApplicationEventMulticaster eventMulticaster = new SimpleApplicationEventMulticaster();
-        eventMulticaster.setTaskExecutor(new SimpleAsyncTaskExecutor());
-        return eventMulticaster;
+    public ApplicationEventMulticaster simpleApplicationEventMulticaster(KeyedEventExecutor keyedEventExecutor) {
+        return new LandscapeEventMulticaster(keyedEventExecutor);
     }
-}
\ No newline at end of file
+}
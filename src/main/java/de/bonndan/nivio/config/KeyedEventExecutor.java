@@ -0,0 +1,196 @@
+package de.bonndan.nivio.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor for event listeners.
+ * <p>
+ * Tasks sharing a key (the landscape identifier) are run one after another in submission order, tasks with different
+ * keys or without a key run in parallel on a fixed number of threads.
+ * <p>
+ * The capacity limits all waiting tasks, keyed or not. Once it is reached, tasks without a key are run by the
+ * submitting thread. Keyed tasks are never discarded (they may be the last event of a landscape) and cannot run in the
+ * submitting thread without breaking their order, so the submitting thread waits until there is capacity again. Tasks
+ * submitted by the executor threads themselves are queued without waiting, since waiting could dead-lock the
+ * executor. Both cases are counted as rejection.
+ */
+public class KeyedEventExecutor implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyedEventExecutor.class);
+    static final String METRIC_PREFIX = "nivio.events";
+
+    /**
+     * interval to re-check the capacity while waiting, tasks without key do not signal their completion
+     */
+    private static final long CAPACITY_WAIT_MILLIS = 100;
+
+    private final ThreadPoolExecutor pool;
+    private final int capacity;
+
+    /**
+     * pending tasks per key, a key is present while its tasks are being drained
+     */
+    private final Map<Object, Queue<Runnable>> serialQueues = new HashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final ThreadLocal<Boolean> executorThread = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * @param threads       number of threads
+     * @param queueCapacity maximum number of waiting tasks
+     */
+    public KeyedEventExecutor(int threads, int queueCapacity) {
+        this.capacity = queueCapacity;
+        RejectedExecutionHandler callerRuns = (task, executor) -> {
+            rejected.incrementAndGet();
+            LOGGER.warn("Event executor queue is full, running task in caller thread.");
+            if (!executor.isShutdown()) {
+                task.run();
+            }
+        };
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("nivio-events-");
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> threadFactory.newThread(() -> {
+                    executorThread.set(true);
+                    runnable.run();
+                }),
+                callerRuns
+        );
+    }
+
+    /**
+     * Runs the task asynchronously.
+     *
+     * @param key  tasks with the same key are not run concurrently, null for no serialization
+     * @param task the task
+     */
+    public void execute(@Nullable Object key, @NonNull Runnable task) {
+        if (key == null) {
+            if (isFull()) {
+                rejected.incrementAndGet();
+                LOGGER.warn("Event executor is full, running task in caller thread.");
+                task.run();
+                return;
+            }
+            pool.execute(task);
+            return;
+        }
+
+        boolean start;
+        synchronized (serialQueues) {
+            if (isFull()) {
+                rejected.incrementAndGet();
+                awaitCapacity(key);
+            }
+            Queue<Runnable> queue = serialQueues.get(key);
+            start = queue == null;
+            if (start) {
+                queue = new ArrayDeque<>();
+                serialQueues.put(key, queue);
+            }
+            queue.add(task);
+            pending.incrementAndGet();
+        }
+
+        if (start) {
+            pool.execute(() -> drain(key));
+        }
+    }
+
+    private boolean isFull() {
+        return pending.get() + pool.getQueue().size() >= capacity;
+    }
+
+    /**
+     * Blocks the submitting thread until there is capacity, unless it is an executor thread. Must be called while
+     * holding the lock on the serial queues.
+     */
+    private void awaitCapacity(Object key) {
+        if (executorThread.get()) {
+            LOGGER.warn("Event executor is full, queueing task for {} from executor thread.", key);
+            return;
+        }
+        LOGGER.warn("Event executor is full, waiting to queue task for {}.", key);
+        try {
+            while (isFull() && !pool.isShutdown()) {
+                serialQueues.wait(CAPACITY_WAIT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(Object key) {
+        while (true) {
+            Runnable next;
+            synchronized (serialQueues) {
+                Queue<Runnable> queue = serialQueues.get(key);
+                next = queue.poll();
+                if (next == null) {
+                    serialQueues.remove(key);
+                    return;
+                }
+                pending.decrementAndGet();
+                serialQueues.notifyAll();
+            }
+
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Event task for {} failed: {}", key, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of keyed tasks waiting for a previous task with the same key
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @return the number of tasks which could not be queued immediately and were run by the submitting thread or
+     * delayed
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        new ExecutorServiceMetrics(pool, METRIC_PREFIX, List.of()).bindTo(registry);
+        Gauge.builder(METRIC_PREFIX + ".pending", pending, AtomicInteger::get)
+                .description("Number of event tasks waiting for a previous task of the same landscape")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", rejected, AtomicLong::get)
+                .description("Number of event tasks run in the publishing thread or delayed because the queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package de.bonndan.nivio.config;
+
+import de.bonndan.nivio.input.ProcessingEvent;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.observation.InputChangedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Multicasts events asynchronously using a {@link KeyedEventExecutor}.
+ * <p>
+ * Listeners of events concerning the same landscape are invoked one after another, so a landscape is never indexed
+ * concurrently. Events of different landscapes are handled in parallel.
+ */
+public class LandscapeEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    private final KeyedEventExecutor executor;
+
+    public LandscapeEventMulticaster(KeyedEventExecutor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void multicastEvent(ApplicationEvent event, @Nullable ResolvableType eventType) {
+        ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+        String key = getLandscapeIdentifier(event);
+        for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+            executor.execute(key, () -> invokeListener(listener, event));
+        }
+    }
+
+    /**
+     * @return the landscape identifier the event belongs to or null
+     */
+    @Nullable
+    static String getLandscapeIdentifier(ApplicationEvent event) {
+        if (event instanceof ProcessingEvent) {
+            return ((ProcessingEvent) event).getSource().getLandscape();
+        }
+        if (event instanceof InputChangedEvent) {
+            Landscape landscape = ((InputChangedEvent) event).getSource().getLandscape();
+            return landscape != null ? landscape.getIdentifier() : null;
+        }
+        return null;
+    }
+}
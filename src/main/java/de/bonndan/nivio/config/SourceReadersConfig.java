@@ -0,0 +1,21 @@
+package de.bonndan.nivio.config;
+
+import de.bonndan.nivio.input.SourceReaderExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Source references of all landscapes are read on a shared pool of "nivio.sourceReaderThreads" threads. The number of
+ * landscapes waiting for a reader is limited by "nivio.sourceReaderQueueCapacity".
+ */
+@Configuration
+public class SourceReadersConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public SourceReaderExecutor sourceReaderExecutor(@Value("${nivio.sourceReaderThreads:16}") int threads,
+                                                     @Value("${nivio.sourceReaderQueueCapacity:256}") int queueCapacity
+    ) {
+        return new SourceReaderExecutor(threads, queueCapacity);
+    }
+}
@@ -2,6 +2,8 @@ package de.bonndan.nivio.input;
 
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.input.http.HttpService;
+import de.bonndan.nivio.input.http.ValidatedContent;
+import de.bonndan.nivio.input.http.Validator;
 import de.bonndan.nivio.util.URLHelper;
 import org.apache.http.auth.AuthenticationException;
 import org.slf4j.Logger;
@@ -9,9 +11,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -29,6 +34,11 @@ public class FileFetcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FileFetcher.class);
     private static final String ERROR_MSG = "Failed to fetch file ";
+
+    /**
+     * files up to this size are hashed for their fingerprint
+     */
+    static final long HASHED_FINGERPRINT_MAX_BYTES = 1024 * 1024;
     private final HttpService http;
 
     public FileFetcher(HttpService httpService) {
@@ -81,6 +91,20 @@ public class FileFetcher {
         }
     }
 
+    /**
+     * @param url      remote url
+     * @param previous validator returned by the last call of the caller, null on the first call
+     * @return the content (empty if it has not been modified since the validator was returned) and the next validator
+     * @throws ReadingException
+     */
+    public ValidatedContent getIfModified(URL url, @Nullable Validator previous) {
+        try {
+            return http.getIfModified(url, previous);
+        } catch (Exception e) {
+            throw new ReadingException(ERROR_MSG + url, e);
+        }
+    }
+
     /**
      * Reads the url of a reference.
      * <p>
@@ -151,6 +175,118 @@ public class FileFetcher {
         }
     }
 
+    /**
+     * Opens a reader on the content of a reference without reading it into memory.
+     *
+     * Local files are read from disk, remote content is streamed from the http response. The caller must close the
+     * reader.
+     *
+     * @param ref     the reference
+     * @param baseUrl parent config url
+     * @return a reader on the content
+     * @throws ReadingException if the content cannot be opened
+     */
+    @NonNull
+    public Reader getReader(@NonNull final SourceReference ref, @Nullable final URL baseUrl) {
+        if (StringUtils.isEmpty(ref.getUrl())) {
+            throw new ReadingException(ref.getLandscapeDescription(), "Source reference has no url.", null);
+        }
+
+        Optional<File> localFile = getLocalFile(ref, baseUrl);
+        if (localFile.isPresent()) {
+            try {
+                return Files.newBufferedReader(localFile.get().toPath(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read file {}", localFile.get().getAbsolutePath(), e);
+                throw new ReadingException("Failed to read file " + localFile.get().getAbsolutePath(), e);
+            }
+        }
+
+        String path = baseUrl == null || ref.getUrl().startsWith("http") ? ref.getUrl() : URLHelper.combine(baseUrl, ref.getUrl());
+        try {
+            URL url = new URL(path);
+            if (ref.hasBasicAuth()) {
+                return http.getReaderWithBasicAuth(url, ref.getBasicAuthUsername(), ref.getBasicAuthPassword());
+            }
+            if (ref.hasHeaderToken()) {
+                return http.getReaderWithHeaderToken(url, ref.getHeaderTokenName(), ref.getHeaderTokenValue());
+            }
+            return http.getReader(url);
+        } catch (IOException | AuthenticationException | URISyntaxException | RuntimeException e) {
+            LOGGER.error(ERROR_MSG + path, e);
+            throw new ReadingException(ref.getLandscapeDescription(), ERROR_MSG + path, e);
+        }
+    }
+
+    /**
+     * Returns a cheap fingerprint of the content the reference points to, without reading the content.
+     *
+     * Only local files can be fingerprinted (using path, size and modification time). Size and modification time miss a
+     * rewrite with the same size within the timestamp resolution of the file system, so the content of files up to
+     * {@link #HASHED_FINGERPRINT_MAX_BYTES} is hashed as well. The fingerprint also covers the format and properties of
+     * the reference, because they influence how the content is parsed.
+     *
+     * @param ref     the reference
+     * @param baseUrl parent config url
+     * @return the fingerprint or empty if the source cannot be fingerprinted (remote urls, apis, pushed content)
+     */
+    @NonNull
+    public Optional<String> getFingerprint(@NonNull final SourceReference ref, @Nullable final URL baseUrl) {
+        if (ref.getContent() != null || StringUtils.isEmpty(ref.getUrl())) {
+            return Optional.empty();
+        }
+
+        return getLocalFile(ref, baseUrl)
+                .filter(File::isFile)
+                .map(file -> String.join(":",
+                        file.getAbsolutePath(),
+                        String.valueOf(file.length()),
+                        String.valueOf(file.lastModified()),
+                        getContentHash(file),
+                        String.valueOf(ref.getFormat()),
+                        String.valueOf(ref.getProperties()))
+                );
+    }
+
+    private String getContentHash(File file) {
+        if (file.length() > HASHED_FINGERPRINT_MAX_BYTES) {
+            return "";
+        }
+        try {
+            return DigestUtils.md5DigestAsHex(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to hash {}: {}", file, e.getMessage());
+            return "";
+        }
+    }
+
+    private Optional<File> getLocalFile(SourceReference ref, @Nullable URL baseUrl) {
+        String path = ref.getUrl();
+        if (baseUrl != null && !path.startsWith("http")) {
+            path = URLHelper.combine(baseUrl, path);
+        }
+
+        try {
+            URL url = new URL(path);
+            if (!URLHelper.isLocal(url)) {
+                return Optional.empty();
+            }
+            return Optional.of(new File(url.toURI()));
+        } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+            if (ref.getLandscapeDescription() != null && ref.getLandscapeDescription().getSource() != null) {
+                Optional<URL> url = ref.getLandscapeDescription().getSource().getURL();
+                if (url.isPresent()) {
+                    try {
+                        return Optional.of(new File(new File(url.get().toURI()).getParent(), path));
+                    } catch (URISyntaxException | IllegalArgumentException uriSyntaxException) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(new File(path));
+        }
+    }
+
     private String fetchRemoteUrl(SourceReference ref) {
         try {
             return fetchRemoteUrl(ref, new URL(ref.getUrl()));
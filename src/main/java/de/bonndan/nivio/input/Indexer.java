@@ -7,6 +7,9 @@ import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.LandscapeFactory;
 import de.bonndan.nivio.model.LandscapeRepository;
 import de.bonndan.nivio.output.icons.IconService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -21,18 +24,43 @@ public class Indexer {
     private final LinkHandlerFactory linkHandlerFactory;
     private final ApplicationEventPublisher eventPublisher;
     private final IconService iconService;
+    private final SourceReferenceCache sourceReferenceCache;
+    private final SourceReaderExecutor sourceReaders;
+    private final MeterRegistry meterRegistry;
 
     public Indexer(LandscapeRepository landscapeRepository,
                    InputFormatHandlerFactory formatFactory,
                    LinkHandlerFactory linkHandlerFactory,
                    ApplicationEventPublisher eventPublisher,
-                   IconService iconService
+                   IconService iconService,
+                   SourceReferenceCache sourceReferenceCache,
+                   SourceReaderExecutor sourceReaders
+    ) {
+        this(landscapeRepository, formatFactory, linkHandlerFactory, eventPublisher, iconService, sourceReferenceCache, sourceReaders, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param sourceReaders pool reading the source references
+     * @param meterRegistry registry for the stage timers
+     */
+    @Autowired
+    public Indexer(LandscapeRepository landscapeRepository,
+                   InputFormatHandlerFactory formatFactory,
+                   LinkHandlerFactory linkHandlerFactory,
+                   ApplicationEventPublisher eventPublisher,
+                   IconService iconService,
+                   SourceReferenceCache sourceReferenceCache,
+                   SourceReaderExecutor sourceReaders,
+                   MeterRegistry meterRegistry
     ) {
         this.landscapeRepo = landscapeRepository;
         this.formatFactory = formatFactory;
         this.linkHandlerFactory = linkHandlerFactory;
         this.eventPublisher = eventPublisher;
         this.iconService = iconService;
+        this.sourceReferenceCache = sourceReferenceCache;
+        this.sourceReaders = sourceReaders;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -50,69 +78,74 @@ public class Indexer {
                     return created;
                 });
 
+        StageRecorder stages = new StageRecorder(meterRegistry, input.getIdentifier());
         try {
-            ProcessingChangelog processingChangelog = runResolvers(input, landscape);
+            ProcessingChangelog processingChangelog = runResolvers(input, landscape, stages);
+            landscape.getLog().setStages(stages.getStages());
             landscapeRepo.save(landscape);
-            eventPublisher.publishEvent(new ProcessingFinishedEvent(input, landscape, processingChangelog));
+            eventPublisher.publishEvent(new ProcessingFinishedEvent(input, landscape, processingChangelog, stages.getStages()));
             landscape.getLog().info("Reindexed landscape " + input.getIdentifier());
 
         } catch (ProcessingException e) {
+            landscape.getLog().setStages(stages.getStages());
             final String msg = "Error while reindexing landscape " + input.getIdentifier();
             landscape.getLog().warn(msg, e);
             eventPublisher.publishEvent(new ProcessingErrorEvent(input.getFullyQualifiedIdentifier(), e));
         }
     }
 
-    private ProcessingChangelog runResolvers(LandscapeDescription input, Landscape landscape) {
+    private ProcessingChangelog runResolvers(LandscapeDescription input, Landscape landscape, StageRecorder stages) {
 
         //a detailed textual log
         ProcessLog logger = landscape.getLog();
 
-        // read all input sources
-        new SourceReferencesResolver(formatFactory, logger, eventPublisher).resolve(input);
+        // read all input sources, unchanged sources are taken from the cache
+        stages.resolve(SourceReferencesResolver.class.getSimpleName(), input,
+                () -> new SourceReferencesResolver(formatFactory, logger, eventPublisher, sourceReaders, sourceReferenceCache).resolve(input)
+        );
 
         // apply template values to items
-        new TemplateResolver(logger).resolve(input);
+        stages.resolve(new TemplateResolver(logger), input);
 
         // resolve links on components to gather more data.
-        new LinksResolver(logger, linkHandlerFactory).resolve(input);
+        stages.resolve(new LinksResolver(logger, linkHandlerFactory), input);
 
         // mask any label containing secrets
-        new SecureLabelsResolver(logger).resolve(input);
+        stages.resolve(new SecureLabelsResolver(logger), input);
 
         // read special labels on items and assign the values to fields
-        new LabelToFieldResolver(logger).resolve(input);
+        stages.resolve(new LabelToFieldResolver(logger), input);
 
         // create relation targets on the fly if the landscape is configured "greedy"
-        new InstantItemResolver(logger).resolve(input);
+        stages.resolve(new InstantItemResolver(logger), input);
 
         // try to find "magic" relations by examining item labels for keywords and URIs
-        new LabelRelationResolver(logger, new HintFactory()).resolve(input);
+        stages.resolve(new LabelRelationResolver(logger, new HintFactory()), input);
 
         // find items for relation endpoints (which can be queries, identifiers...)
         // KEEP here (must run late after other resolvers)
-        new RelationEndpointResolver(logger).resolve(input);
+        stages.resolve(new RelationEndpointResolver(logger), input);
 
         // execute group "contains" queries
-        new GroupQueryResolver(logger).resolve(input);
+        stages.resolve(new GroupQueryResolver(logger), input);
 
         //for simulating pet clinic events
-        new PetClinicSimulatorResolver(logger).resolve(input);
+        stages.resolve(new PetClinicSimulatorResolver(logger), input);
 
         //a structured log on component level
         ProcessingChangelog changelog = new ProcessingChangelog();
 
         // compare landscape against input, add and remove items
-        changelog.merge(new DiffProcessor(logger).process(input, landscape));
+        changelog.merge(stages.process(new DiffProcessor(logger), input, landscape));
 
         // assign items to groups, add missing groups
-        changelog.merge(new GroupProcessor(logger).process(input, landscape));
+        changelog.merge(stages.process(new GroupProcessor(logger), input, landscape));
 
         // create relations between items
-        changelog.merge(new ItemRelationProcessor(logger).process(input, landscape));
+        changelog.merge(stages.process(new ItemRelationProcessor(logger), input, landscape));
 
         // ensures that items have a resolved icon in the api
-        new AppearanceProcessor(logger, iconService).process(input, landscape);
+        stages.process(new AppearanceProcessor(logger, iconService), input, landscape);
 
         return changelog;
     }
@@ -2,6 +2,7 @@ package de.bonndan.nivio.input;
 
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
+import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.observation.InputFormatObserver;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -40,4 +41,16 @@ public interface InputFormatHandler {
     @Nullable
     InputFormatObserver getObserver(@NonNull final InputFormatObserver inner, @NonNull final SourceReference sourceReference);
 
+    /**
+     * Returns an observer for sources which are not files or urls, like apis the handler watches itself.
+     *
+     * @param landscape       the observed landscape
+     * @param sourceReference the {@link SourceReference} to observe
+     * @return the observer or null to observe the file or url of the reference (see {@link #getObserver(InputFormatObserver, SourceReference)})
+     */
+    @Nullable
+    default InputFormatObserver getSourceObserver(@NonNull final Landscape landscape, @NonNull final SourceReference sourceReference) {
+        return null;
+    }
+
 }
@@ -75,13 +75,15 @@ public class ItemRelationProcessor extends Processor {
                             processLog.warn(String.format("Could not remove relation %s from source %s", relation, relation.getSource()));
                         }
 
-                        Item currentTarget = landscape.getItems().pick(
+                        //the target might have been removed from the landscape already
+                        landscape.getItems().find(
                                 relation.getTarget().getFullyQualifiedIdentifier().getItem(),
                                 relation.getTarget().getFullyQualifiedIdentifier().getGroup()
-                        );
-                        if (!currentTarget.removeRelation(relation)) {
-                            processLog.warn(String.format("Could not remove relation %s from target %s", relation, relation.getSource()));
-                        }
+                        ).ifPresent(currentTarget -> {
+                            if (!currentTarget.removeRelation(relation)) {
+                                processLog.warn(String.format("Could not remove relation %s from target %s", relation, relation.getSource()));
+                            }
+                        });
                         changelog.addEntry(relation, ProcessingChangelog.ChangeType.DELETED, null);
                     });
         });
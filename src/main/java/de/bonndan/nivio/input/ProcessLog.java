@@ -26,6 +26,8 @@ public class ProcessLog {
 
     private final String landscapeIdentifier;
 
+    private List<StageMetric> stages = List.of();
+
     public ProcessLog(@NonNull final Logger logger, @NonNull final String landscapeIdentifier) {
         this.logger = Objects.requireNonNull(logger);
         this.landscapeIdentifier = Objects.requireNonNull(landscapeIdentifier);
@@ -70,6 +72,17 @@ public class ProcessLog {
         return messages;
     }
 
+    /**
+     * @return the resolver and processor stages of the last indexing run
+     */
+    public List<StageMetric> getStages() {
+        return stages;
+    }
+
+    public void setStages(@NonNull final List<StageMetric> stages) {
+        this.stages = List.copyOf(stages);
+    }
+
     @JsonIgnore
     public LocalDateTime getLastUpdate() {
 
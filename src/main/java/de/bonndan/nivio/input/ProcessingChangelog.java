@@ -135,7 +135,7 @@ public class ProcessingChangelog {
         }
     }
 
-    enum ChangeType {
+    public enum ChangeType {
         CREATED,
         UPDATED,
         DELETED
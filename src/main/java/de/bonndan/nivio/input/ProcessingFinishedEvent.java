@@ -4,6 +4,7 @@ import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.model.Landscape;
 import org.springframework.lang.NonNull;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -20,6 +21,9 @@ public class ProcessingFinishedEvent extends ProcessingEvent {
     @NonNull
     private final ProcessingChangelog changelog;
 
+    @NonNull
+    private final List<StageMetric> stages;
+
     /**
      * @param input     the LandscapeDescription input which has been processed
      * @param landscape out
@@ -29,11 +33,27 @@ public class ProcessingFinishedEvent extends ProcessingEvent {
     public ProcessingFinishedEvent(@NonNull final LandscapeDescription input,
                                    @NonNull final Landscape landscape,
                                    @NonNull final ProcessingChangelog changelog
+    ) {
+        this(input, landscape, changelog, List.of());
+    }
+
+    /**
+     * @param input     the LandscapeDescription input which has been processed
+     * @param landscape out
+     * @param changelog log of component changes
+     * @param stages    measurements of the indexing stages
+     * @throws NullPointerException if any of the params is null
+     */
+    public ProcessingFinishedEvent(@NonNull final LandscapeDescription input,
+                                   @NonNull final Landscape landscape,
+                                   @NonNull final ProcessingChangelog changelog,
+                                   @NonNull final List<StageMetric> stages
     ) {
         super(Objects.requireNonNull(input).getFullyQualifiedIdentifier());
         this.input = input;
         this.landscape = Objects.requireNonNull(landscape);
         this.changelog = Objects.requireNonNull(changelog);
+        this.stages = List.copyOf(stages);
     }
 
     @NonNull
@@ -65,4 +85,12 @@ public class ProcessingFinishedEvent extends ProcessingEvent {
     public ProcessingChangelog getChangelog() {
         return changelog;
     }
+
+    /**
+     * @return measurements of the resolver and processor stages, in order of execution
+     */
+    @NonNull
+    public List<StageMetric> getStages() {
+        return stages;
+    }
 }
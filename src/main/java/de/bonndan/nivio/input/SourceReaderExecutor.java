@@ -0,0 +1,48 @@
+package de.bonndan.nivio.input;
+
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool reading source references, shared by all landscapes.
+ *
+ * Idle threads are stopped. Once all threads are busy and the queue is full, new tasks are rejected.
+ */
+public class SourceReaderExecutor {
+
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param threads       number of threads reading references
+     * @param queueCapacity maximum number of landscape readers waiting for a thread
+     */
+    public SourceReaderExecutor(int threads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("nivio-sources-");
+        threadFactory.setDaemon(true);
+        this.pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the task asynchronously.
+     *
+     * @param task the task
+     * @throws RejectedExecutionException if the pool is saturated or shut down
+     */
+    public void execute(@NonNull Runnable task) {
+        pool.execute(task);
+    }
+
+    /**
+     * Interrupts running readers and discards waiting ones.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,127 @@
+package de.bonndan.nivio.input;
+
+import de.bonndan.nivio.input.dto.GroupDescription;
+import de.bonndan.nivio.input.dto.ItemDescription;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.dto.SourceReference;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the parsed data of {@link SourceReference}s per landscape, together with a fingerprint of the source.
+ *
+ * When a source has not changed since the last index run, a copy of its item descriptions, groups and templates is
+ * reused instead of fetching and parsing the source again.
+ */
+@Component
+public class SourceReferenceCache {
+
+    private final FileFetcher fileFetcher;
+
+    /**
+     * landscape identifier -> source reference key -> entry
+     */
+    private final Map<String, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+
+    public SourceReferenceCache(FileFetcher fileFetcher) {
+        this.fileFetcher = fileFetcher;
+    }
+
+    /**
+     * @param ref     the source reference
+     * @param baseUrl parent config url
+     * @return the current fingerprint of the referenced source, empty if the source cannot be fingerprinted
+     */
+    @NonNull
+    public Optional<String> getFingerprint(@NonNull final SourceReference ref, @Nullable final URL baseUrl) {
+        return fileFetcher.getFingerprint(ref, baseUrl);
+    }
+
+    /**
+     * Returns a copy of the data read from the reference if the fingerprint is unchanged.
+     *
+     * @param landscapeDescription the landscape the reference belongs to
+     * @param ref                  the source reference
+     * @param fingerprint          the current fingerprint of the source
+     * @return a buffer containing a copy of the previously read data
+     */
+    @NonNull
+    public Optional<LandscapeDescription> get(@NonNull final LandscapeDescription landscapeDescription,
+                                              @NonNull final SourceReference ref,
+                                              @NonNull final String fingerprint
+    ) {
+        Entry entry = entries.getOrDefault(landscapeDescription.getIdentifier(), Map.of()).get(getKey(ref));
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(entry.buffer));
+    }
+
+    /**
+     * Stores a copy of the data read from the reference.
+     *
+     * @param landscapeDescription the landscape the reference belongs to
+     * @param ref                  the source reference
+     * @param fingerprint          the fingerprint of the source taken before reading
+     * @param buffer               the data read from the source
+     */
+    public void put(@NonNull final LandscapeDescription landscapeDescription,
+                    @NonNull final SourceReference ref,
+                    @NonNull final String fingerprint,
+                    @NonNull final LandscapeDescription buffer
+    ) {
+        entries.computeIfAbsent(landscapeDescription.getIdentifier(), s -> new ConcurrentHashMap<>())
+                .put(getKey(ref), new Entry(fingerprint, copy(buffer)));
+    }
+
+    /**
+     * Removes the data of the reference, e.g. after a failure.
+     */
+    public void evict(@NonNull final LandscapeDescription landscapeDescription, @NonNull final SourceReference ref) {
+        Optional.ofNullable(entries.get(landscapeDescription.getIdentifier())).ifPresent(map -> map.remove(getKey(ref)));
+    }
+
+    /**
+     * Removes all entries of references which are not part of the landscape description anymore.
+     */
+    public void retain(@NonNull final LandscapeDescription landscapeDescription) {
+        Map<String, Entry> map = entries.get(landscapeDescription.getIdentifier());
+        if (map == null) {
+            return;
+        }
+        Set<String> keys = new HashSet<>();
+        landscapeDescription.getSourceReferences().forEach(ref -> keys.add(getKey(ref)));
+        map.keySet().retainAll(keys);
+    }
+
+    private static String getKey(SourceReference ref) {
+        return ref.getFormat() + "|" + ref.getUrl();
+    }
+
+    /**
+     * Creates a copy of the data a format handler can write (items, groups, templates). The resolvers running later
+     * modify the descriptions, so cached data must never be handed out directly.
+     */
+    static LandscapeDescription copy(LandscapeDescription buffer) {
+        LandscapeDescription copy = new LandscapeDescription(buffer.getIdentifier());
+        buffer.getItemDescriptions().all().forEach(itemDescription -> copy.getItemDescriptions().add(new ItemDescription(itemDescription)));
+        buffer.getGroups().forEach((s, groupDescription) -> copy.getGroups().put(s, new GroupDescription(groupDescription)));
+        buffer.getTemplates().forEach((s, template) -> copy.getTemplates().put(s, new ItemDescription(template)));
+        return copy;
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final LandscapeDescription buffer;
+
+        Entry(String fingerprint, LandscapeDescription buffer) {
+            this.fingerprint = fingerprint;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -2,12 +2,20 @@ package de.bonndan.nivio.input;
 
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.LandscapeSource;
+import de.bonndan.nivio.input.dto.SourceReference;
+import de.bonndan.nivio.model.LandscapeConfig;
 import de.bonndan.nivio.util.URLHelper;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.*;
 
 
 /**
@@ -15,54 +23,219 @@ import java.util.Objects;
  */
 public class SourceReferencesResolver {
 
+    /**
+     * number of references read at the same time per landscape if not configured
+     */
+    static final int DEFAULT_SOURCE_CONCURRENCY = 4;
+
+    /**
+     * seconds to wait for the references if not configured
+     */
+    static final long DEFAULT_SOURCE_TIMEOUT = 60;
+
     private final InputFormatHandlerFactory formatFactory;
     private final ProcessLog log;
     private final ApplicationEventPublisher eventPublisher;
+    private final SourceReaderExecutor readers;
+
+    @Nullable
+    private final SourceReferenceCache cache;
+
+    public SourceReferencesResolver(@NonNull final InputFormatHandlerFactory formatFactory,
+                                    @NonNull final ProcessLog logger,
+                                    @NonNull final ApplicationEventPublisher eventPublisher,
+                                    @NonNull final SourceReaderExecutor readers
+    ) {
+        this(formatFactory, logger, eventPublisher, readers, null);
+    }
 
+    /**
+     * @param readers pool the references are read on
+     * @param cache   optional cache to reuse the data of unchanged sources
+     */
     public SourceReferencesResolver(@NonNull final InputFormatHandlerFactory formatFactory,
                                     @NonNull final ProcessLog logger,
-                                    @NonNull final ApplicationEventPublisher eventPublisher
+                                    @NonNull final ApplicationEventPublisher eventPublisher,
+                                    @NonNull final SourceReaderExecutor readers,
+                                    @Nullable final SourceReferenceCache cache
     ) {
         this.formatFactory = Objects.requireNonNull(formatFactory);
         this.log = Objects.requireNonNull(logger);
         this.eventPublisher = Objects.requireNonNull(eventPublisher);
+        this.readers = Objects.requireNonNull(readers);
+        this.cache = cache;
     }
 
+    /**
+     * Reads all source references of the landscape description.
+     *
+     * Every reference is read into a separate buffer which is then merged into the landscape description, so the data
+     * of unchanged sources can be reused in the next run. References are read concurrently on a shared pool, but merged
+     * (and their errors logged) in the order of declaration. All references must have been read within the configured
+     * timeout, counted from the start of the run.
+     *
+     * @param landscapeDescription the input dto to modify
+     */
     public void resolve(final LandscapeDescription landscapeDescription) {
 
         final URL baseUrl = getBaseUrl(landscapeDescription.getSource());
+        final List<SourceReference> refs = landscapeDescription.getSourceReferences();
+        final LandscapeConfig config = landscapeDescription.getConfig();
+        final long timeout = Optional.ofNullable(config.getSourceTimeout()).orElse(DEFAULT_SOURCE_TIMEOUT);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+        Queue<FutureTask<SourceResult>> pending = new ConcurrentLinkedQueue<>();
+        List<SourceTask> tasks = new ArrayList<>();
+        for (SourceReference ref : refs) {
+            tasks.add(start(ref, baseUrl, landscapeDescription, pending));
+        }
+
+        int concurrency = Math.min(pending.size(), Optional.ofNullable(config.getSourceConcurrency()).orElse(DEFAULT_SOURCE_CONCURRENCY));
+        startReaders(pending, Math.max(1, concurrency));
+        tasks.forEach(task -> complete(task, landscapeDescription, timeout, deadline));
+
+        if (cache != null) {
+            cache.retain(landscapeDescription);
+        }
+    }
+
+    /**
+     * Prepares reading the reference, unless its data can be taken from the cache.
+     *
+     * @param pending queue the reading task is added to
+     */
+    private SourceTask start(SourceReference ref, URL baseUrl, LandscapeDescription landscapeDescription, Queue<FutureTask<SourceResult>> pending) {
+        Optional<String> fingerprint = Optional.ofNullable(cache).flatMap(c -> c.getFingerprint(ref, baseUrl));
+        Optional<LandscapeDescription> cached = fingerprint.flatMap(s -> cache.get(landscapeDescription, ref, s));
+        if (cached.isPresent()) {
+            return new SourceTask(ref, fingerprint.get(), CompletableFuture.completedFuture(SourceResult.cached(cached.get())));
+        }
+
+        FutureTask<SourceResult> reading = new FutureTask<>(
+                () -> read(ref, baseUrl, new LandscapeDescription(landscapeDescription.getIdentifier()))
+        );
+        pending.add(reading);
+        return new SourceTask(ref, fingerprint.orElse(null), reading);
+    }
+
+    /**
+     * Starts up to the given number of readers on the shared pool, each reading pending references until none is left.
+     *
+     * If no reader can be started because the pool is saturated, the pending references are cancelled.
+     */
+    private void startReaders(Queue<FutureTask<SourceResult>> pending, int count) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int started = 0;
+        try {
+            for (; started < count; started++) {
+                readers.execute(() -> {
+                    FutureTask<SourceResult> task;
+                    while ((task = pending.poll()) != null) {
+                        task.run();
+                        //clear the interrupt of a task which has been cancelled while running
+                        Thread.interrupted();
+                    }
+                });
+            }
+        } catch (RejectedExecutionException e) {
+            if (started == 0) {
+                pending.forEach(task -> task.cancel(false));
+            }
+        }
+    }
+
+    /**
+     * Waits for the result of the reference until the deadline and merges it into the landscape description.
+     */
+    private void complete(SourceTask task, LandscapeDescription landscapeDescription, long timeout, long deadline) {
+        SourceReference ref = task.ref;
+        SourceResult result;
+        try {
+            result = task.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.future.cancel(true);
+            result = SourceResult.failed(null, null, String.format("Timeout reading source reference '%s' after %d seconds.", ref.getUrl(), timeout));
+        } catch (CancellationException e) {
+            result = SourceResult.failed(null, null, String.format("Source reference '%s' has not been read, too many sources are being read.", ref.getUrl()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future.cancel(true);
+            result = SourceResult.failed(null, null, String.format("Interrupted reading source reference '%s'.", ref.getUrl()));
+        } catch (ExecutionException e) {
+            result = SourceResult.failed(null, null, "Failed to resolve source reference '" + ref.getUrl() + "': " + e.getCause().getMessage());
+        }
 
-        landscapeDescription.getSourceReferences().forEach(ref -> {
-            InputFormatHandler formatHandler;
-            try {
-                formatHandler = formatFactory.getInputFormatHandler(ref);
-            } catch (ProcessingException ex) {
-                log.error(ex.getMessage());
-                eventPublisher.publishEvent(new ProcessingErrorEvent(landscapeDescription.getFullyQualifiedIdentifier(), ex));
-                landscapeDescription.setIsPartial(true);
-                return;
-            } catch (RuntimeException ex) {
-                String msg = "Failed to resolve source reference '" + ref.getUrl() + "': " + ex.getMessage();
-                log.warn(msg);
-                landscapeDescription.setIsPartial(true);
-                return;
+        if (result.cached) {
+            log.info(String.format("Source '%s' is unchanged, reusing %d items.", ref.getUrl(), result.buffer.getItemDescriptions().all().size()));
+            merge(result.buffer, landscapeDescription);
+            return;
+        }
+
+        if (!result.success) {
+            if (result.exception != null) {
+                log.error(result.message);
+                eventPublisher.publishEvent(new ProcessingErrorEvent(landscapeDescription.getFullyQualifiedIdentifier(), result.exception));
+            } else {
+                log.warn(result.message);
             }
+            landscapeDescription.setIsPartial(true);
+        }
+
+        //buffers of sources which timed out may still be modified
+        if (result.buffer != null) {
+            merge(result.buffer, landscapeDescription);
+        }
+
+        if (cache == null) {
+            return;
+        }
+        if (result.success && task.fingerprint != null) {
+            cache.put(landscapeDescription, ref, task.fingerprint, result.buffer);
+        } else {
+            cache.evict(landscapeDescription, ref);
+        }
+    }
+
+    /**
+     * Applies the data of the reference to the buffer.
+     *
+     * This may run in any thread, so errors are only collected in the result.
+     */
+    private SourceResult read(SourceReference ref, URL baseUrl, LandscapeDescription buffer) {
+        InputFormatHandler formatHandler;
+        try {
+            formatHandler = formatFactory.getInputFormatHandler(ref);
+        } catch (ProcessingException ex) {
+            return SourceResult.failed(buffer, ex, ex.getMessage());
+        } catch (RuntimeException ex) {
+            String msg = "Failed to resolve source reference '" + ref.getUrl() + "': " + ex.getMessage();
+            return SourceResult.failed(buffer, null, msg);
+        }
 
-            try {
-                formatHandler.applyData(ref, baseUrl, landscapeDescription);
-            } catch (ProcessingException ex) {
-                String message = ex.getMessage();
-                if (ex instanceof ReadingException) {
-                    message += ": " + getCauseMessage(ex.getCause());
-                }
-                log.error(message);
-                eventPublisher.publishEvent(new ProcessingErrorEvent(landscapeDescription.getFullyQualifiedIdentifier(), ex));
-                landscapeDescription.setIsPartial(true);
-            } catch (RuntimeException ex) {
-                log.warn(ex.getMessage());
-                landscapeDescription.setIsPartial(true);
+        try {
+            formatHandler.applyData(ref, baseUrl, buffer);
+            return SourceResult.read(buffer);
+        } catch (ProcessingException ex) {
+            String message = ex.getMessage();
+            if (ex instanceof ReadingException) {
+                message += ": " + getCauseMessage(ex.getCause());
             }
-        });
+            return SourceResult.failed(buffer, ex, message);
+        } catch (RuntimeException ex) {
+            return SourceResult.failed(buffer, null, ex.getMessage());
+        }
+    }
+
+    /**
+     * Merges the data of a source buffer into the landscape description, later sources overwrite earlier values.
+     */
+    private static void merge(LandscapeDescription buffer, LandscapeDescription landscapeDescription) {
+        landscapeDescription.mergeItems(buffer.getItemDescriptions().all());
+        landscapeDescription.mergeGroups(buffer.getGroups());
+        landscapeDescription.getTemplates().putAll(buffer.getTemplates());
     }
 
     private URL getBaseUrl(LandscapeSource source) {
@@ -82,4 +255,58 @@ public class SourceReferencesResolver {
         return s.trim();
     }
 
+    private static class SourceTask {
+        private final SourceReference ref;
+        @Nullable
+        private final String fingerprint;
+        private final Future<SourceResult> future;
+
+        SourceTask(SourceReference ref, @Nullable String fingerprint, Future<SourceResult> future) {
+            this.ref = ref;
+            this.fingerprint = fingerprint;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Outcome of reading a single reference.
+     */
+    private static class SourceResult {
+        @Nullable
+        private final LandscapeDescription buffer;
+        private final boolean success;
+        private final boolean cached;
+        @Nullable
+        private final ProcessingException exception;
+        @Nullable
+        private final String message;
+
+        private SourceResult(@Nullable LandscapeDescription buffer,
+                             boolean success,
+                             boolean cached,
+                             @Nullable ProcessingException exception,
+                             @Nullable String message
+        ) {
+            this.buffer = buffer;
+            this.success = success;
+            this.cached = cached;
+            this.exception = exception;
+            this.message = message;
+        }
+
+        static SourceResult read(LandscapeDescription buffer) {
+            return new SourceResult(buffer, true, false, null, null);
+        }
+
+        static SourceResult cached(LandscapeDescription buffer) {
+            return new SourceResult(buffer, true, true, null, null);
+        }
+
+        /**
+         * @param exception if present, the error is published as event
+         */
+        static SourceResult failed(@Nullable LandscapeDescription buffer, @Nullable ProcessingException exception, String message) {
+            return new SourceResult(buffer, false, false, exception, message);
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package de.bonndan.nivio.input;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Measurements of a single resolver or processor stage of an indexing run.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StageMetric {
+
+    public final String stage;
+
+    public final double durationMillis;
+
+    /**
+     * number of item descriptions before the stage
+     */
+    public final int itemsIn;
+
+    /**
+     * number of item descriptions (resolvers) or landscape items (processors) after the stage
+     */
+    public final int itemsOut;
+
+    /**
+     * bytes allocated by the indexing thread, null if the JVM does not support allocation measurement
+     */
+    @Nullable
+    public final Long allocatedBytes;
+
+    public StageMetric(@NonNull String stage, double durationMillis, int itemsIn, int itemsOut, @Nullable Long allocatedBytes) {
+        this.stage = Objects.requireNonNull(stage);
+        this.durationMillis = durationMillis;
+        this.itemsIn = itemsIn;
+        this.itemsOut = itemsOut;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f ms, %d -> %d items", stage, durationMillis, itemsIn, itemsOut);
+    }
+}
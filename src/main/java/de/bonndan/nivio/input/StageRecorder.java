@@ -0,0 +1,111 @@
+package de.bonndan.nivio.input;
+
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.model.Landscape;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Measures the resolver and processor stages of an indexing run.
+ * <p>
+ * Each stage is recorded as {@link StageMetric} and as meters tagged by landscape and stage. Allocations are measured
+ * for the indexing thread only, so work a stage hands to other threads (like reading sources) is not included.
+ */
+class StageRecorder {
+
+    static final String METRIC_PREFIX = "nivio.indexer.stage";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry registry;
+    private final String landscapeIdentifier;
+    private final List<StageMetric> stages = new ArrayList<>();
+
+    StageRecorder(@NonNull MeterRegistry registry, @NonNull String landscapeIdentifier) {
+        this.registry = Objects.requireNonNull(registry);
+        this.landscapeIdentifier = Objects.requireNonNull(landscapeIdentifier);
+    }
+
+    void resolve(@NonNull Resolver resolver, @NonNull LandscapeDescription input) {
+        resolve(resolver.getClass().getSimpleName(), input, () -> resolver.resolve(input));
+    }
+
+    void resolve(@NonNull String stage, @NonNull LandscapeDescription input, @NonNull Runnable resolving) {
+        IntSupplier items = () -> input.getItemDescriptions().all().size();
+        record(stage, items, items, () -> {
+            resolving.run();
+            return null;
+        });
+    }
+
+    ProcessingChangelog process(@NonNull Processor processor, @NonNull LandscapeDescription input, @NonNull Landscape landscape) {
+        return record(
+                processor.getClass().getSimpleName(),
+                () -> input.getItemDescriptions().all().size(),
+                () -> landscape.getItems().all().size(),
+                () -> processor.process(input, landscape)
+        );
+    }
+
+    /**
+     * @return the stages recorded so far, in order of execution
+     */
+    List<StageMetric> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    private <T> T record(String stage, IntSupplier itemsIn, IntSupplier itemsOut, Supplier<T> run) {
+        int in = itemsIn.getAsInt();
+        Long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return run.get();
+        } finally {
+            long duration = System.nanoTime() - start;
+            Long allocatedAfter = allocatedBytes();
+            Long allocated = allocatedBefore != null && allocatedAfter != null ? allocatedAfter - allocatedBefore : null;
+            stages.add(new StageMetric(stage, duration / 1_000_000d, in, itemsOut.getAsInt(), allocated));
+
+            Tags tags = Tags.of("landscape", landscapeIdentifier, "stage", stage);
+            Timer.builder(METRIC_PREFIX)
+                    .description("Duration of an indexing stage")
+                    .tags(tags)
+                    .register(registry)
+                    .record(duration, TimeUnit.NANOSECONDS);
+            if (allocated != null) {
+                DistributionSummary.builder(METRIC_PREFIX + ".allocated")
+                        .description("Bytes allocated by the indexing thread during a stage")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(registry)
+                        .record(allocated);
+            }
+        }
+    }
+
+    @Nullable
+    private static Long allocatedBytes() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
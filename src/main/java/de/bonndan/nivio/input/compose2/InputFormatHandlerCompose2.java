@@ -9,7 +9,6 @@ import de.bonndan.nivio.input.InputFormatHandler;
 import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
-import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.observation.InputFormatObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,10 +37,6 @@ public class InputFormatHandlerCompose2 implements InputFormatHandler {
         this.fileFetcher = fileFetcher;
     }
 
-    public static InputFormatHandler forTesting() {
-        return new InputFormatHandlerCompose2(new FileFetcher(new HttpService()));
-    }
-
 
     @Override
     public List<String> getFormats() {
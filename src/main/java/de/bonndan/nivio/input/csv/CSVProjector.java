@@ -0,0 +1,71 @@
+package de.bonndan.nivio.input.csv;
+
+import de.bonndan.nivio.input.LabelToFieldResolver;
+import de.bonndan.nivio.input.dto.ItemDescription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps csv rows to {@link ItemDescription}s.
+ *
+ * The configured mapping (field name to column number) is resolved once into arrays.
+ */
+class CSVProjector {
+
+    private final int identifierColumn;
+    private final String[] labels;
+    private final int[] columns;
+
+    /**
+     * @param mapping field names with column numbers (as Integer or String), must contain the identifier
+     */
+    CSVProjector(Map<String, Object> mapping) {
+        int identifier = 0;
+        List<String> labelList = new ArrayList<>();
+        List<Integer> columnList = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : mapping.entrySet()) {
+            int column = toColumn(entry.getValue());
+            if (InputFormatHandlerCSV.IDENTIFIER_KEY.equals(entry.getKey())) {
+                identifier = column;
+                continue;
+            }
+            //relies on LabelToFieldProcessor running later
+            labelList.add(LabelToFieldResolver.NIVIO_LABEL_PREFIX + entry.getKey());
+            columnList.add(column);
+        }
+
+        this.identifierColumn = identifier;
+        this.labels = labelList.toArray(String[]::new);
+        this.columns = columnList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int toColumn(Object value) {
+        if (value instanceof String) {
+            return Integer.parseInt((String) value);
+        }
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the item description of the row, null if the row has no identifier column
+     */
+    ItemDescription project(String[] row) {
+        if (identifierColumn >= row.length) {
+            return null;
+        }
+
+        ItemDescription itemDescription = new ItemDescription();
+        itemDescription.setIdentifier(row[identifierColumn]);
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < row.length) {
+                itemDescription.getLabels().put(labels[i], row[columns[i]]);
+            }
+        }
+        return itemDescription;
+    }
+}
@@ -4,18 +4,21 @@ import com.opencsv.CSVParser;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
 import de.bonndan.nivio.input.FileFetcher;
 import de.bonndan.nivio.input.InputFormatHandler;
-import de.bonndan.nivio.input.LabelToFieldResolver;
 import de.bonndan.nivio.input.ProcessingException;
 import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.observation.InputFormatObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,8 +33,15 @@ import java.util.Optional;
 @Service
 public class InputFormatHandlerCSV implements InputFormatHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputFormatHandlerCSV.class);
+
     public static final String IDENTIFIER_KEY = "identifier";
 
+    /**
+     * number of descriptions merged at once
+     */
+    static final int BATCH_SIZE = 1000;
+
     private final FileFetcher fileFetcher;
 
     public InputFormatHandlerCSV(FileFetcher fileFetcher) {
@@ -43,12 +53,14 @@ public class InputFormatHandlerCSV implements InputFormatHandler {
         return List.of("csv");
     }
 
+    /**
+     * Streams the rows of the csv into the landscape description.
+     *
+     * Rows are mapped as they are read and merged in batches of {@link #BATCH_SIZE}, so that neither the file content
+     * nor all descriptions are held in memory at once.
+     */
     @Override
     public void applyData(SourceReference reference, URL baseUrl, LandscapeDescription landscapeDescription) {
-        List<ItemDescription> itemDescriptions = new ArrayList<>();
-        String content = fileFetcher.get(reference, baseUrl);
-        CSVReader reader = getReader(reference, content);
-
         Map<String, Object> mapping = (Map<String, Object>) reference.getProperty("mapping");
         if (mapping == null) {
             throw new ProcessingException(reference.getLandscapeDescription(), "'mapping' must be present in configuration.");
@@ -56,35 +68,27 @@ public class InputFormatHandlerCSV implements InputFormatHandler {
         if (!mapping.containsKey(IDENTIFIER_KEY)) {
             throw new ProcessingException(reference.getLandscapeDescription(), "'" + IDENTIFIER_KEY + "' must be present in configured mapping.");
         }
-
-        reader.iterator().forEachRemaining(strings -> {
-            ItemDescription itemDescription = new ItemDescription();
-            mapping.forEach((key, value) -> {
-                Integer colNum = 0;
-                if (value instanceof String) {
-                    colNum = Integer.valueOf((String)value);
-                }
-
-                if (value instanceof Integer) {
-                    colNum = (Integer) value;
+        CSVProjector projector = new CSVProjector(mapping);
+
+        try (CSVReader reader = getReader(reference, fileFetcher.getReader(reference, baseUrl))) {
+            List<ItemDescription> batch = new ArrayList<>(BATCH_SIZE);
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                ItemDescription itemDescription = projector.project(row);
+                if (itemDescription == null) {
+                    LOGGER.warn("Skipping csv line {} of {} without identifier column", reader.getLinesRead(), reference.getUrl());
+                    continue;
                 }
-
-
-                if (IDENTIFIER_KEY.equals(key)) {
-                    itemDescription.setIdentifier(strings[colNum]);
-                    return;
-                }
-
-                if (colNum >= strings.length) {
-                    return;
+                batch.add(itemDescription);
+                if (batch.size() == BATCH_SIZE) {
+                    landscapeDescription.mergeItems(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
                 }
-                //relies on LabelToFieldProcessor running later
-                itemDescription.getLabels().put(LabelToFieldResolver.NIVIO_LABEL_PREFIX + key, strings[colNum]);
-            });
-            itemDescriptions.add(itemDescription);
-        });
-
-        landscapeDescription.mergeItems(itemDescriptions);
+            }
+            landscapeDescription.mergeItems(batch);
+        } catch (IOException | CsvValidationException e) {
+            throw new ProcessingException(reference.getLandscapeDescription(), "Failed to read csv " + reference.getUrl(), e);
+        }
     }
 
     @Override
@@ -93,12 +97,12 @@ public class InputFormatHandlerCSV implements InputFormatHandler {
         return inner;
     }
 
-    private CSVReader getReader(SourceReference reference, String content) {
+    private CSVReader getReader(SourceReference reference, Reader content) {
         String separator = (String) Optional.ofNullable(reference.getProperty("separator")).orElse(";");
         int skipLines = (int) Optional.ofNullable(reference.getProperty("skipLines")).orElse(0);
 
         CSVParser parser = new CSVParserBuilder().withSeparator(separator.charAt(0)).build();
-        return new CSVReaderBuilder(new StringReader(content))
+        return new CSVReaderBuilder(content)
                 .withCSVParser(parser)
                 .withSkipLines(skipLines)
                 .build();
@@ -6,6 +6,7 @@ import de.bonndan.nivio.model.FullyQualifiedIdentifier;
 import de.bonndan.nivio.model.Labeled;
 import de.bonndan.nivio.model.Link;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -42,6 +43,26 @@ public class GroupDescription implements ComponentDescription {
     @Schema(hidden = true)
     private String environment;
 
+    public GroupDescription() {
+    }
+
+    /**
+     * Creates a deep copy. New fields must be added here.
+     *
+     * @param source the description to copy
+     */
+    public GroupDescription(@NonNull GroupDescription source) {
+        this.identifier = source.identifier;
+        this.owner = source.owner;
+        this.description = source.description;
+        this.contact = source.contact;
+        this.color = source.color;
+        this.environment = source.environment;
+        this.labels.putAll(source.labels);
+        source.links.forEach((key, link) -> this.links.put(key, new Link(link)));
+        this.contains.addAll(source.contains);
+    }
+
     public String getIdentifier() {
         return identifier;
     }
@@ -143,6 +164,10 @@ public class GroupDescription implements ComponentDescription {
         labels.put(key, value);
     }
 
+    public String getEnvironment() {
+        return environment;
+    }
+
     public void setEnvironment(String environment) {
         this.environment = environment;
     }
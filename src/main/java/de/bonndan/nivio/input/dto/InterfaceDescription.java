@@ -1,6 +1,7 @@
 package de.bonndan.nivio.input.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.NonNull;
 
 import java.io.Serializable;
 import java.net.URL;
@@ -34,6 +35,24 @@ public class InterfaceDescription implements Serializable {
         this.description = description;
     }
 
+    /**
+     * Creates a copy. New fields must be added here.
+     *
+     * @param source the description to copy
+     */
+    public InterfaceDescription(@NonNull InterfaceDescription source) {
+        this.description = source.description;
+        this.format = source.format;
+        this.url = source.url;
+        this.protection = source.protection;
+        this.deprecated = source.deprecated;
+        this.name = source.name;
+        this.payload = source.payload;
+        this.path = source.path;
+        this.summary = source.summary;
+        this.parameters = source.parameters;
+    }
+
     public String getDescription() {
         return description;
     }
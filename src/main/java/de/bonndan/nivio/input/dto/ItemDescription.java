@@ -15,12 +15,18 @@ import org.springframework.util.StringUtils;
 
 import javax.validation.constraints.NotEmpty;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is representation of a service in the textual form as described in a source file.
  */
 public class ItemDescription implements ComponentDescription, Labeled, Linked, Tagged, ItemComponent {
 
+    /**
+     * counts changes of identifiers and groups of all descriptions, so that indexes can detect stale keys
+     */
+    private static final AtomicLong KEY_MODIFICATIONS = new AtomicLong();
+
     private final Map<String, Link> links = new HashMap<>();
 
     @Schema(description = "Relations to other landscape items.")
@@ -84,13 +90,40 @@ public class ItemDescription implements ComponentDescription, Labeled, Linked, T
         this.group = fqi.getGroup();
     }
 
+    /**
+     * Creates a deep copy. New fields must be added here.
+     *
+     * @param source the description to copy
+     */
+    public ItemDescription(@NonNull ItemDescription source) {
+        this.environment = source.environment;
+        this.identifier = source.identifier;
+        this.name = source.name;
+        this.owner = source.owner;
+        this.description = source.description;
+        this.contact = source.contact;
+        this.group = source.group;
+        this.icon = source.icon;
+        this.color = source.color;
+        this.address = source.address;
+        this.labels.putAll(source.labels);
+        source.links.forEach((key, link) -> this.links.put(key, new Link(link)));
+        source.interfaces.forEach(intf -> this.interfaces.add(new InterfaceDescription(intf)));
+        this.providedBy.addAll(source.providedBy);
+        source.relations.forEach(rel -> this.relations.add(new RelationDescription(rel)));
+    }
+
     @NonNull
     public String getIdentifier() {
         return identifier;
     }
 
     public void setIdentifier(String identifier) {
-        this.identifier = StringUtils.trimAllWhitespace(identifier);
+        String trimmed = StringUtils.trimAllWhitespace(identifier);
+        if (!Objects.equals(this.identifier, trimmed)) {
+            KEY_MODIFICATIONS.incrementAndGet();
+        }
+        this.identifier = trimmed;
     }
 
     @Schema(hidden = true)
@@ -99,6 +132,13 @@ public class ItemDescription implements ComponentDescription, Labeled, Linked, T
         return FullyQualifiedIdentifier.build(environment, group, identifier);
     }
 
+    /**
+     * @return the number of identifier and group changes of all descriptions
+     */
+    public static long getKeyModifications() {
+        return KEY_MODIFICATIONS.get();
+    }
+
     public String getEnvironment() {
         return environment;
     }
@@ -176,6 +216,9 @@ public class ItemDescription implements ComponentDescription, Labeled, Linked, T
     }
 
     public void setGroup(String group) {
+        if (!Objects.equals(this.group, group)) {
+            KEY_MODIFICATIONS.incrementAndGet();
+        }
         this.group = group;
     }
 
@@ -2,6 +2,7 @@ package de.bonndan.nivio.input.dto;
 
 import de.bonndan.nivio.model.RelationType;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.NonNull;
 
 @Schema(description = "A directed relation between two landscape items. Also known as edge in a directed graph.")
 public class RelationDescription {
@@ -28,6 +29,19 @@ public class RelationDescription {
         this.target = target;
     }
 
+    /**
+     * Creates a copy. New fields must be added here.
+     *
+     * @param source the description to copy
+     */
+    public RelationDescription(@NonNull RelationDescription source) {
+        this.type = source.type;
+        this.description = source.description;
+        this.format = source.format;
+        this.source = source.source;
+        this.target = source.target;
+    }
+
     public String getDescription() {
         return description;
     }
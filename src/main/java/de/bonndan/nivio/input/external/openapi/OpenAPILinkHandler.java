@@ -18,8 +18,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -45,13 +47,19 @@ public class OpenAPILinkHandler implements ExternalLinkHandler {
     public CompletableFuture<ComponentDescription> resolve(Link link) {
         LOGGER.info("Resolving OpenAPI link {}", link.getHref());
 
-        try {
-            String s = httpService.get(link.getHref());
-            return CompletableFuture.completedFuture(from(mapper.readValue(s, OpenAPI.class)));
-        } catch (Exception e) {
-            LOGGER.error("Failed", e);
-            return CompletableFuture.failedFuture(e);
-        }
+        return httpService.getAsync(link.getHref())
+                .thenApply(s -> {
+                    try {
+                        return (ComponentDescription) from(mapper.readValue(s, OpenAPI.class));
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .whenComplete((componentDescription, e) -> {
+                    if (e != null) {
+                        LOGGER.error("Failed", e);
+                    }
+                });
 
     }
 
@@ -0,0 +1,75 @@
+package de.bonndan.nivio.input.http;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Response bodies with their validators, so that unchanged content costs a 304 response.
+ * <p>
+ * The size is limited by the number of cached characters, least recently used entries are evicted first.
+ */
+class BodyCache {
+
+    private final long maxChars;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long chars;
+
+    /**
+     * @param maxChars max number of characters of all cached bodies
+     */
+    BodyCache(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    @Nullable
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches the body, unless it cannot be validated or is too large.
+     */
+    synchronized void put(String key, Validator validator, String body) {
+        remove(entries.get(key), key);
+        if (!validator.isConditional() || body.length() > maxChars) {
+            return;
+        }
+
+        entries.put(key, new Entry(validator, body));
+        chars += body.length();
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (chars > maxChars && iterator.hasNext()) {
+            chars -= iterator.next().getValue().body.length();
+            iterator.remove();
+        }
+    }
+
+    synchronized long getChars() {
+        return chars;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(@Nullable Entry entry, String key) {
+        if (entry != null) {
+            entries.remove(key);
+            chars -= entry.body.length();
+        }
+    }
+
+    static class Entry {
+        final Validator validator;
+        final String body;
+
+        Entry(Validator validator, String body) {
+            this.validator = validator;
+            this.body = body;
+        }
+    }
+}
@@ -1,28 +1,186 @@
 package de.bonndan.nivio.input.http;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.auth.AuthenticationException;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Performs http requests.
+ * <p>
+ * GET requests are conditional: validators (ETag, Last-Modified) and the body of successful responses are cached in
+ * memory (limited by size), so that unchanged content costs a 304 response. Consumers which need to know whether content
+ * has changed keep their own {@link Validator} and use {@link #getIfModified(URL, Validator)}.
+ * <p>
+ * All requests share one client with a connection pool, so connections (and TLS sessions) to the same host are kept
+ * alive and reused.
+ */
 @Component
 public class HttpService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpService.class);
+
+    /**
+     * max number of characters of all cached response bodies
+     */
+    static final long BODY_CACHE_MAX_CHARS = 8L * 1024 * 1024;
+
+    private final BodyCache bodyCache = new BodyCache(BODY_CACHE_MAX_CHARS);
+
+    static final int DEFAULT_MAX_CONNECTIONS = 100;
+    static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+    static final int DEFAULT_CONNECT_TIMEOUT = 5_000;
+    static final int DEFAULT_SOCKET_TIMEOUT = 30_000;
+
+    /**
+     * number of async requests waiting for a thread, further requests fail
+     */
+    static final int ASYNC_QUEUE_CAPACITY = 100;
+
+    private final CloseableHttpClient client;
+    private final ThreadPoolExecutor asyncExecutor;
+
+    public HttpService() {
+        this(DEFAULT_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_CONNECT_TIMEOUT, DEFAULT_SOCKET_TIMEOUT);
+    }
+
+    /**
+     * @param maxConnections         max number of pooled connections
+     * @param maxConnectionsPerRoute max number of pooled connections to the same host, also limits concurrent async requests
+     * @param connectTimeout         timeout in milliseconds to establish a connection
+     * @param socketTimeout          timeout in milliseconds waiting for data
+     */
+    @Autowired
+    public HttpService(@Value("${nivio.httpMaxConnections:" + DEFAULT_MAX_CONNECTIONS + "}") int maxConnections,
+                       @Value("${nivio.httpMaxConnectionsPerRoute:" + DEFAULT_MAX_CONNECTIONS_PER_ROUTE + "}") int maxConnectionsPerRoute,
+                       @Value("${nivio.httpConnectTimeout:" + DEFAULT_CONNECT_TIMEOUT + "}") int connectTimeout,
+                       @Value("${nivio.httpSocketTimeout:" + DEFAULT_SOCKET_TIMEOUT + "}") int socketTimeout
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2_000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .build();
+
+        this.client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(60, TimeUnit.SECONDS)
+                .build();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("nivio-http-");
+        threadFactory.setDaemon(true);
+        this.asyncExecutor = new ThreadPoolExecutor(maxConnectionsPerRoute, maxConnectionsPerRoute,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+    }
+
     public String get(@NonNull final URL url) throws IOException, URISyntaxException {
         return executeRequest(new HttpGet(url.toURI()));
     }
 
+    /**
+     * Fetches the url only if it has been modified since the given validator was returned.
+     *
+     * Content is unmodified if the server responds with 304 or returns the same body again.
+     *
+     * @param url      the url to fetch
+     * @param previous the validator of the last request of the caller, null on the first request
+     * @return the content (empty if not modified) and the validator for the next request
+     */
+    public ValidatedContent getIfModified(@NonNull final URL url, @Nullable final Validator previous) throws URISyntaxException {
+        Fetched fetched = fetch(new HttpGet(url.toURI()), previous);
+        if (fetched.body == null) {
+            LOGGER.debug("Content of {} has not been modified", url);
+            return new ValidatedContent(null, fetched.validator);
+        }
+        if (previous != null && previous.hasSameContent(fetched.validator)) {
+            return new ValidatedContent(null, fetched.validator);
+        }
+        return new ValidatedContent(fetched.body, fetched.validator);
+    }
+
+    /**
+     * Fetches the url without blocking the caller.
+     *
+     * @param url the url to fetch
+     * @return the future content, completing exceptionally if the request fails or too many requests are waiting
+     */
+    public CompletableFuture<String> getAsync(@NonNull final URL url) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return get(url);
+                } catch (IOException | URISyntaxException e) {
+                    throw new CompletionException(e);
+                }
+            }, asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Rejected async request to {}: {} requests are waiting", url, asyncExecutor.getQueue().size());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Releases the pooled connections and drops waiting async requests.
+     */
+    @PreDestroy
+    public void close() {
+        asyncExecutor.shutdownNow();
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close http client: {}", e.getMessage());
+        }
+    }
+
     /**
      * @param url
      * @throws URISyntaxException
@@ -33,11 +191,12 @@ public class HttpService {
         request.setHeader(new BasicHeader("Pragma", "no-cache"));
         request.setHeader(new BasicHeader("Cache-Control", "no-cache"));
 
-        try (CloseableHttpClient client = HttpClients.createDefault(); CloseableHttpResponse response = client.execute(request)) {
+        try (CloseableHttpResponse response = client.execute(request)) {
             int statusCode = response.getStatusLine().getStatusCode();
             if (statusCode < 400) {
                 return new CachedResponse(response.getAllHeaders(), response.getEntity());
             } else {
+                EntityUtils.consume(response.getEntity());
                 throw new RuntimeException("Failed to fetch " + request.getURI() + ", status: " + statusCode);
             }
         } catch (IOException ex) {
@@ -62,15 +221,127 @@ public class HttpService {
         return executeRequest(request);
     }
 
+    /**
+     * Opens a reader on the response body, for content which is too large to be read into memory.
+     *
+     * Streamed responses are not cached. The caller must close the reader, which releases the connection.
+     *
+     * @param url the url to fetch
+     * @return a reader on the body
+     * @throws IOException if the request fails
+     */
+    public Reader getReader(@NonNull final URL url) throws IOException, URISyntaxException {
+        return openReader(new HttpGet(url.toURI()));
+    }
+
+    public Reader getReaderWithBasicAuth(@NonNull final URL url, String username, String password) throws IOException, AuthenticationException, URISyntaxException {
+        HttpGet request = new HttpGet(url.toURI());
+
+        UsernamePasswordCredentials creds = new UsernamePasswordCredentials(username, password);
+        request.addHeader(new BasicScheme().authenticate(creds, request, null));
+
+        return openReader(request);
+    }
+
+    public Reader getReaderWithHeaderToken(@NonNull final URL url, String tokenName, String tokenValue) throws IOException, URISyntaxException {
+        HttpGet request = new HttpGet(url.toURI());
+        request.addHeader(new BasicHeader(tokenName, tokenValue));
+
+        return openReader(request);
+    }
+
+    private Reader openReader(HttpGet request) throws IOException {
+        CloseableHttpResponse response = client.execute(request);
+        int statusCode = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        if (statusCode != 200 || entity == null) {
+            EntityUtils.consume(entity);
+            response.close();
+            throw new IOException(String.format("Got %d while reading %s", statusCode, request.getURI()));
+        }
+
+        Charset charset = Optional.ofNullable(ContentType.getOrDefault(entity).getCharset()).orElse(StandardCharsets.UTF_8);
+        return new InputStreamReader(entity.getContent(), charset) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        };
+    }
+
     private String executeRequest(HttpGet request) {
-        try (CloseableHttpClient client = HttpClients.createDefault(); CloseableHttpResponse response = client.execute(request)) {
-            if (response.getStatusLine().getStatusCode() == 200) {
-                return EntityUtils.toString(response.getEntity());
+        String cacheKey = getCacheKey(request);
+        BodyCache.Entry cached = bodyCache.get(cacheKey);
+        Fetched fetched = fetch(request, cached != null ? cached.validator : null);
+        if (fetched.body == null) {
+            return cached.body;
+        }
+        bodyCache.put(cacheKey, fetched.validator, fetched.body);
+        return fetched.body;
+    }
+
+    /**
+     * @return the response, without body if the server responded with 304 to the conditional request
+     */
+    private Fetched fetch(HttpGet request, @Nullable Validator previous) {
+        if (previous != null) {
+            previous.applyTo(request);
+        }
+
+        try (CloseableHttpResponse response = client.execute(request)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && previous != null) {
+                return new Fetched(null, previous);
+            }
+            if (statusCode == 200) {
+                String body = EntityUtils.toString(response.getEntity());
+                Validator validator = new Validator(
+                        getHeaderValue(response.getFirstHeader(HttpHeaders.ETAG)),
+                        getHeaderValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED)),
+                        body
+                );
+                return new Fetched(body, validator);
             }
-            throw new RuntimeException(String.format("Got %d while reading", response.getStatusLine().getStatusCode()));
+            EntityUtils.consume(response.getEntity());
+            throw new RuntimeException(String.format("Got %d while reading", statusCode));
         } catch (IOException ex) {
             throw new RuntimeException(String.format("Failed to fetch %s", request.getURI()), ex);
         }
     }
 
+    /**
+     * Requests with different credentials are cached separately.
+     */
+    private static String getCacheKey(HttpGet request) {
+        String headers = Arrays.stream(request.getAllHeaders())
+                .sorted(Comparator.comparing(Header::getName))
+                .map(header -> header.getName() + ":" + header.getValue())
+                .collect(Collectors.joining("\n"));
+        if (headers.isEmpty()) {
+            return request.getURI().toString();
+        }
+        return request.getURI() + "#" + DigestUtils.md5DigestAsHex(headers.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private static String getHeaderValue(@Nullable Header header) {
+        return header != null ? header.getValue() : null;
+    }
+
+    private static class Fetched {
+
+        @Nullable
+        final String body;
+        final Validator validator;
+
+        Fetched(@Nullable String body, Validator validator) {
+            this.body = body;
+            this.validator = validator;
+        }
+    }
+
 }
@@ -0,0 +1,42 @@
+package de.bonndan.nivio.input.http;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Result of a conditional request: the content if it has been modified and the validator to use next time.
+ */
+public class ValidatedContent {
+
+    @Nullable
+    private final String content;
+
+    private final Validator validator;
+
+    public ValidatedContent(@Nullable final String content, @NonNull final Validator validator) {
+        this.content = content;
+        this.validator = Objects.requireNonNull(validator);
+    }
+
+    /**
+     * @return the content, empty if not modified
+     */
+    public Optional<String> getContent() {
+        return Optional.ofNullable(content);
+    }
+
+    public boolean isModified() {
+        return content != null;
+    }
+
+    /**
+     * @return the validator to pass with the next request
+     */
+    @NonNull
+    public Validator getValidator() {
+        return validator;
+    }
+}
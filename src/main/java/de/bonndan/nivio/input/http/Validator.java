@@ -0,0 +1,77 @@
+package de.bonndan.nivio.input.http;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpGet;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Validators of a fetched response (ETag, Last-Modified) and the hash of its body.
+ * <p>
+ * Kept by the consumer which wants to know whether content has changed since it fetched it the last time.
+ */
+public final class Validator {
+
+    @Nullable
+    private final String etag;
+
+    @Nullable
+    private final String lastModified;
+
+    private final String hash;
+
+    public Validator(@Nullable final String etag, @Nullable final String lastModified, @NonNull final String body) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.hash = DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Makes the request conditional.
+     */
+    void applyTo(HttpGet request) {
+        if (etag != null) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    /**
+     * @return true if the server can answer a conditional request with 304
+     */
+    boolean isConditional() {
+        return etag != null || lastModified != null;
+    }
+
+    boolean hasSameContent(@NonNull final Validator other) {
+        return hash.equals(other.hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Validator validator = (Validator) o;
+        return Objects.equals(etag, validator.etag) && Objects.equals(lastModified, validator.lastModified) && hash.equals(validator.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(etag, lastModified, hash);
+    }
+
+    @Override
+    public String toString() {
+        return "Validator{" +
+                "etag='" + etag + '\'' +
+                ", lastModified='" + lastModified + '\'' +
+                ", hash='" + hash + '\'' +
+                '}';
+    }
+}
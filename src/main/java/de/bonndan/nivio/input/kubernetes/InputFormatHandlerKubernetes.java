@@ -8,6 +8,7 @@ import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.RelationDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.model.Label;
+import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.RelationType;
 import de.bonndan.nivio.observation.InputFormatObserver;
 import de.bonndan.nivio.util.URLHelper;
@@ -17,13 +18,20 @@ import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PreDestroy;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Scans the k8s api for services, pods, volumes etc.
@@ -42,13 +50,33 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
     public static final String APP_KUBERNETES_IO_INSTANCE_LABEL = "app.kubernetes.io/instance";
     public static final String APP_SELECTOR = "app";
 
-    private String namespace = null;
-    private String groupLabel = null;
     private KubernetesClient client;
+    private final boolean ownsClient;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * caches by cluster, credentials and namespace (see {@link #getCacheKey(Config, String)})
+     */
+    private final Map<String, KubernetesCache> caches = new ConcurrentHashMap<>();
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    public InputFormatHandlerKubernetes(Optional<KubernetesClient> client) {
+    public InputFormatHandlerKubernetes(Optional<KubernetesClient> client, ApplicationEventPublisher eventPublisher) {
         this.client = client.orElse(null);
+        this.ownsClient = client.isEmpty();
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Closes the watches of all caches and the client if it has been created here.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        caches.values().forEach(KubernetesCache::stop);
+        caches.clear();
+        if (ownsClient && client != null) {
+            client.close();
+            client = null;
+        }
     }
 
     @Override
@@ -58,42 +86,37 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
 
     /**
      * Created Items: service -> pod -> containers
+     *
+     * Pods and services are read from a cache which is filled on first use and updated by watches afterwards.
      */
     @Override
     public void applyData(SourceReference reference, URL baseUrl, LandscapeDescription landscapeDescription) {
 
+        Map<String, String> params = readParams(reference);
+        String namespace = params.get(NAMESPACE);
+        String groupLabel = params.get(GROUP_LABEL_PARAM);
+        KubernetesCache cache = getCache(reference, namespace);
         try {
-            if (!StringUtils.isEmpty(reference.getUrl())) {
-                URL url = new URL(reference.getUrl());
-                Map<String, String> params = URLHelper.splitQuery(url);
-                if (params.containsKey(NAMESPACE)) {
-                    namespace = params.get(NAMESPACE);
-                }
-                if (params.containsKey(GROUP_LABEL_PARAM)) {
-                    this.groupLabel = params.get(GROUP_LABEL_PARAM);
-                }
-            }
-        } catch (MalformedURLException ignored) {
-
+            cache.start();
+        } catch (Exception ex) {
+            throw new ProcessingException("Failed to load pods and services", ex);
         }
 
-        KubernetesClient client = getClient(reference.getUrl());
-
         List<ItemDescription> descriptions = new ArrayList<>();
         final List<ItemDescription> pods = new ArrayList<>();
-        getPods().forEach(pod -> {
-            ItemDescription podItem = createPodItemDescription(pod);
+        getPods(cache, namespace).forEach(pod -> {
+            ItemDescription podItem = createPodItemDescription(pod, groupLabel);
             descriptions.add(podItem);
             pods.add(podItem);
-            List<ItemDescription> descriptionsFromPod = createDescriptionsFromPod(pod, podItem);
+            List<ItemDescription> descriptionsFromPod = createDescriptionsFromPod(pod, podItem, groupLabel);
             descriptions.addAll(descriptionsFromPod);
         });
 
-        List<Service> services = client.services().list().getItems();
+        List<Service> services = cache.getServices();
         LOGGER.info("Found services: {}", services.stream().map(service -> service.getMetadata().getName()).collect(Collectors.toList()));
         services.stream()
                 .filter(service -> namespace == null || namespace.equals(service.getMetadata().getNamespace()))
-                .forEach(service -> descriptions.add(createDescriptionFromService(service, pods)));
+                .forEach(service -> descriptions.add(createDescriptionFromService(service, pods, groupLabel)));
 
         landscapeDescription.mergeItems(descriptions);
     }
@@ -103,18 +126,70 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
         return null;
     }
 
+    /**
+     * The landscape is observed using the watches of the cache.
+     *
+     * The cache is not loaded here, but when the source is read.
+     */
+    @Override
+    public InputFormatObserver getSourceObserver(@NonNull final Landscape landscape, @NonNull final SourceReference sourceReference) {
+        String namespace = readParams(sourceReference).get(NAMESPACE);
+        return new KubernetesObserver(landscape, eventPublisher, getCache(sourceReference, namespace));
+    }
+
+    /**
+     * The handler is shared by all sources, so the params are never stored.
+     */
+    private Map<String, String> readParams(SourceReference reference) {
+        try {
+            if (!StringUtils.isEmpty(reference.getUrl())) {
+                return URLHelper.splitQuery(new URL(reference.getUrl()));
+            }
+        } catch (MalformedURLException ignored) {
+
+        }
+        return Collections.emptyMap();
+    }
+
+    private KubernetesCache getCache(SourceReference reference, @Nullable String namespace) {
+        KubernetesClient client = getClient(reference.getUrl());
+        return caches.computeIfAbsent(
+                getCacheKey(client.getConfiguration(), namespace),
+                key -> new KubernetesCache(client, namespace, KubernetesCache.DEFAULT_PAGE_SIZE)
+        );
+    }
+
+    /**
+     * Sources of different clusters or accounts must not share a cache, since they see different resources.
+     *
+     * @param config    the client configuration
+     * @param namespace the namespace, null for all namespaces
+     * @return master url, a hash of the credentials and the namespace
+     */
+    static String getCacheKey(Config config, @Nullable String namespace) {
+        String credentials = Stream.of(config.getUsername(), config.getPassword(), config.getOauthToken(),
+                        config.getClientCertFile(), config.getClientCertData())
+                .map(s -> Optional.ofNullable(s).orElse(""))
+                .collect(Collectors.joining("\n"));
+        return String.format("%s#%s/%s",
+                config.getMasterUrl(),
+                DigestUtils.md5DigestAsHex(credentials.getBytes(StandardCharsets.UTF_8)),
+                Optional.ofNullable(namespace).orElse("")
+        );
+    }
+
     /**
      * Creates a pod item
      *
      * @param pod k8s pod object
      * @return pod (yet ungrouped)
      */
-    private ItemDescription createPodItemDescription(Pod pod) {
+    private ItemDescription createPodItemDescription(Pod pod, @Nullable String groupLabel) {
         ItemDescription itemDescription = new ItemDescription();
         itemDescription.setName(pod.getMetadata().getName());
         itemDescription.setIdentifier(pod.getMetadata().getName());
         itemDescription.setType(ItemType.POD);
-        itemDescription.setGroup(getGroup(pod));
+        itemDescription.setGroup(getGroup(pod, groupLabel));
         pod.getMetadata().getLabels().forEach(itemDescription::setLabel);
         return itemDescription;
     }
@@ -122,25 +197,21 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
     /**
      * @return all pods in the namespace
      */
-    private List<Pod> getPods() {
-        try {
-            List<Pod> pods = client.pods().list().getItems();
-            LOGGER.info("Found pods: {}", pods.stream().map(pod -> pod.getMetadata().getName()).collect(Collectors.toList()));
-            return pods.stream()
-                    .filter(pod -> namespace == null || namespace.equals(pod.getMetadata().getNamespace()))
-                    .collect(Collectors.toList());
-        } catch (Exception ex) {
-            throw new ProcessingException("Failed to load pods ", ex);
-        }
+    private List<Pod> getPods(KubernetesCache cache, @Nullable String namespace) {
+        List<Pod> pods = cache.getPods();
+        LOGGER.info("Found pods: {}", pods.stream().map(pod -> pod.getMetadata().getName()).collect(Collectors.toList()));
+        return pods.stream()
+                .filter(pod -> namespace == null || namespace.equals(pod.getMetadata().getNamespace()))
+                .collect(Collectors.toList());
     }
 
-    private ItemDescription createDescriptionFromService(Service kubernetesService, List<ItemDescription> pods) {
+    private ItemDescription createDescriptionFromService(Service kubernetesService, List<ItemDescription> pods, @Nullable String groupLabel) {
 
         ItemDescription service = new ItemDescription();
         service.setIdentifier(kubernetesService.getMetadata().getName());
         service.setType(kubernetesService.getSpec().getType());
 
-        String group = getGroup(kubernetesService);
+        String group = getGroup(kubernetesService, groupLabel);
         service.setGroup(group);
 
         String targetId = "";
@@ -171,7 +242,7 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
         return getClient("").getConfiguration();
     }
 
-    private List<ItemDescription> createDescriptionsFromPod(Pod pod, ItemDescription podItem) {
+    private List<ItemDescription> createDescriptionsFromPod(Pod pod, ItemDescription podItem, @Nullable String groupLabel) {
 
         List<ItemDescription> descriptions = new ArrayList<>();
 
@@ -182,7 +253,7 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
         descriptions.add(node);
         podItem.addRelation(new RelationDescription(node.getIdentifier(), podItem.getIdentifier()));
 
-        String group = getGroup(pod);
+        String group = getGroup(pod, groupLabel);
         pod.getSpec().getContainers().forEach(container -> {
             ItemDescription containerDesc = new ItemDescription();
             containerDesc.setGroup(group);
@@ -253,7 +324,7 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
         }
     }
 
-    private String getGroup(HasMetadata hasMetadata) {
+    private String getGroup(HasMetadata hasMetadata, @Nullable String groupLabel) {
         if (groupLabel != null) {
             String labelValue = hasMetadata.getMetadata().getLabels().getOrDefault(groupLabel, "");
             if (!StringUtils.isEmpty(labelValue)) {
@@ -269,7 +340,7 @@ public class InputFormatHandlerKubernetes implements InputFormatHandler {
         return "";
     }
 
-    private KubernetesClient getClient(String context) {
+    private synchronized KubernetesClient getClient(String context) {
         if (this.client != null)
             return this.client;
 
@@ -0,0 +1,161 @@
+package de.bonndan.nivio.input.kubernetes;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Local copy of the pods and services of a namespace, kept up to date by watches (an informer).
+ *
+ * The initial listing is paginated. If a watch is closed by the api server, the resources are listed again. The watches
+ * are closed when the last listener is removed.
+ */
+class KubernetesCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesCache.class);
+
+    static final long DEFAULT_PAGE_SIZE = 500;
+
+    private final KubernetesClient client;
+
+    @Nullable
+    private final String namespace;
+    private final long pageSize;
+
+    private final Map<String, Pod> pods = new ConcurrentHashMap<>();
+    private final Map<String, Service> services = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Watch> watches = new ArrayList<>();
+    private boolean started;
+
+    /**
+     * @param client    k8s client
+     * @param namespace the namespace to cache, null for all namespaces
+     * @param pageSize  number of resources per list request
+     */
+    KubernetesCache(KubernetesClient client, @Nullable String namespace, long pageSize) {
+        this.client = Objects.requireNonNull(client);
+        this.namespace = StringUtils.isEmpty(namespace) ? null : namespace;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Lists and starts watching the resources unless already started.
+     */
+    synchronized void start() {
+        if (started) {
+            return;
+        }
+
+        watches.add(listAndWatch(namespace == null ? client.pods().inAnyNamespace() : client.pods().inNamespace(namespace), pods, "pod"));
+        watches.add(listAndWatch(namespace == null ? client.services().inAnyNamespace() : client.services().inNamespace(namespace), services, "service"));
+        started = true;
+        LOGGER.info("Started k8s cache for namespace {} with {} pods and {} services", namespace, pods.size(), services.size());
+    }
+
+    /**
+     * Closes the watches. The cache is reloaded on next {@link #start()}.
+     */
+    synchronized void stop() {
+        started = false;
+        watches.forEach(Watch::close);
+        watches.clear();
+    }
+
+    List<Pod> getPods() {
+        return new ArrayList<>(pods.values());
+    }
+
+    synchronized boolean isStarted() {
+        return started;
+    }
+
+    List<Service> getServices() {
+        return new ArrayList<>(services.values());
+    }
+
+    /**
+     * @param listener receives a description of each change (kind, name and action)
+     * @return a runnable to remove the listener, which stops the cache if it was the last one
+     */
+    synchronized Runnable addListener(Consumer<String> listener) {
+        listeners.add(listener);
+        return () -> removeListener(listener);
+    }
+
+    private synchronized void removeListener(Consumer<String> listener) {
+        if (listeners.remove(listener) && listeners.isEmpty()) {
+            LOGGER.info("Stopping k8s cache for namespace {}, no more listeners", namespace);
+            stop();
+        }
+    }
+
+    private <T extends HasMetadata, L extends KubernetesResourceList<T>> Watch listAndWatch(
+            FilterWatchListDeletable<T, L, Boolean, Watch> operation,
+            Map<String, T> cache,
+            String kind
+    ) {
+        Map<String, T> listed = new HashMap<>();
+        String continueToken = null;
+        L list;
+        do {
+            list = operation.list(new ListOptionsBuilder().withLimit(pageSize).withContinue(continueToken).build());
+            list.getItems().forEach(resource -> listed.put(key(resource), resource));
+            continueToken = list.getMetadata() != null ? list.getMetadata().getContinue() : null;
+        } while (!StringUtils.isEmpty(continueToken));
+
+        cache.keySet().retainAll(listed.keySet());
+        cache.putAll(listed);
+        String resourceVersion = list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+
+        return operation.watch(new ListOptionsBuilder().withResourceVersion(resourceVersion).build(), new Watcher<>() {
+            @Override
+            public void eventReceived(Action action, T resource) {
+                if (action == Action.DELETED) {
+                    cache.remove(key(resource));
+                } else if (action == Action.ADDED || action == Action.MODIFIED) {
+                    cache.put(key(resource), resource);
+                } else {
+                    return;
+                }
+                String change = String.format("%s %s %s", kind, key(resource), action.name().toLowerCase());
+                LOGGER.debug("k8s change: {}", change);
+                listeners.forEach(listener -> listener.accept(change));
+            }
+
+            @Override
+            public void onClose(@Nullable KubernetesClientException cause) {
+                if (cause == null) {
+                    return;
+                }
+                LOGGER.warn("k8s {} watch closed: {}, relisting on next start", kind, cause.getMessage());
+                stop();
+                listeners.forEach(listener -> listener.accept(String.format("%s watch closed", kind)));
+            }
+        });
+    }
+
+    private static String key(HasMetadata resource) {
+        return resource.getMetadata().getNamespace() + "/" + resource.getMetadata().getName();
+    }
+}
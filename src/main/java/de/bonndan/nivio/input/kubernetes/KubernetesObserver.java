@@ -0,0 +1,56 @@
+package de.bonndan.nivio.input.kubernetes;
+
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.observation.BaseObserver;
+import de.bonndan.nivio.observation.InputChangedEvent;
+import de.bonndan.nivio.observation.ObservedChange;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Emits an {@link InputChangedEvent} for each change of pods or services in the {@link KubernetesCache}.
+ *
+ * Changes of the same landscape are coalesced before reindexing, which then reads the cache instead of the api. The
+ * landscape is always reindexed as a whole, single changes are not applied incrementally. The cache is started when the
+ * source is read, so no events are emitted before the first index run, and stopped when its last observer is stopped.
+ */
+public class KubernetesObserver extends BaseObserver {
+
+    private final KubernetesCache cache;
+    private Runnable removeListener;
+
+    KubernetesObserver(@NonNull final Landscape landscape,
+                       @NonNull final ApplicationEventPublisher eventPublisher,
+                       @NonNull final KubernetesCache cache
+    ) {
+        super(landscape, eventPublisher);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public synchronized void run() {
+        if (removeListener != null) {
+            return;
+        }
+        removeListener = cache.addListener(change -> eventPublisher.publishEvent(new InputChangedEvent(new ObservedChange(landscape, change))));
+    }
+
+    boolean isCacheStarted() {
+        return cache.isStarted();
+    }
+
+    @Override
+    public boolean isEventDriven() {
+        return true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (removeListener != null) {
+            removeListener.run();
+            removeListener = null;
+        }
+    }
+}
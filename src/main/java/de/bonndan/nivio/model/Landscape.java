@@ -87,11 +87,29 @@ public class Landscape implements Linked, Component, Labeled, Assessable {
                      @Nullable final LandscapeConfig config,
                      @Nullable final ProcessLog processLog,
                      @NonNull final Map<String, KPI> kpis
+    ) {
+        this(identifier, groups, name, contact, owner, description, source, config, processLog, kpis, null);
+    }
+
+    /**
+     * @param searchIndex the search index of a previous landscape with the same identifier, a new one is created if null
+     */
+    public Landscape(@NonNull final String identifier,
+                     @NonNull final Map<String, Group> groups,
+                     @NonNull final String name,
+                     @Nullable final String contact,
+                     @Nullable final String owner,
+                     @Nullable final String description,
+                     @Nullable final LandscapeSource source,
+                     @Nullable final LandscapeConfig config,
+                     @Nullable final ProcessLog processLog,
+                     @NonNull final Map<String, KPI> kpis,
+                     @Nullable final SearchIndex searchIndex
     ) {
         this.identifier = validateIdentifier(Objects.requireNonNull(identifier));
         this.groups = groups;
-        this.searchIndex = new SearchIndex();
-        this.items = new ItemIndex<>(Item.class);
+        this.searchIndex = searchIndex != null ? searchIndex : new SearchIndex();
+        this.items = new ItemIndex<>(Item.class, true);
         this.name = Objects.requireNonNull(name);
         this.contact = contact;
 
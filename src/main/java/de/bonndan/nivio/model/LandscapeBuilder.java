@@ -3,6 +3,7 @@ package de.bonndan.nivio.model;
 import de.bonndan.nivio.assessment.kpi.KPI;
 import de.bonndan.nivio.input.ProcessLog;
 import de.bonndan.nivio.input.dto.LandscapeSource;
+import de.bonndan.nivio.search.SearchIndex;
 
 import java.util.*;
 
@@ -20,6 +21,7 @@ public final class LandscapeBuilder {
     private ProcessLog processLog;
     private Map<String, Group> groups = new HashMap<>();
     private Map<String, String> labels = new HashMap<>();
+    private SearchIndex searchIndex;
 
     private LandscapeBuilder() {
     }
@@ -93,10 +95,15 @@ public final class LandscapeBuilder {
         return this;
     }
 
+    public LandscapeBuilder withSearchIndex(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+        return this;
+    }
+
     public Landscape build() {
         Objects.requireNonNull(identifier, "The landscape identifier cannot be null");
 
-        Landscape landscape = new Landscape(identifier, groups, name, contact, owner, description, source, config, processLog, kpis);
+        Landscape landscape = new Landscape(identifier, groups, name, contact, owner, description, source, config, processLog, kpis, searchIndex);
         landscape.setItems(items);
         landscape.setLinks(links);
 
@@ -39,6 +39,12 @@ public class LandscapeConfig {
     @Schema(description = "Key performance indicator configs. Each KPI must have a unique identifier.")
     private final Map<String, KPIConfig> kpis = new HashMap<>();
 
+    @Schema(description = "Maximum number of sources which are read at the same time. Defaults to 4.", example = "4")
+    private Integer sourceConcurrency;
+
+    @Schema(description = "Seconds to wait for all sources to be read, counted from the start of reading. The landscape is marked as partial if a source times out. Defaults to 60.", example = "60")
+    private Long sourceTimeout;
+
     public LayoutConfig getGroupLayoutConfig() {
         return groupLayoutConfig;
     }
@@ -85,6 +91,22 @@ public class LandscapeConfig {
         return itemLayoutConfig;
     }
 
+    public Integer getSourceConcurrency() {
+        return sourceConcurrency;
+    }
+
+    public void setSourceConcurrency(Integer sourceConcurrency) {
+        this.sourceConcurrency = sourceConcurrency;
+    }
+
+    public Long getSourceTimeout() {
+        return sourceTimeout;
+    }
+
+    public void setSourceTimeout(Long sourceTimeout) {
+        this.sourceTimeout = sourceTimeout;
+    }
+
 
     @Schema(description = "Layout configuration. See https://jgraph.github.io/mxgraph/java/docs/com/mxgraph/layout/mxFastOrganicLayout.html")
     public static class LayoutConfig {
@@ -101,6 +123,12 @@ public class LandscapeConfig {
         @Schema(description = "A factor to influence minimum distance where forces are applied.")
         private Float minDistanceLimitFactor = 1f;
 
+        @Schema(description = "Accuracy of the approximated repulsion (Barnes-Hut) used for large graphs. Lower values are more accurate, 0 disables the approximation.")
+        private Float barnesHutTheta;
+
+        @Schema(description = "The minimum number of items (or groups) in a layout to use the approximated repulsion.")
+        private Integer barnesHutThreshold;
+
         public Integer getMaxIterations() {
             return maxIterations;
         }
@@ -132,6 +160,22 @@ public class LandscapeConfig {
         public void setMaxDistanceLimitFactor(Float maxDistanceLimitFactor) {
             this.maxDistanceLimitFactor = maxDistanceLimitFactor;
         }
+
+        public Float getBarnesHutTheta() {
+            return barnesHutTheta;
+        }
+
+        public void setBarnesHutTheta(Float barnesHutTheta) {
+            this.barnesHutTheta = barnesHutTheta;
+        }
+
+        public Integer getBarnesHutThreshold() {
+            return barnesHutThreshold;
+        }
+
+        public void setBarnesHutThreshold(Integer barnesHutThreshold) {
+            this.barnesHutThreshold = barnesHutThreshold;
+        }
     }
 
     /**
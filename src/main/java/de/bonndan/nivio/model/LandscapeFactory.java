@@ -77,7 +77,8 @@ public class LandscapeFactory {
                 .withOwner(existing.getOwner())
                 .withSource(existing.getSource())
                 .withGroups(existing.getGroups())
-                .withItems(existing.getItems().all());
+                .withItems(existing.getItems().all())
+                .withSearchIndex(existing.getSearchIndex());
 
         //overwrite some data which is not handled by resolvers
         builder.withContact(input.getContact());
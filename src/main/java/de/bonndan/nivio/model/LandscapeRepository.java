@@ -1,7 +1,13 @@
 package de.bonndan.nivio.model;
 
+import de.bonndan.nivio.search.SearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -9,17 +15,41 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 public class LandscapeRepository {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(LandscapeRepository.class);
+
     private final Map<String, Landscape> landscapes = new ConcurrentHashMap<>();
 
     public Optional<Landscape> findDistinctByIdentifier(String identifier) {
         return Optional.ofNullable(landscapes.get(identifier));
     }
 
+    /**
+     * Saves the landscape. If it replaces a landscape which does not share its search index, that index is closed.
+     */
     public void save(Landscape landscape) {
-        landscapes.put(landscape.getIdentifier(), landscape);
+        Landscape previous = landscapes.put(landscape.getIdentifier(), landscape);
+        if (previous != null && previous.getSearchIndex() != landscape.getSearchIndex()) {
+            close(previous.getSearchIndex());
+        }
     }
 
     public Iterable<Landscape> findAll() {
         return landscapes.values();
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        landscapes.values().forEach(landscape -> close(landscape.getSearchIndex()));
+    }
+
+    private static void close(@Nullable SearchIndex searchIndex) {
+        if (searchIndex == null) {
+            return;
+        }
+        try {
+            searchIndex.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close search index: {}", e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,12 @@ package de.bonndan.nivio.model;
 
 import com.fasterxml.jackson.annotation.*;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.lang.NonNull;
 import org.springframework.util.StringUtils;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -70,6 +72,27 @@ public class Link {
         this.rel = rel;
     }
 
+    /**
+     * Creates a copy. New fields must be added here.
+     *
+     * @param source the link to copy
+     */
+    public Link(@NonNull Link source) {
+        this.href = source.href;
+        this.rel = source.rel;
+        this.hreflang = source.hreflang;
+        this.media = source.media;
+        this.title = source.title;
+        this.type = source.type;
+        this.deprecation = source.deprecation;
+        this.name = source.name;
+        this.basicAuthUsername = source.basicAuthUsername;
+        this.basicAuthPassword = source.basicAuthPassword;
+        this.headerTokenName = source.headerTokenName;
+        this.headerTokenValue = source.headerTokenValue;
+        this.props.putAll(source.props);
+    }
+
     public String getRel() {
         return rel;
     }
@@ -161,6 +184,12 @@ public class Link {
         props.put(key, value);
     }
 
+    @JsonIgnore
+    @Schema(hidden = true)
+    public Map<String, Object> getProperties() {
+        return Collections.unmodifiableMap(props);
+    }
+
     @Override
     public String toString() {
         return "Link{" + "href=" + href + '}';
@@ -0,0 +1,244 @@
+package de.bonndan.nivio.observation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches local files for modifications.
+ * <p>
+ * All files are watched by a single {@link WatchService} and a single thread, files in the same directory share one
+ * registration.
+ * <p>
+ * If a watched directory is deleted, its registration becomes invalid. The directory is then registered again as soon as
+ * it exists again, and listeners of re-created files are notified.
+ */
+@Component
+public class FileWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWatcher.class);
+
+    /**
+     * interval in milliseconds to look for deleted directories to exist again
+     */
+    static final long RETRY_INTERVAL = 1_000;
+
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Map<Path, List<Runnable>> listeners = new HashMap<>();
+    private final Set<Path> lostDirectories = new HashSet<>();
+    private final long retryInterval;
+
+    private WatchService watchService;
+
+    public FileWatcher() {
+        this(RETRY_INTERVAL);
+    }
+
+    /**
+     * @param retryInterval milliseconds to wait before trying to register deleted directories again
+     */
+    FileWatcher(long retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Notifies the listener when the file has been modified or re-created.
+     *
+     * @param file     the file to watch
+     * @param listener called in the watcher thread, must not block
+     * @return the registration, to be cancelled when the file is not of interest anymore
+     * @throws IOException if the directory cannot be watched (and has not been watched before)
+     */
+    public synchronized Registration watch(@NonNull final Path file, @NonNull final Runnable listener) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+
+        if (!keys.containsKey(directory) && !lostDirectories.contains(directory)) {
+            register(directory);
+            LOGGER.info("Watching path {} for changes.", directory);
+        }
+        listeners.computeIfAbsent(absolute, path -> new CopyOnWriteArrayList<>()).add(listener);
+
+        return () -> unwatch(absolute, listener);
+    }
+
+    private synchronized void unwatch(Path file, Runnable listener) {
+        List<Runnable> fileListeners = listeners.get(file);
+        if (fileListeners == null || !fileListeners.remove(listener)) {
+            return;
+        }
+        if (fileListeners.isEmpty()) {
+            listeners.remove(file);
+        }
+
+        Path directory = file.getParent();
+        boolean inUse = listeners.keySet().stream().anyMatch(path -> path.getParent().equals(directory));
+        if (!inUse) {
+            lostDirectories.remove(directory);
+            WatchKey key = keys.remove(directory);
+            if (key != null) {
+                directories.remove(key);
+                key.cancel();
+                LOGGER.debug("Stopped watching path {}", directory);
+            }
+        }
+    }
+
+    /**
+     * @return the number of watched directories
+     */
+    synchronized int getWatchedDirectories() {
+        return keys.size();
+    }
+
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(getWatchService(), ENTRY_MODIFY, ENTRY_CREATE);
+        keys.put(directory, key);
+        directories.put(key, directory);
+    }
+
+    /**
+     * Removes the registration of a directory which cannot be watched anymore, e.g. because it has been deleted.
+     */
+    private synchronized void lose(WatchKey key) {
+        Path directory = directories.remove(key);
+        if (directory == null) {
+            return;
+        }
+        keys.remove(directory);
+        lostDirectories.add(directory);
+        LOGGER.warn("Watched path {} has become inaccessible, waiting for it to exist again.", directory);
+    }
+
+    /**
+     * Registers lost directories which exist again.
+     *
+     * @return the listeners of files which exist in the registered directories
+     */
+    private synchronized List<Runnable> registerLostDirectories() {
+        List<Runnable> notify = new ArrayList<>();
+        Iterator<Path> iterator = lostDirectories.iterator();
+        while (iterator.hasNext()) {
+            Path directory = iterator.next();
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try {
+                register(directory);
+            } catch (IOException | ClosedWatchServiceException e) {
+                LOGGER.debug("Failed to watch path {} again: {}", directory, e.getMessage());
+                continue;
+            }
+            iterator.remove();
+            LOGGER.info("Watching path {} for changes again.", directory);
+            listeners.forEach((file, fileListeners) -> {
+                if (file.getParent().equals(directory) && Files.exists(file)) {
+                    notify.addAll(fileListeners);
+                }
+            });
+        }
+        return notify;
+    }
+
+    private synchronized boolean hasLostDirectories() {
+        return !lostDirectories.isEmpty();
+    }
+
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            Thread thread = new Thread(this::run, "nivio-file-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return watchService;
+    }
+
+    private void run() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+
+        while (true) {
+            WatchKey key;
+            try {
+                key = hasLostDirectories() ? service.poll(retryInterval, TimeUnit.MILLISECONDS) : service.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            List<Runnable> notify = new ArrayList<>();
+            if (key != null) {
+                synchronized (this) {
+                    Path directory = directories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (directory == null || event.kind() == OVERFLOW) {
+                            continue;
+                        }
+                        Path changed = directory.resolve((Path) event.context());
+                        notify.addAll(listeners.getOrDefault(changed, List.of()));
+                    }
+                }
+                if (!key.reset()) {
+                    lose(key);
+                }
+            }
+            if (hasLostDirectories()) {
+                notify.addAll(registerLostDirectories());
+            }
+
+            for (Runnable listener : notify) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Failed to handle file change: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to stop watch service", e);
+        }
+        watchService = null;
+        keys.clear();
+        directories.clear();
+        lostDirectories.clear();
+        listeners.clear();
+    }
+
+    /**
+     * A watched file.
+     */
+    public interface Registration {
+
+        /**
+         * Stops notifying the listener.
+         */
+        void cancel();
+    }
+}
@@ -9,4 +9,26 @@ package de.bonndan.nivio.observation;
  */
 public interface InputFormatObserver extends Runnable {
 
+    /**
+     * Checks the source once, emitting an event on change.
+     *
+     * @return whether a change was found, the polling interval is increased while there are none
+     */
+    default boolean poll() {
+        run();
+        return true;
+    }
+
+    /**
+     * Event-driven observers are started once by calling {@link #run()} and are not polled.
+     */
+    default boolean isEventDriven() {
+        return false;
+    }
+
+    /**
+     * Stops the observation, called when the observer is replaced.
+     */
+    default void stop() {
+    }
 }
@@ -36,14 +36,17 @@ public class LandscapeObserverFactory {
     private final InputFormatHandlerFactory inputFormatHandlerFactory;
     private final FileFetcher fileFetcher;
     private final ApplicationEventPublisher eventPublisher;
+    private final FileWatcher fileWatcher;
 
     public LandscapeObserverFactory(@NonNull final InputFormatHandlerFactory inputFormatHandlerFactory,
                                     @NonNull final FileFetcher fileFetcher,
-                                    @NonNull final ApplicationEventPublisher eventPublisher
+                                    @NonNull final ApplicationEventPublisher eventPublisher,
+                                    @NonNull final FileWatcher fileWatcher
     ) {
         this.inputFormatHandlerFactory = inputFormatHandlerFactory;
         this.fileFetcher = fileFetcher;
         this.eventPublisher = eventPublisher;
+        this.fileWatcher = fileWatcher;
     }
 
     /**
@@ -71,6 +74,12 @@ public class LandscapeObserverFactory {
 
         for (SourceReference sourceReference : description.getSourceReferences()) {
             InputFormatHandler inputFormatHandler = inputFormatHandlerFactory.getInputFormatHandler(sourceReference);
+            InputFormatObserver sourceObserver = inputFormatHandler.getSourceObserver(landscape, sourceReference);
+            if (sourceObserver != null) {
+                observers.add(sourceObserver);
+                continue;
+            }
+
             InputFormatObserver observer;
             try {
                 observer = getObserver(landscape, new URL(URLHelper.combine(baseUrl.orElse(null), sourceReference.getUrl())));
@@ -91,7 +100,7 @@ public class LandscapeObserverFactory {
     private InputFormatObserver getObserver(Landscape landscape, URL url) {
         if (URLHelper.isLocal(url)) {
             try {
-                return new LocalFileObserver(landscape, eventPublisher, new File(url.toURI()));
+                return new LocalFileObserver(landscape, eventPublisher, fileWatcher, new File(url.toURI()));
             } catch (URISyntaxException e) {
                 LOGGER.error("Could not create a local file observer for {}", url);
             }
@@ -6,21 +6,30 @@ import org.springframework.core.task.TaskRejectedException;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
-import java.util.IdentityHashMap;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
 
 /**
- * A wrapper around observers to reduce the async results to a single boolean.
+ * Runs the observers of a landscape.
+ *
+ * Event-driven observers are started once, all others are polled. The polling interval of an observer is doubled
+ * each time it finds no change (up to {@link #MAX_BACKOFF_FACTOR} times the configured delay) and reset on change.
  */
 public class LandscapeObserverPool {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LandscapeObserverPool.class);
 
+    /**
+     * max factor the polling delay of unchanged sources is increased
+     */
+    static final int MAX_BACKOFF_FACTOR = 8;
+
     private final ThreadPoolTaskScheduler taskScheduler;
-    private final Map<InputFormatObserver, ScheduledFuture<?>> scheduledTasks = new IdentityHashMap<>();
+    private final List<InputFormatObserver> observers = new ArrayList<>();
+    private final List<PollingTask> pollingTasks = new ArrayList<>();
     private final long delay;
 
     public LandscapeObserverPool(@NonNull final ThreadPoolTaskScheduler taskScheduler, long delay) {
@@ -35,21 +44,70 @@ public class LandscapeObserverPool {
      *
      * @param observers new observers
      */
-    public void updateObservers(List<InputFormatObserver> observers) {
+    public synchronized void updateObservers(List<InputFormatObserver> observers) {
 
         LOGGER.info("Received {} observers", observers.size());
-        for (Map.Entry<InputFormatObserver, ScheduledFuture<?>> futureEntry : scheduledTasks.entrySet()) {
-            futureEntry.getValue().cancel(true);
-        }
-        scheduledTasks.clear();
+        pollingTasks.forEach(PollingTask::cancel);
+        pollingTasks.clear();
+        this.observers.forEach(InputFormatObserver::stop);
+        this.observers.clear();
 
         observers.forEach(inputFormatObserver -> {
+            this.observers.add(inputFormatObserver);
+            if (inputFormatObserver.isEventDriven()) {
+                inputFormatObserver.run();
+                return;
+            }
+            PollingTask task = new PollingTask(inputFormatObserver);
+            pollingTasks.add(task);
+            task.schedule(delay);
+        });
+    }
+
+    /**
+     * Polls an observer and reschedules itself with a delay depending on the result.
+     */
+    private class PollingTask implements Runnable {
+
+        private final InputFormatObserver observer;
+        private ScheduledFuture<?> future;
+        private long currentDelay;
+        private boolean cancelled;
+
+        PollingTask(InputFormatObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void run() {
+            boolean changed;
+            try {
+                changed = observer.poll();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Observer failed: {}", e.getMessage());
+                changed = false;
+            }
+
+            schedule(changed ? delay : Math.min(currentDelay * 2, delay * MAX_BACKOFF_FACTOR));
+        }
+
+        synchronized void schedule(long nextDelay) {
+            if (cancelled) {
+                return;
+            }
+            currentDelay = nextDelay;
             try {
-                ScheduledFuture<?> scheduledFuture = taskScheduler.scheduleWithFixedDelay(inputFormatObserver, delay);
-                scheduledTasks.put(inputFormatObserver, scheduledFuture);
+                future = taskScheduler.schedule(this, Instant.now().plusMillis(nextDelay));
             } catch (TaskRejectedException e) {
                 LOGGER.error("Failed to schedule observer: " + e.getMessage(), e);
             }
-        });
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
     }
 }
@@ -8,20 +8,21 @@ import org.springframework.lang.NonNull;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.*;
 import java.util.Objects;
 
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
-
 /**
  * Observer for local files.
+ *
+ * The file is watched by the shared {@link FileWatcher}, so the observer does not occupy a thread.
  */
 public class LocalFileObserver extends BaseObserver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileObserver.class);
 
+    private final FileWatcher fileWatcher;
     private final File file;
     private long lastModified = 0;
+    private FileWatcher.Registration registration;
 
     /**
      * grace period (2s) to ignore multiple (duplicate) events
@@ -30,6 +31,7 @@ public class LocalFileObserver extends BaseObserver {
 
     public LocalFileObserver(@NonNull final Landscape landscape,
                              @NonNull final ApplicationEventPublisher eventPublisher,
+                             @NonNull final FileWatcher fileWatcher,
                              @NonNull final File file
     ) {
         super(landscape, eventPublisher);
@@ -39,55 +41,47 @@ public class LocalFileObserver extends BaseObserver {
         if (!file.exists()) {
             throw new IllegalArgumentException(String.format("Given file must be local and exist: %s.", file));
         }
+        this.fileWatcher = Objects.requireNonNull(fileWatcher);
         this.file = Objects.requireNonNull(file);
     }
 
+    /**
+     * Starts watching the file.
+     */
     @Override
-    public void run() {
-        WatchService watchService;
-        try {
-            watchService = FileSystems.getDefault().newWatchService();
-        } catch (IOException e) {
-            LOGGER.error("Failed to start watch service", e);
+    public synchronized void run() {
+        if (registration != null) {
             return;
         }
 
-        Path path = file.getParentFile().toPath();
-        LOGGER.info(String.format("Watching path %s for changes.", path));
-
         try {
-            path.register(watchService, ENTRY_MODIFY);
-            boolean poll = true;
-            while (poll) {
-                WatchKey key = watchService.take();
-                for (WatchEvent<?> event : key.pollEvents()) {
-                    final Path changed = (Path) event.context();
-                    long lastModified = path.toFile().lastModified();
-                    boolean isWatchedFile = changed.endsWith(file.getName());
-                    boolean triggersEvent = (path.toFile().length() > 0) && (lastModified - this.lastModified) > gracePeriod;
-                    if (isWatchedFile && triggersEvent) {
-                        this.lastModified = lastModified;
-                        triggerChange();
-                    } else {
-                        LOGGER.debug("Ignoring event");
-                    }
-                }
-                poll = key.reset();
-            }
+            registration = fileWatcher.watch(file.toPath(), this::onChange);
         } catch (IOException e) {
-            LOGGER.error("Failed to poll using watch service", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOGGER.debug("Interrupted");
-        } finally {
-            try {
-                if (watchService != null) {
-                    LOGGER.debug("Closing watchservice for {}", path);
-                    watchService.close();
-                }
-            } catch (IOException e) {
-                LOGGER.error("Failed to stop watch service", e);
-            }
+            LOGGER.error("Failed to watch file {}", file, e);
+        }
+    }
+
+    @Override
+    public boolean isEventDriven() {
+        return true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (registration != null) {
+            registration.cancel();
+            registration = null;
+        }
+    }
+
+    private void onChange() {
+        long lastModified = file.lastModified();
+        boolean triggersEvent = file.length() > 0 && (lastModified - this.lastModified) > gracePeriod;
+        if (triggersEvent) {
+            this.lastModified = lastModified;
+            triggerChange();
+        } else {
+            LOGGER.debug("Ignoring event");
         }
     }
 
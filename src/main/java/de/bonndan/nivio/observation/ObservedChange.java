@@ -50,4 +50,19 @@ public class ObservedChange {
         return changes;
     }
 
+    /**
+     * Adds the changes and errors of a later observation of the same landscape.
+     *
+     * @param other change to coalesce into this one
+     */
+    public void merge(ObservedChange other) {
+        List<String> merged = new ArrayList<>(changes);
+        other.getChanges().stream().filter(change -> !merged.contains(change)).forEach(merged::add);
+        this.changes = merged;
+        this.errors.addAll(other.getErrors());
+        if (other.hasError()) {
+            this.error = true;
+        }
+    }
+
 }
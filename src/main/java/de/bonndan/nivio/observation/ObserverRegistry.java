@@ -1,17 +1,21 @@
 package de.bonndan.nivio.observation;
 
+import de.bonndan.nivio.config.NivioConfigProperties;
 import de.bonndan.nivio.input.IndexingDispatcher;
 import de.bonndan.nivio.input.ProcessingFinishedEvent;
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.model.Landscape;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -22,20 +26,36 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ObserverRegistry {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObserverRegistry.class);
+    private static final int DEFAULT_POLLING_MILLISECONDS = 30 * 1000;
 
     private final Map<String, LandscapeObserverPool> observerMap = new ConcurrentHashMap<>();
 
+    /**
+     * changes waiting for the end of the debounce window, by landscape identifier
+     */
+    private final Map<String, ObservedChange> pendingChanges = new ConcurrentHashMap<>();
+
     private final LandscapeObserverFactory landscapeObserverPoolFactory;
     private final ThreadPoolTaskScheduler taskScheduler;
     private final IndexingDispatcher indexingDispatcher;
+    private final long debounceMilliseconds;
+    private final long pollingMilliseconds;
 
+    /**
+     * @param debounceMilliseconds changes of a landscape observed within this window after the first one are
+     *                             coalesced into a single reindex, 0 to disable
+     */
     public ObserverRegistry(LandscapeObserverFactory landscapeObserverPoolFactory,
                             ThreadPoolTaskScheduler taskScheduler,
-                            IndexingDispatcher indexingDispatcher
+                            IndexingDispatcher indexingDispatcher,
+                            NivioConfigProperties nivioConfigProperties,
+                            @Value("${nivio.debounceMilliseconds:2000}") long debounceMilliseconds
     ) {
         this.landscapeObserverPoolFactory = landscapeObserverPoolFactory;
         this.taskScheduler = taskScheduler;
         this.indexingDispatcher = indexingDispatcher;
+        this.debounceMilliseconds = debounceMilliseconds;
+        this.pollingMilliseconds = Optional.ofNullable(nivioConfigProperties.getPollingMilliseconds()).orElse(DEFAULT_POLLING_MILLISECONDS);
     }
 
     /**
@@ -57,18 +77,57 @@ public class ObserverRegistry {
 
         LandscapeObserverPool pool = observerMap.computeIfAbsent(landscape.getIdentifier(), s -> {
             LOGGER.info("Registered landscape {} for observation.", landscapeDescription);
-            return new LandscapeObserverPool(taskScheduler, 30 * 1000);
+            return new LandscapeObserverPool(taskScheduler, pollingMilliseconds);
         });
         pool.updateObservers(landscapeObserverPoolFactory.getObserversFor(landscape, landscapeDescription));
     }
 
+    /**
+     * Schedules the reindexing of a changed landscape.
+     *
+     * Changes arriving while a reindex is pending are merged into the pending change, so that a burst of changes
+     * results in a single {@link de.bonndan.nivio.input.IndexEvent}.
+     */
     @EventListener(InputChangedEvent.class)
     public void onInputChangedEvent(InputChangedEvent event) {
         ObservedChange observedChange = event.getSource();
         Landscape landscape = observedChange.getLandscape();
         LOGGER.info("Observed change in landscape {}: {}", landscape.getIdentifier(), String.join("; ", observedChange.getChanges()));
-        indexingDispatcher.fromIncoming(landscape);
-        LOGGER.info("Triggered new IndexingEvent for landscape {}", landscape.getIdentifier());
+
+        if (debounceMilliseconds <= 0) {
+            triggerIndexing(observedChange);
+            return;
+        }
+
+        boolean[] scheduled = {false};
+        pendingChanges.compute(landscape.getIdentifier(), (identifier, pending) -> {
+            if (pending != null) {
+                pending.merge(observedChange);
+                return pending;
+            }
+            scheduled[0] = true;
+            return observedChange;
+        });
+
+        if (!scheduled[0]) {
+            LOGGER.info("Reindexing of landscape {} is already pending, coalesced change.", landscape.getIdentifier());
+            return;
+        }
+
+        taskScheduler.schedule(
+                () -> triggerIndexing(pendingChanges.remove(landscape.getIdentifier())),
+                Instant.now().plusMillis(debounceMilliseconds)
+        );
+    }
+
+    private void triggerIndexing(ObservedChange observedChange) {
+        Landscape landscape = observedChange.getLandscape();
+        try {
+            indexingDispatcher.fromIncoming(landscape);
+            LOGGER.info("Triggered new IndexingEvent for landscape {} after changes: {}", landscape.getIdentifier(), String.join("; ", observedChange.getChanges()));
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to trigger indexing of landscape {}: {}", landscape.getIdentifier(), e.getMessage(), e);
+        }
     }
 
     /**
@@ -2,19 +2,24 @@ package de.bonndan.nivio.observation;
 
 import de.bonndan.nivio.input.ProcessingException;
 import de.bonndan.nivio.input.FileFetcher;
+import de.bonndan.nivio.input.http.ValidatedContent;
+import de.bonndan.nivio.input.http.Validator;
 import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.util.URLHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import java.net.URL;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Observer for URLs (downloadable files).
+ *
+ * Relies on conditional requests, so that the content is not kept here and unchanged content is not transferred. The
+ * validator of the last request is kept by the observer, so that requests of other consumers do not hide changes.
  */
 public class RemoteURLObserver extends BaseObserver  {
 
@@ -22,7 +27,9 @@ public class RemoteURLObserver extends BaseObserver  {
 
     private final FileFetcher fileFetcher;
     private final URL url;
-    private String content;
+
+    @Nullable
+    private Validator validator;
 
     public RemoteURLObserver(@NonNull final Landscape landscape,
                              @NonNull final ApplicationEventPublisher eventPublisher,
@@ -35,30 +42,33 @@ public class RemoteURLObserver extends BaseObserver  {
         }
         this.fileFetcher = Objects.requireNonNull(fileFetcher);
         this.url = Objects.requireNonNull(url);
-        this.content = getContent();
+        isModified(); //primes the validators
     }
 
     @Override
     public void run() {
+        poll();
+    }
+
+    @Override
+    public boolean poll() {
         LOGGER.debug("Looking for change in url {}", url);
 
-        String downloaded = getContent();
-        if (downloaded.equals(content)) {
+        if (!isModified()) {
             LOGGER.debug("Found no change in url {}", url);
-            return;
+            return false;
         }
-        content = downloaded;
         LOGGER.debug("Found change in url {}", url);
         eventPublisher.publishEvent(new InputChangedEvent(new ObservedChange(landscape, url.toString())));
+        return true;
     }
 
-    private String getContent() {
+    private boolean isModified() {
         try {
-            String downloaded = fileFetcher.get(url);
-            if (downloaded != null) {
-                LOGGER.debug("Downloaded {} bytes from {}", downloaded.length(), url);
-            }
-            return downloaded;
+            ValidatedContent downloaded = fileFetcher.getIfModified(url, validator);
+            validator = downloaded.getValidator();
+            downloaded.getContent().ifPresent(s -> LOGGER.debug("Downloaded {} bytes from {}", s.length(), url));
+            return downloaded.isModified();
         } catch (Exception e) {
             throw new ProcessingException("Failed to fetch " + url, e);
         }
@@ -3,6 +3,7 @@ package de.bonndan.nivio.output.layout;
 import de.bonndan.nivio.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
@@ -21,6 +22,13 @@ public class AllGroupsLayout {
     private final Landscape landscape;
 
     public AllGroupsLayout(Landscape landscape, Map<String, Group> groups, Map<String, SubLayout> subgraphs) {
+        this(landscape, groups, subgraphs, null);
+    }
+
+    /**
+     * @param previous the result of a previous layout of the groups, reused if nothing has changed
+     */
+    public AllGroupsLayout(Landscape landscape, Map<String, Group> groups, Map<String, SubLayout> subgraphs, @Nullable LayoutSnapshot previous) {
         this.landscape = landscape;
 
         LOGGER.debug("Subgraphs sequence: {}", subgraphs);
@@ -54,10 +62,17 @@ public class AllGroupsLayout {
 
         layout.configure(landscape.getConfig().getGroupLayoutConfig());
 
-        layout.execute();
+        layout.execute(previous);
         LOGGER.debug("AllGroupsLayout bounds: {}", layout.getBounds());
     }
 
+    /**
+     * @return the result of the layout, before any positions are shifted
+     */
+    LayoutSnapshot getSnapshot() {
+        return layout.getSnapshot();
+    }
+
 
     /**
      * Virtual edges between group containers enable organic layout of groups.
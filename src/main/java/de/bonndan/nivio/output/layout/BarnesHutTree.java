@@ -0,0 +1,267 @@
+package de.bonndan.nivio.output.layout;
+
+import java.util.Arrays;
+
+/**
+ * Quadtree to approximate the repulsive forces of the {@link FastOrganicLayout} (Barnes-Hut).
+ * <p>
+ * Vertices in a distant cell are treated as one vertex at the cell's center of mass, which reduces the repulsion
+ * calculation from O(n²) to O(n log n) per iteration. The tree is rebuilt every iteration, its arrays are reused.
+ */
+class BarnesHutTree {
+
+    /**
+     * Cells are not split further below this depth (e.g. for vertices sharing the same position).
+     */
+    private static final int MAX_DEPTH = 24;
+
+    private final double theta;
+    private final double forceConstantSquared;
+    private final double minDistanceLimit;
+    private final double maxDistanceLimit;
+
+    private double[][] centerLocations;
+    private double[] radius;
+
+    // cells, stored as arrays indexed by cell number
+    private int cellCount;
+    private double[] cellX;
+    private double[] cellY;
+    private double[] cellSize;
+    private double[] massX;
+    private double[] massY;
+    private double[] radiusSum;
+    private double[] maxRadius;
+    private int[] count;
+    private int[] depth;
+    private int[] firstChild;
+    private int[] firstVertex;
+
+    // linked lists of vertices in leaf cells
+    private int[] nextVertex;
+
+    /**
+     * @param theta                accuracy, the ratio of cell size and distance below which a cell is approximated
+     * @param forceConstantSquared see {@link FastOrganicLayout}
+     * @param minDistanceLimit     see {@link FastOrganicLayout}
+     * @param maxDistanceLimit     see {@link FastOrganicLayout}
+     */
+    BarnesHutTree(double theta, double forceConstantSquared, double minDistanceLimit, double maxDistanceLimit) {
+        this.theta = theta;
+        this.forceConstantSquared = forceConstantSquared;
+        this.minDistanceLimit = minDistanceLimit;
+        this.maxDistanceLimit = maxDistanceLimit;
+        allocate(64);
+    }
+
+    /**
+     * Builds the tree for the current vertex positions.
+     *
+     * @param centerLocations vertex center positions
+     * @param radius          vertex radius
+     */
+    void build(double[][] centerLocations, double[] radius) {
+        this.centerLocations = centerLocations;
+        this.radius = radius;
+        int n = centerLocations.length;
+
+        if (nextVertex == null || nextVertex.length < n) {
+            nextVertex = new int[n];
+        }
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (double[] center : centerLocations) {
+            minX = Math.min(minX, center[0]);
+            minY = Math.min(minY, center[1]);
+            maxX = Math.max(maxX, center[0]);
+            maxY = Math.max(maxY, center[1]);
+        }
+
+        cellCount = 0;
+        int root = newCell(minX, minY, Math.max(1, Math.max(maxX - minX, maxY - minY)), 0);
+        for (int i = 0; i < n; i++) {
+            insert(root, i);
+        }
+    }
+
+    /**
+     * Adds the approximated repulsion of all other vertices to the displacement of the given vertex.
+     *
+     * @param i    vertex index
+     * @param disp displacement x and y
+     */
+    void addRepulsion(int i, double[] disp) {
+        addRepulsion(0, i, disp);
+    }
+
+    private void addRepulsion(int cell, int i, double[] disp) {
+        if (count[cell] == 0) {
+            return;
+        }
+
+        double x = centerLocations[i][0];
+        double y = centerLocations[i][1];
+
+        // the whole cell is out of reach
+        double dx = Math.max(Math.max(cellX[cell] - x, x - (cellX[cell] + cellSize[cell])), 0);
+        double dy = Math.max(Math.max(cellY[cell] - y, y - (cellY[cell] + cellSize[cell])), 0);
+        if (Math.sqrt(dx * dx + dy * dy) - radius[i] - maxRadius[cell] > maxDistanceLimit) {
+            return;
+        }
+
+        if (firstChild[cell] < 0) {
+            for (int j = firstVertex[cell]; j >= 0; j = nextVertex[j]) {
+                if (j != i) {
+                    // same direction as the exact repulsion for vertices at the same position: the lower index is
+                    // pushed in positive direction, the other one in negative direction, so they separate
+                    double tieBreak = i < j ? 0.01 : -0.01;
+                    repulse(x, y, radius[i], centerLocations[j][0], centerLocations[j][1], radius[j], 1, tieBreak, disp);
+                }
+            }
+            return;
+        }
+
+        double centerX = massX[cell] / count[cell];
+        double centerY = massY[cell] / count[cell];
+        double distance = Math.sqrt((x - centerX) * (x - centerX) + (y - centerY) * (y - centerY));
+        boolean containsVertex = dx == 0 && dy == 0;
+        if (!containsVertex && cellSize[cell] < theta * distance) {
+            repulse(x, y, radius[i], centerX, centerY, radiusSum[cell] / count[cell], count[cell], 0.01, disp);
+            return;
+        }
+
+        for (int c = 0; c < 4; c++) {
+            addRepulsion(firstChild[cell] + c, i, disp);
+        }
+    }
+
+    /**
+     * Same force as in {@link FastOrganicLayout#calcRepulsion()}, multiplied by the number of represented vertices.
+     *
+     * @param tieBreak delta used if both positions are equal on an axis
+     */
+    private void repulse(double x, double y, double r, double otherX, double otherY, double otherR, int mass, double tieBreak, double[] disp) {
+        double xDelta = x - otherX;
+        double yDelta = y - otherY;
+
+        if (xDelta == 0) {
+            xDelta = tieBreak;
+        }
+
+        if (yDelta == 0) {
+            yDelta = tieBreak;
+        }
+
+        double deltaLength = Math.sqrt((xDelta * xDelta) + (yDelta * yDelta));
+        double deltaLengthWithRadius = deltaLength - r - otherR;
+
+        if (deltaLengthWithRadius > maxDistanceLimit) {
+            return;
+        }
+
+        if (deltaLengthWithRadius < minDistanceLimit) {
+            deltaLengthWithRadius = minDistanceLimit;
+        }
+
+        double force = mass * forceConstantSquared / deltaLengthWithRadius;
+        disp[0] += (xDelta / deltaLength) * force;
+        disp[1] += (yDelta / deltaLength) * force;
+    }
+
+    private void insert(int cell, int i) {
+        double x = centerLocations[i][0];
+        double y = centerLocations[i][1];
+
+        while (true) {
+            count[cell]++;
+            massX[cell] += x;
+            massY[cell] += y;
+            radiusSum[cell] += radius[i];
+            maxRadius[cell] = Math.max(maxRadius[cell], radius[i]);
+
+            if (firstChild[cell] >= 0) {
+                cell = firstChild[cell] + quadrant(cell, x, y);
+                continue;
+            }
+
+            // empty leaf or leaf which cannot be split anymore
+            if (firstVertex[cell] < 0 || depth[cell] >= MAX_DEPTH) {
+                nextVertex[i] = firstVertex[cell];
+                firstVertex[cell] = i;
+                return;
+            }
+
+            split(cell);
+        }
+    }
+
+    /**
+     * Turns a leaf holding one vertex into an inner cell with four children.
+     */
+    private void split(int cell) {
+        double half = cellSize[cell] / 2;
+        int childDepth = depth[cell] + 1;
+        int first = newCell(cellX[cell], cellY[cell], half, childDepth);
+        newCell(cellX[cell] + half, cellY[cell], half, childDepth);
+        newCell(cellX[cell], cellY[cell] + half, half, childDepth);
+        newCell(cellX[cell] + half, cellY[cell] + half, half, childDepth);
+        firstChild[cell] = first;
+
+        int j = firstVertex[cell];
+        firstVertex[cell] = -1;
+        int child = first + quadrant(cell, centerLocations[j][0], centerLocations[j][1]);
+        count[child] = 1;
+        massX[child] = centerLocations[j][0];
+        massY[child] = centerLocations[j][1];
+        radiusSum[child] = radius[j];
+        maxRadius[child] = radius[j];
+        nextVertex[j] = -1;
+        firstVertex[child] = j;
+    }
+
+    private int quadrant(int cell, double x, double y) {
+        double half = cellSize[cell] / 2;
+        int q = 0;
+        if (x >= cellX[cell] + half) {
+            q += 1;
+        }
+        if (y >= cellY[cell] + half) {
+            q += 2;
+        }
+        return q;
+    }
+
+    private int newCell(double x, double y, double size, int cellDepth) {
+        if (cellCount == count.length) {
+            allocate(count.length * 2);
+        }
+        int cell = cellCount++;
+        cellX[cell] = x;
+        cellY[cell] = y;
+        cellSize[cell] = size;
+        massX[cell] = 0;
+        massY[cell] = 0;
+        radiusSum[cell] = 0;
+        maxRadius[cell] = 0;
+        count[cell] = 0;
+        depth[cell] = cellDepth;
+        firstChild[cell] = -1;
+        firstVertex[cell] = -1;
+        return cell;
+    }
+
+    private void allocate(int capacity) {
+        cellX = cellX == null ? new double[capacity] : Arrays.copyOf(cellX, capacity);
+        cellY = cellY == null ? new double[capacity] : Arrays.copyOf(cellY, capacity);
+        cellSize = cellSize == null ? new double[capacity] : Arrays.copyOf(cellSize, capacity);
+        massX = massX == null ? new double[capacity] : Arrays.copyOf(massX, capacity);
+        massY = massY == null ? new double[capacity] : Arrays.copyOf(massY, capacity);
+        radiusSum = radiusSum == null ? new double[capacity] : Arrays.copyOf(radiusSum, capacity);
+        maxRadius = maxRadius == null ? new double[capacity] : Arrays.copyOf(maxRadius, capacity);
+        count = count == null ? new int[capacity] : Arrays.copyOf(count, capacity);
+        depth = depth == null ? new int[capacity] : Arrays.copyOf(depth, capacity);
+        firstChild = firstChild == null ? new int[capacity] : Arrays.copyOf(firstChild, capacity);
+        firstVertex = firstVertex == null ? new int[capacity] : Arrays.copyOf(firstVertex, capacity);
+    }
+}
@@ -8,10 +8,13 @@ import org.springframework.lang.Nullable;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Fast organic layout algorithm.
@@ -22,6 +25,11 @@ public class FastOrganicLayout {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FastOrganicLayout.class);
 
+    /**
+     * Factor of the initial temperature if previous positions are used, so that known components move less.
+     */
+    static final double SEEDED_TEMPERATURE_FACTOR = 0.25;
+
     private final List<LayoutedComponent> bounds;
 
     /**
@@ -53,6 +61,17 @@ public class FastOrganicLayout {
      */
     protected double maxDistanceLimit = 300;
 
+    /**
+     * Accuracy of the approximated repulsion (Barnes-Hut). Cells of the quadtree whose size divided by the distance is
+     * below theta are treated as a single vertex. Lower is more accurate, 0 disables the approximation.
+     */
+    protected double barnesHutTheta = 0.5;
+
+    /**
+     * Minimum number of vertices to use the approximated repulsion, smaller graphs are calculated exactly.
+     */
+    protected int barnesHutThreshold = 100;
+
     /**
      * Start value of temperature. Default is 200.
      */
@@ -115,6 +134,15 @@ public class FastOrganicLayout {
     protected Hashtable<LayoutedComponent, Integer> indices = new Hashtable<>();
     private boolean debug;
 
+    /**
+     * Quadtree for the approximated repulsion, null if the exact repulsion is used.
+     */
+    @Nullable
+    private BarnesHutTree barnesHutTree;
+
+    @Nullable
+    private LayoutSnapshot snapshot;
+
     /**
      * Constructs a new fast organic layout.
      */
@@ -133,12 +161,48 @@ public class FastOrganicLayout {
     /**
      * Reduces the temperature of the layout from an initial setting in a linear
      * fashion to zero.
+     *
+     * @param startTemperature the temperature of the first iteration
+     * @param iterations       the number of iterations of this run
      */
-    protected void reduceTemperature() {
-        temperature = initialTemp * (1.0 - iteration / maxIterations);
+    protected void reduceTemperature(double startTemperature, double iterations) {
+        temperature = startTemperature * (1.0 - iteration / iterations);
     }
 
     public void execute() {
+        execute(null);
+    }
+
+    /**
+     * Runs the layout, reusing a previous result.
+     *
+     * If the previous layout had the same input, its positions are applied without running the layout. Otherwise
+     * components known from the previous layout start at their previous position.
+     *
+     * @param previous the snapshot of a previous layout
+     */
+    public void execute(@Nullable LayoutSnapshot previous) {
+
+        String signature = getSignature();
+        if (previous != null && previous.getSignature().equals(signature) && restore(previous)) {
+            LOGGER.debug("Reusing previous layout of {} components", bounds.size());
+            snapshot = previous;
+            return;
+        }
+
+        run(previous);
+        snapshot = new LayoutSnapshot(signature, getPositions());
+    }
+
+    /**
+     * @return the result of the last execution or null if not executed yet
+     */
+    @Nullable
+    public LayoutSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private void run(@Nullable LayoutSnapshot previous) {
 
         int n = bounds.size();
 
@@ -186,10 +250,18 @@ public class FastOrganicLayout {
         // algorithm, resetting the edge points is part of the transaction
 
         InitialPlacementStrategy initialPlacementStrategy = new InitialPlacementStrategy(this.bounds);
+        boolean seeded = false;
         for (int i = 0; i < n; i++) {
-            Point2D.Double start = initialPlacementStrategy.place(i);
-            dispX[i] = start.x;
-            dispY[i] = start.y;
+            Point2D.Double known = previous != null ? previous.getPosition(getKey(bounds.get(i))) : null;
+            if (known != null) {
+                centerLocations[i][0] = known.x;
+                centerLocations[i][1] = known.y;
+                seeded = true;
+            } else {
+                Point2D.Double start = initialPlacementStrategy.place(i);
+                dispX[i] = start.x;
+                dispY[i] = start.y;
+            }
 
             // Get lists of neighbours to all vertices, translate the cells
             // obtained in indices into vertexArray and store as an array
@@ -221,15 +293,20 @@ public class FastOrganicLayout {
             }
         }
 
-        temperature = initialTemp;
+        //the configured values are part of the signature, so they must not change
+        double startTemperature = seeded ? initialTemp * SEEDED_TEMPERATURE_FACTOR : initialTemp;
+        temperature = startTemperature;
 
-        // If max number of iterations has not been set, guess it
-        if (maxIterations == 0) {
-            maxIterations = 20.0 * Math.sqrt(n);
+        if (barnesHutTheta > 0 && n >= barnesHutThreshold) {
+            LOGGER.debug("Using approximated repulsion for {} vertices", n);
+            barnesHutTree = new BarnesHutTree(barnesHutTheta, forceConstantSquared, minDistanceLimit, maxDistanceLimit);
         }
 
+        // If max number of iterations has not been set, guess it
+        double iterations = maxIterations == 0 ? 20.0 * Math.sqrt(n) : maxIterations;
+
         // Main iteration loop
-        for (iteration = 0; iteration < maxIterations; iteration++) {
+        for (iteration = 0; iteration < iterations; iteration++) {
             if (!allowedToRun) {
                 return;
             }
@@ -241,7 +318,7 @@ public class FastOrganicLayout {
             calcAttraction();
 
             calcPositions();
-            reduceTemperature();
+            reduceTemperature(startTemperature, iterations);
         }
 
         for (int i = 0; i < bounds.size(); i++) {
@@ -251,6 +328,48 @@ public class FastOrganicLayout {
         }
     }
 
+    /**
+     * Applies the previous positions if all components are known.
+     */
+    private boolean restore(LayoutSnapshot previous) {
+        List<Point2D.Double> positions = new ArrayList<>(bounds.size());
+        for (LayoutedComponent vertex : bounds) {
+            Point2D.Double position = previous.getPosition(getKey(vertex));
+            if (position == null) {
+                return false;
+            }
+            positions.add(position);
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            bounds.get(i).setX(positions.get(i).x);
+            bounds.get(i).setY(positions.get(i).y);
+        }
+        return true;
+    }
+
+    private Map<String, Point2D.Double> getPositions() {
+        Map<String, Point2D.Double> positions = new HashMap<>();
+        bounds.forEach(vertex -> positions.put(getKey(vertex), new Point2D.Double(vertex.getX(), vertex.getY())));
+        return positions;
+    }
+
+    /**
+     * Describes the input of the layout: the components with their size and connections, and the parameters.
+     */
+    String getSignature() {
+        String vertices = bounds.stream()
+                .map(vertex -> getKey(vertex) + ":" + Math.round(vertex.getWidth()) + "x" + Math.round(vertex.getHeight()) + "->"
+                        + vertex.getOpposites().stream().map(c -> c.getFullyQualifiedIdentifier().toString()).sorted().collect(Collectors.joining(",")))
+                .sorted()
+                .collect(Collectors.joining(";"));
+        return String.format("%s|%s|%s|%s|%s|%s|%s|%s", forceConstant, minDistanceLimit, maxDistanceLimit, initialTemp,
+                maxIterations, barnesHutTheta, barnesHutThreshold, vertices);
+    }
+
+    private static String getKey(LayoutedComponent vertex) {
+        return vertex.getComponent().getFullyQualifiedIdentifier().toString();
+    }
+
     private LayoutedComponent getBoundsForComponents(Component component) {
         return bounds.stream().filter(bounds1 -> bounds1.getComponent().equals(component)).findFirst().orElse(null);
     }
@@ -332,6 +451,11 @@ public class FastOrganicLayout {
      * Calculates the repulsive forces between all laid out nodes
      */
     protected void calcRepulsion() {
+        if (barnesHutTree != null) {
+            calcApproximatedRepulsion();
+            return;
+        }
+
         int vertexCount = bounds.size();
 
         for (int i = 0; i < vertexCount; i++) {
@@ -386,6 +510,26 @@ public class FastOrganicLayout {
         }
     }
 
+    /**
+     * Calculates the repulsive forces using a quadtree (Barnes-Hut), far away groups of nodes act as one node.
+     */
+    protected void calcApproximatedRepulsion() {
+        barnesHutTree.build(centerLocations, radius);
+
+        double[] disp = new double[2];
+        for (int i = 0; i < bounds.size(); i++) {
+            if (!allowedToRun) {
+                return;
+            }
+
+            disp[0] = 0;
+            disp[1] = 0;
+            barnesHutTree.addRepulsion(i, disp);
+            dispX[i] += disp[0];
+            dispY[i] += disp[1];
+        }
+    }
+
     public List<LayoutedComponent> getBounds() {
         return bounds;
     }
@@ -424,6 +568,14 @@ public class FastOrganicLayout {
         this.initialTemp = initialTemp;
     }
 
+    public void setBarnesHutTheta(double barnesHutTheta) {
+        this.barnesHutTheta = barnesHutTheta;
+    }
+
+    public void setBarnesHutThreshold(int barnesHutThreshold) {
+        this.barnesHutThreshold = barnesHutThreshold;
+    }
+
     /**
      * Applies factors from the layout config if present.
      *
@@ -445,5 +597,11 @@ public class FastOrganicLayout {
 
         Optional.ofNullable(config.getForceConstantFactor())
                 .ifPresent(f -> setForceConstant(forceConstant * f));
+
+        Optional.ofNullable(config.getBarnesHutTheta())
+                .ifPresent(this::setBarnesHutTheta);
+
+        Optional.ofNullable(config.getBarnesHutThreshold())
+                .ifPresent(this::setBarnesHutThreshold);
     }
 }
@@ -0,0 +1,34 @@
+package de.bonndan.nivio.output.layout;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.awt.geom.Point2D;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The result of a {@link FastOrganicLayout}: the center positions of the components by fully qualified identifier.
+ *
+ * The signature describes the layout input (components, connections, sizes and parameters). A layout with the same
+ * signature would have the same result.
+ */
+class LayoutSnapshot {
+
+    private final String signature;
+    private final Map<String, Point2D.Double> positions;
+
+    LayoutSnapshot(@NonNull final String signature, @NonNull final Map<String, Point2D.Double> positions) {
+        this.signature = Objects.requireNonNull(signature);
+        this.positions = Map.copyOf(positions);
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    @Nullable
+    Point2D.Double getPosition(String fullyQualifiedIdentifier) {
+        return positions.get(fullyQualifiedIdentifier);
+    }
+}
@@ -8,40 +8,89 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Applies {@link FastOrganicLayout} to landscape components and writes the rendered data to component labels.
+ *
+ * The results are kept per landscape. Groups whose items, relations and sizes are unchanged are not laid out again,
+ * changed ones start from their previous positions, so maps stay visually stable between reindexing. Only the results
+ * of the last run are kept, for at most {@link #MAX_LANDSCAPES} landscapes (least recently laid out ones are dropped).
  */
 public class OrganicLayouter implements Layouter<LayoutedComponent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrganicLayouter.class);
 
+    /**
+     * number of landscapes whose layouts are kept
+     */
+    static final int MAX_LANDSCAPES = 64;
+
+    /**
+     * previous layouts by landscape fqi, then by group fqi (landscape fqi for all groups)
+     */
+    private final Map<String, Map<String, LayoutSnapshot>> snapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, LayoutSnapshot>> eldest) {
+                    return size() > MAX_LANDSCAPES;
+                }
+            }
+    );
+
     public OrganicLayouter() {
     }
 
     @Override
     public LayoutedComponent layout(@NonNull final Landscape landscape) {
 
+        String landscapeKey = Objects.requireNonNull(landscape).getFullyQualifiedIdentifier().toString();
+        Map<String, LayoutSnapshot> previous = snapshots.getOrDefault(landscapeKey, Map.of());
+        Map<String, LayoutSnapshot> current = new HashMap<>();
+
+        //group layouts are independent and deterministic, so they are calculated in parallel
+        List<Map.Entry<String, Group>> groups = new ArrayList<>(landscape.getGroups().entrySet());
+        List<SubLayout> subLayouts = groups.parallelStream()
+                .map(entry -> {
+                    Group group = entry.getValue();
+                    LayoutSnapshot snapshot = previous.get(group.getFullyQualifiedIdentifier().toString());
+                    return new SubLayout(group, group.getItems(), landscape.getConfig().getItemLayoutConfig(), snapshot);
+                })
+                .collect(Collectors.toList());
+
         Map<String, SubLayout> subGraphs = new LinkedHashMap<>();
-        Objects.requireNonNull(landscape).getGroups().forEach((name, groupItem) -> {
-            SubLayout subLayout = new SubLayout(groupItem, groupItem.getItems(), landscape.getConfig().getItemLayoutConfig());
-            subGraphs.put(name, subLayout);
-        });
+        for (int i = 0; i < groups.size(); i++) {
+            subGraphs.put(groups.get(i).getKey(), subLayouts.get(i));
+            current.put(groups.get(i).getValue().getFullyQualifiedIdentifier().toString(), subLayouts.get(i).getSnapshot());
+        }
 
         Map<String, Group> groupMap = new LinkedHashMap<>();
         landscape.getGroups().forEach(groupMap::put);
 
-        AllGroupsLayout allGroupsLayout = new AllGroupsLayout(landscape, groupMap, subGraphs);
+        AllGroupsLayout allGroupsLayout = new AllGroupsLayout(landscape, groupMap, subGraphs, previous.get(landscapeKey));
+        current.put(landscapeKey, allGroupsLayout.getSnapshot());
+        snapshots.put(landscapeKey, current);
+
         LayoutedComponent layoutedComponent = allGroupsLayout.getRendered();
         shiftGroupsAndItems(layoutedComponent);
         return layoutedComponent;
     }
 
+    /**
+     * Number of landscapes whose layouts are kept.
+     */
+    int getSnapshotCount() {
+        return snapshots.size();
+    }
+
     /**
      * @param layoutedLandscape layouted landscape
      */
@@ -5,6 +5,7 @@ import de.bonndan.nivio.model.Component;
 import de.bonndan.nivio.model.Item;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +32,13 @@ public class SubLayout {
     private final Component parent;
 
     public SubLayout(Component group, Set<Item> items, LandscapeConfig.LayoutConfig itemLayoutConfig) {
+        this(group, items, itemLayoutConfig, null);
+    }
+
+    /**
+     * @param previous the result of a previous layout of the group, reused if nothing has changed
+     */
+    public SubLayout(Component group, Set<Item> items, LandscapeConfig.LayoutConfig itemLayoutConfig, @Nullable LayoutSnapshot previous) {
         String name = group.getName();
         this.parent = group;
 
@@ -64,10 +72,17 @@ public class SubLayout {
         layout.setMaxDistanceLimit(MAX_DISTANCE_LIMIT);
         layout.setInitialTemp(INITIAL_TEMP);
         layout.configure(itemLayoutConfig);
-        layout.execute();
+        layout.execute(previous);
         LOGGER.debug("Subgraph {} layouted items: {}", name, layout.getBounds());
     }
 
+    /**
+     * @return the result of the layout, before any positions are shifted
+     */
+    LayoutSnapshot getSnapshot() {
+        return layout.getSnapshot();
+    }
+
     public LayoutedComponent getOuterBounds() {
         return layout.getOuterBounds(parent);
     }
@@ -0,0 +1,142 @@
+package de.bonndan.nivio.output.map;
+
+import org.springframework.lang.NonNull;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A rendered map, addressed by the hash of its content.
+ *
+ * Only the gzip compressed xml is held in memory. It is created once while the map is written, so it does not have to
+ * be compressed again per request. Clients not accepting gzip get the xml decompressed on the fly.
+ */
+public class CachedRendering {
+
+    private final byte[] gzipped;
+    private final long length;
+    private final String eTag;
+
+    /**
+     * Writes the xml of a rendering.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void write(Writer writer) throws IOException;
+    }
+
+    public CachedRendering(@NonNull final String xml) {
+        this((Content) writer -> writer.write(Objects.requireNonNull(xml)));
+    }
+
+    /**
+     * @param content writes the xml, which is compressed and hashed while it is written
+     */
+    public CachedRendering(@NonNull final Content content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        MessageDigest md5 = md5();
+        CountingOutputStream counter = new CountingOutputStream(new DigestOutputStream(gzip(out), md5));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8))) {
+            content.write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.gzipped = out.toByteArray();
+        this.length = counter.count;
+        this.eTag = "\"" + String.format("%032x", new BigInteger(1, md5.digest())) + "\"";
+    }
+
+    /**
+     * @return the decompressed xml
+     */
+    public String getXML() {
+        try (InputStream in = getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a stream of the utf-8 encoded xml, decompressed while reading
+     */
+    public InputStream getInputStream() {
+        try {
+            return new GZIPInputStream(new ByteArrayInputStream(gzipped));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the number of bytes of the utf-8 encoded xml
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the gzip compressed utf-8 encoded xml
+     */
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    /**
+     * @return the quoted content hash
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the approximate number of bytes held in memory
+     */
+    public long getSize() {
+        return gzipped.length;
+    }
+
+    private static GZIPOutputStream gzip(OutputStream out) {
+        try {
+            return new GZIPOutputStream(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -5,12 +5,20 @@ import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.LandscapeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+
 
 @Controller
 @RequestMapping(path = MapController.PATH)
@@ -19,6 +27,7 @@ public class MapController {
     private static final Logger LOGGER = LoggerFactory.getLogger(MapController.class);
     public static final String MAP_SVG_ENDPOINT = "map.svg";
     public static final String PATH = "/render";
+    private static final String GZIP = "gzip";
 
     private final LandscapeRepository landscapeRepository;
     private final RenderCache renderCache;
@@ -28,21 +37,38 @@ public class MapController {
         this.renderCache = renderCache;
     }
 
+    /**
+     * Returns the svg map. Clients have to revalidate using the ETag and receive a 304 if the map is unchanged.
+     *
+     * The map is cached gzip compressed and streamed decompressed to clients which do not accept gzip.
+     */
     @CrossOrigin(methods = RequestMethod.GET)
     @GetMapping(path = "/{landscape}/" + MAP_SVG_ENDPOINT)
-    public ResponseEntity<String> svg(@PathVariable(name = "landscape") final String landscapeIdentifier,
-                                      @RequestParam(value = "debug", required = false, defaultValue = "false") boolean debug
+    public ResponseEntity<Resource> svg(@PathVariable(name = "landscape") final String landscapeIdentifier,
+                                        @RequestParam(value = "debug", required = false, defaultValue = "false") boolean debug,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         Landscape landscape = getLandscape(landscapeIdentifier);
 
         try {
+            CachedRendering rendering = renderCache.getRendering(landscape, debug);
             HttpHeaders headers = new HttpHeaders();
+            headers.setETag(rendering.getETag());
+            headers.setCacheControl(CacheControl.noCache());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (matches(ifNoneMatch, rendering.getETag())) {
+                return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+            }
+
             headers.add(HttpHeaders.CONTENT_TYPE, "image/svg+xml");
-            return new ResponseEntity<>(
-                    renderCache.getSVG(landscape, debug),
-                    headers,
-                    HttpStatus.OK
-            );
+            if (acceptsGzip(acceptEncoding)) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, GZIP);
+                return new ResponseEntity<>(new ByteArrayResource(rendering.getGzipped()), headers, HttpStatus.OK);
+            }
+            headers.setContentLength(rendering.getLength());
+            return new ResponseEntity<>(new InputStreamResource(rendering.getInputStream()), headers, HttpStatus.OK);
         } catch (Exception ex) {
             LOGGER.warn("Could not render svg: ", ex);
             throw ex;
@@ -53,4 +79,23 @@ public class MapController {
         return landscapeRepository.findDistinctByIdentifier(landscapeIdentifier)
                 .orElseThrow(() -> new NotFoundException("Landscape " + landscapeIdentifier + " not found"));
     }
-}
\ No newline at end of file
+
+    private static boolean matches(@Nullable String ifNoneMatch, String eTag) {
+        if (StringUtils.isEmpty(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (StringUtils.isEmpty(acceptEncoding)) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().toLowerCase().replace(" ", ""))
+                .anyMatch(coding -> (coding.equals(GZIP) || coding.startsWith(GZIP + ";")) && !coding.matches(".*;q=0(\\.0*)?$"));
+    }
+}
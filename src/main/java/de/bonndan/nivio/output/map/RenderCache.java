@@ -9,31 +9,58 @@ import de.bonndan.nivio.output.layout.OrganicLayouter;
 import de.bonndan.nivio.output.map.svg.SVGRenderer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A service that caches map rendering.
+ *
+ * Only one rendering per key is created at a time, concurrent requests wait for it. After a landscape has been
+ * processed, the previous rendering is served until the new one is ready. The cache is bounded by the size of the
+ * renderings, least recently used ones are evicted first.
  */
 @Service
 public class RenderCache implements ApplicationListener<ProcessingFinishedEvent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RenderCache.class);
 
+    static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * cache map in access order, key is FQI string representation (or debugged version)
+     */
+    private final LinkedHashMap<String, Entry> renderings = new LinkedHashMap<>(16, 0.75f, true);
+
     /**
-     * cache map, key is FQI string representation (or debugged version)
+     * renderings in progress by key
      */
-    private final Map<String, String> renderings = new HashMap<>();
+    private final Map<String, CompletableFuture<CachedRendering>> inFlight = new ConcurrentHashMap<>();
 
+    private final AtomicLong versions = new AtomicLong();
     private final SVGRenderer svgRenderer;
     private final Layouter<LayoutedComponent> layouter;
+    private final long maxBytes;
+    private long bytes;
 
     public RenderCache(final SVGRenderer svgRenderer) {
+        this(svgRenderer, DEFAULT_MAX_BYTES);
+    }
+
+    @Autowired
+    public RenderCache(final SVGRenderer svgRenderer, @Value("${nivio.renderCacheMaxBytes:67108864}") final long maxBytes) {
         this.svgRenderer = svgRenderer;
+        this.maxBytes = maxBytes;
         layouter = new OrganicLayouter();
     }
 
@@ -46,32 +73,142 @@ public class RenderCache implements ApplicationListener<ProcessingFinishedEvent>
      */
     @Nullable
     public String getSVG(Landscape landscape, boolean debug) {
+        return getRendering(landscape, debug).getXML();
+    }
+
+    /**
+     * Returns the cached rendering including its compressed variant and hash.
+     *
+     * @param landscape the landscape to render
+     * @param debug     flag to enable debug messages
+     * @return the rendering
+     */
+    public CachedRendering getRendering(Landscape landscape, boolean debug) {
 
         String key = getKey(landscape, debug);
-        if (!renderings.containsKey(key)) {
-            createCacheEntry(landscape, getAssessment(landscape), debug);
+        synchronized (renderings) {
+            Entry entry = renderings.get(key);
+            if (entry != null) {
+                return entry.rendering;
+            }
         }
 
-        return renderings.get(key);
+        CompletableFuture<CachedRendering> future = new CompletableFuture<>();
+        CompletableFuture<CachedRendering> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return join(running);
+        }
+        return join(render(key, future, landscape, debug));
+    }
+
+    /**
+     * Number of bytes held by the cached renderings.
+     */
+    long getBytes() {
+        synchronized (renderings) {
+            return bytes;
+        }
     }
 
     private String getKey(Landscape landscape, boolean debug) {
         return landscape.getFullyQualifiedIdentifier().toString() + (debug ? "debug" : "");
     }
 
-    private void createCacheEntry(Landscape landscape, Assessment assessment, boolean debug) {
-        LayoutedComponent layout = layouter.layout(landscape);
-        LOGGER.info("Generating SVG rendering of landscape {} (debug: {})", landscape.getIdentifier(), debug);
-        renderings.put(getKey(landscape, debug), svgRenderer.render(layout, assessment, debug).getXML());
+    private CompletableFuture<CachedRendering> render(String key,
+                                                      CompletableFuture<CachedRendering> future,
+                                                      Landscape landscape,
+                                                      boolean debug
+    ) {
+        long version = versions.incrementAndGet();
+        try {
+            LayoutedComponent layout = layouter.layout(landscape);
+            LOGGER.info("Generating SVG rendering of landscape {} (debug: {})", landscape.getIdentifier(), debug);
+            CachedRendering rendering = new CachedRendering(svgRenderer.render(layout, getAssessment(landscape), debug)::write);
+            put(key, new Entry(rendering, version));
+            future.complete(rendering);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return future;
+    }
+
+    /**
+     * Stores the rendering unless a newer one has been stored meanwhile, then evicts until the size fits.
+     */
+    private void put(String key, Entry entry) {
+        synchronized (renderings) {
+            Entry previous = renderings.get(key);
+            if (previous != null && previous.version > entry.version) {
+                return;
+            }
+            renderings.put(key, entry);
+            bytes += entry.rendering.getSize() - (previous != null ? previous.rendering.getSize() : 0);
+
+            Iterator<Map.Entry<String, Entry>> iterator = renderings.entrySet().iterator();
+            while (bytes > maxBytes && renderings.size() > 1 && iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                LOGGER.debug("Evicting rendering {}", eldest.getKey());
+                bytes -= eldest.getValue().rendering.getSize();
+                iterator.remove();
+            }
+        }
     }
 
+    private static CachedRendering join(CompletableFuture<CachedRendering> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Renders the processed landscape. Cached renderings are replaced once done, so they are served meanwhile.
+     */
     @Override
     public void onApplicationEvent(ProcessingFinishedEvent processingFinishedEvent) {
         Landscape landscape = processingFinishedEvent.getLandscape();
-        createCacheEntry(landscape, getAssessment(landscape), false);
+        refresh(landscape, false);
+
+        boolean hasDebug;
+        synchronized (renderings) {
+            hasDebug = renderings.containsKey(getKey(landscape, true));
+        }
+        if (hasDebug) {
+            refresh(landscape, true);
+        }
+    }
+
+    private void refresh(Landscape landscape, boolean debug) {
+        String key = getKey(landscape, debug);
+        CompletableFuture<CachedRendering> future = new CompletableFuture<>();
+        //requests for uncached renderings join this one, a rendering of the previous state is superseded
+        inFlight.put(key, future);
+        render(key, future, landscape, debug);
+        if (future.isCompletedExceptionally()) {
+            LOGGER.error("Failed to render landscape {}", landscape.getIdentifier(), future.handle((r, e) -> e).join());
+        }
     }
 
     private Assessment getAssessment(Landscape landscape) {
         return new Assessment(landscape.applyKPIs(landscape.getKpis()));
     }
+
+    private static class Entry {
+        private final CachedRendering rendering;
+        private final long version;
+
+        Entry(CachedRendering rendering, long version) {
+            this.rendering = rendering;
+            this.version = version;
+        }
+    }
 }
@@ -4,7 +4,6 @@ import de.bonndan.nivio.model.Group;
 import de.bonndan.nivio.model.Item;
 import de.bonndan.nivio.output.map.svg.HexPath;
 import org.apache.commons.collections4.BidiMap;
-import org.apache.commons.collections4.bidimap.DualHashBidiMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,7 +89,7 @@ public class GroupAreaFactory {
 
             // we dont care for occupied tiles here, since we just want the closest item within group, and non-group
             // items cannot be anywhere nearby (other types of obstacles do not exist yet)
-            PathFinder pathFinder = new PathFinder(new DualHashBidiMap<>());
+            PathFinder pathFinder = new PathFinder(new HexTable<>());
 
             Hex destination = itemsToHexes.get(closest.get());
             Optional<HexPath> path = pathFinder.getPath(hex, destination);
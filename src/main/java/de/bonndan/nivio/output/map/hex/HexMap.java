@@ -2,28 +2,43 @@ package de.bonndan.nivio.output.map.hex;
 
 import de.bonndan.nivio.model.Group;
 import de.bonndan.nivio.model.Item;
+import de.bonndan.nivio.model.Relation;
 import de.bonndan.nivio.output.layout.LayoutedComponent;
 import de.bonndan.nivio.output.map.svg.HexPath;
 import org.apache.commons.collections4.BidiMap;
 import org.apache.commons.collections4.bidimap.DualHashBidiMap;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Representation of a hex map.
  */
 public class HexMap {
 
+    /**
+     * minimum number of paths searched by one pathfinder in {@link #getPaths(List)}
+     */
+    static final int MIN_PATHS_PER_TASK = 16;
+
     /**
      * key is a {@link Hex}, value an {@link Item}
      */
     private final BidiMap<Hex, Object> hexesToItems = new DualHashBidiMap<>();
+
+    /**
+     * the hexes of {@link #hexesToItems} by coordinates, for the pathfinder
+     */
+    private final HexTable<Hex> hexes = new HexTable<>();
     private final PathFinder pathFinder;
+    private final boolean debug;
 
     public HexMap(boolean debug) {
+        this.debug = debug;
 
         // find and render relations
-        pathFinder = new PathFinder(hexesToItems);
+        pathFinder = new PathFinder(hexes);
         pathFinder.debug = debug;
     }
 
@@ -44,6 +59,7 @@ public class HexMap {
         Item item = (Item) layoutedItem.getComponent();
         hex.item = item.getFullyQualifiedIdentifier().toString();
         hexesToItems.put(hex, item);
+        hexes.put(hex.q, hex.r, hex);
         return hex;
     }
 
@@ -68,6 +84,37 @@ public class HexMap {
         return pathFinder.getPath(hexForItem(start), hexForItem(target));
     }
 
+    /**
+     * Creates the paths of multiple relations in parallel.
+     *
+     * The map must not be modified (items or group areas added) while paths are searched. Relations are split into
+     * consecutive chunks which are processed by separate pathfinders.
+     *
+     * @param relations the relations to find paths for
+     * @return a path for each relation if one could be found, in the order of the relations
+     */
+    public List<Optional<HexPath>> getPaths(List<Relation> relations) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(MIN_PATHS_PER_TASK, (relations.size() + parallelism * 4 - 1) / (parallelism * 4));
+        if (parallelism == 1 || relations.size() <= chunkSize) {
+            return relations.stream()
+                    .map(relation -> getPath(relation.getSource(), relation.getTarget()))
+                    .collect(Collectors.toList());
+        }
+
+        int chunks = (relations.size() + chunkSize - 1) / chunkSize;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    PathFinder chunkPathFinder = new PathFinder(hexes);
+                    chunkPathFinder.debug = debug;
+                    return relations.subList(chunk * chunkSize, Math.min(relations.size(), (chunk + 1) * chunkSize)).stream()
+                            .map(relation -> chunkPathFinder.getPath(hexForItem(relation.getSource()), hexForItem(relation.getTarget())))
+                            .collect(Collectors.toList());
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Returns all hexes which form a group area.
      *
@@ -76,7 +123,12 @@ public class HexMap {
      */
     public Set<Hex> getGroupArea(Group group) {
         Set<Hex> inArea = GroupAreaFactory.getGroup(hexesToItems.inverseBidiMap(), group);
-        inArea.forEach(hex -> hexesToItems.putIfAbsent(hex, UUID.randomUUID()));
+        inArea.forEach(hex -> {
+            if (!hexesToItems.containsKey(hex)) {
+                hexesToItems.put(hex, UUID.randomUUID());
+                hexes.put(hex.q, hex.r, hex);
+            }
+        });
         return inArea;
     }
 }
@@ -0,0 +1,116 @@
+package de.bonndan.nivio.output.map.hex;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Hash table with hex coordinates (q, r) as keys.
+ * <p>
+ * Uses open addressing with primitive keys, so lookups of neighbour coordinates do not allocate {@link Hex} objects.
+ *
+ * @param <T> value type
+ */
+class HexTable<T> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    HexTable() {
+        this(64);
+    }
+
+    HexTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity) * 2 - 1);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * @return the value stored for the coordinates or null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    T get(int q, int r) {
+        long key = key(q, r);
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (T) values[i];
+            }
+            if (keys[i] == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores the value, an existing value for the coordinates is replaced.
+     */
+    void put(int q, int r, T value) {
+        long key = key(q, r);
+        int i = index(key);
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) {
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, but keeps the allocated capacity.
+     */
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == EMPTY) {
+                continue;
+            }
+            int i = index(oldKeys[j]);
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long key(int q, int r) {
+        return ((long) q << 32) | (r & 0xFFFFFFFFL);
+    }
+}
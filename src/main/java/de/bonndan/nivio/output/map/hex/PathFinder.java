@@ -1,84 +1,73 @@
 package de.bonndan.nivio.output.map.hex;
 
 import de.bonndan.nivio.output.map.svg.HexPath;
-import org.apache.commons.collections4.BidiMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * A* pathfinder based on https://github.com/helfsoft/astar (no license given).
+ * <p>
+ * The open set is a binary heap supporting decrease-key, visited tiles are looked up by their coordinates. Tiles are
+ * pooled, so a pathfinder instance must not be used by multiple threads at the same time.
  */
 class PathFinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PathFinder.class);
     public static final int DEPTH_MAX = 4000;
-    private final BidiMap<Hex, Object> hexesToItems;
-
-    public boolean debug = false;
-
-    private final ArrayList<Tile> closed;
-    private final ArrayList<Tile> open;
-
-    public PathFinder(BidiMap<Hex, Object> hexesToItems) {
-        this.hexesToItems = hexesToItems;
-        this.closed = new ArrayList<>();
-        this.open = new ArrayList<>();
-    }
 
+    private static final int[] DIRECTION_Q = Hex.DIRECTIONS.stream().mapToInt(hex -> hex.q).toArray();
+    private static final int[] DIRECTION_R = Hex.DIRECTIONS.stream().mapToInt(hex -> hex.r).toArray();
 
     /**
-     * Returns the best fitting tile in openlist to add to path based on F cost
-     * of tile.
-     *
-     * @return The best tile for path in openlist
+     * the hexes of the map (items and group areas)
      */
-    private Tile getBest() {
-
-        Tile tmp = open.get(open.size() - 1);
-        for (int i = open.size() - 1; i >= 0; i--) {
+    private final HexTable<Hex> hexes;
 
-            // pick the lowest sum of move and heuristic
-            if (open.get(i).sumCosts < tmp.sumCosts) {
-                tmp = open.get(i);
-
-                //or equal sum and lower heuristic
-            } else if (open.get(i).sumCosts == tmp.sumCosts && open.get(i).heuristicCosts < tmp.heuristicCosts) {
-                tmp = open.get(i);
-            }
+    public boolean debug = false;
 
-        }
+    /**
+     * tiles of the current search by coordinates
+     */
+    private final HexTable<Tile> tiles = new HexTable<>(256);
+    private Tile[] pool = new Tile[256];
+    private int poolSize;
 
-        open.remove(tmp);
-        LOGGER.debug("returning best tile {} with sumCosts {} and heuristic {}", tmp, tmp.sumCosts, tmp.heuristicCosts);
+    /**
+     * open set
+     */
+    private Tile[] heap = new Tile[64];
+    private int heapSize;
+    private int sequence;
 
-        return tmp;
+    public PathFinder(HexTable<Hex> hexes) {
+        this.hexes = hexes;
     }
 
     /**
      * Calculates the path between two tiles.
      *
+     * Tiles occupied by items other than the destination are not entered.
+     *
      * @param startHex The start hex of the path
      * @param destHex  The destination hex of the path
      * @return A list containing all tiles along the path between start and dest or nothing if no path was found
      */
     public Optional<HexPath> getPath(Hex startHex, Hex destHex) {
-        closed.clear();
-        open.clear();
-        var start = new Tile(startHex);
-        var dst = new Tile(destHex);
-
-
-        Tile currentStep = start;
-        open.add(0, currentStep);
+        reset();
+        Tile start = getTile(startHex.q, startHex.r);
+        Tile dst = getTile(destHex.q, destHex.r);
+        if (start == dst) {
+            return Optional.of(new HexPath(List.of(dst.getHex())));
+        }
 
-        float G;
+        start.calcHeuristic(dst);
+        start.sumHeuristicAndMoveCosts();
+        push(start);
 
         int depth = 0;
-
-        while (true) {
+        while (heapSize > 0) {
 
             /*
              * Limit the amount of loops for better performance
@@ -89,119 +78,166 @@ class PathFinder {
             }
 
             /*
-             * If the tile which is currently checked (currentStep) is the
-             * destination tile search can be stopped (break). The same goes for
-             * an empty list of potential tiles suited for path (openlist).
+             * Get tile with lowest F cost from open set and mark it as visited.
              */
-            if (currentStep.equals(dst)) {
-                dst.parent = currentStep.parent;
-                break;
-            } else if (open.isEmpty()) {
-                break;
-            }
+            Tile currentStep = pop();
+            currentStep.closed = true;
 
-            /*
-             * Get tile with lowest F cost from openlist.
-             */
-            currentStep = getBest();
+            for (int i = 0; i < DIRECTION_Q.length; i++) {
+                Tile neighbour = getTile(currentStep.q + DIRECTION_Q[i], currentStep.r + DIRECTION_R[i]);
 
-            /*
-             * Add to closed list (tile already part of path).
-             */
-            closed.add(currentStep);
-
-            /*
-             * Check all neighbors of the currentstep.
-             */
-            var neighbours = getNeighbours(currentStep);
-            for (int i = 0; i < neighbours.size(); i++) {
-
-                Tile neighbour = neighbours.get(i);
-
-                if (neighbour.equals(dst)) {
-                    neighbour.setParent(currentStep);
-                    currentStep = neighbour;
-                    LOGGER.debug("reached  {}", currentStep.hex);
-                    break;
+                /*
+                 * The search stops as soon as the destination is a neighbour.
+                 */
+                if (neighbour == dst) {
+                    dst.parent = currentStep;
+                    LOGGER.debug("reached {}", dst);
+                    return Optional.of(buildPath(dst));
                 }
 
-                if (closed.contains(neighbour)) {
-                    //LOGGER.info("Already visited {}", neighbour.hex);
+                if (neighbour.closed || neighbour.isOccupied()) {
                     continue;
                 }
 
                 /*
-                 * Get the moving costs from the currentstep to the
-                 * neighbor.
+                 * Get the moving costs from the currentstep to the neighbor.
                  */
-                G = neighbour.calcMoveCostsFrom(currentStep);
-
-                if (!open.contains(neighbour)) {
-                    open.add(neighbour);
-                } else if (G >= neighbour.moveCosts) {
+                float g = neighbour.calcMoveCostsFrom(currentStep);
+                boolean isOpen = neighbour.heapIndex >= 0;
+                if (isOpen && g >= neighbour.moveCosts) {
                     continue;
                 }
 
                 neighbour.parent = currentStep;
-                neighbour.moveCosts = G;
+                neighbour.moveCosts = g;
                 neighbour.calcHeuristic(dst);
                 neighbour.sumHeuristicAndMoveCosts();
+                if (isOpen) {
+                    siftUp(neighbour.heapIndex);
+                } else {
+                    push(neighbour);
+                }
             }
 
             depth += 1;
         }
 
-        /*
-         * Build the path reversly iterating over the tiles by accessing their
-         * parent tile.
-         */
-        ArrayList<Tile> path = new ArrayList<>();
-        path.add(dst);
-        Tile tileBetween = dst;
-        while (!start.equals(tileBetween)) {
+        LOGGER.debug("No path found from {} to {}", startHex, destHex);
+        return Optional.empty();
+    }
 
-            if (tileBetween.getParent() == null) {
-                break;
-            }
+    /**
+     * Build the path reversly iterating over the tiles by accessing their parent tile.
+     */
+    private HexPath buildPath(Tile dst) {
+        LinkedList<Hex> path = new LinkedList<>();
+        for (Tile tile = dst; tile != null; tile = tile.parent) {
+            path.addFirst(tile.getHex());
+        }
+        return new HexPath(new ArrayList<>(path));
+    }
 
-            tileBetween = tileBetween.getParent();
-            if (path.contains(tileBetween)) { //already contains the parent
-                throw new RuntimeException("Path already contains the parent.");
-            }
-            if (!dst.equals(tileBetween) && !start.equals(tileBetween) && tileBetween.hex.item != null) {
-                throw new RuntimeException(String.format("Path from %s to %s runs through item %s!", start, dst, tileBetween));
-            }
+    private void reset() {
+        tiles.clear();
+        poolSize = 0;
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+        sequence = 0;
+    }
 
-            path.add(tileBetween);
+    /**
+     * Returns the tile of the current search for the coordinates, without creating a {@link Hex}.
+     */
+    private Tile getTile(int q, int r) {
+        Tile tile = tiles.get(q, r);
+        if (tile != null) {
+            return tile;
         }
 
-        /*
-         * Reverse to get the path from start to dst.
-         */
-        Collections.reverse(path);
-
-        /*
-         * If no path is found return null.
-         */
-        if (path.isEmpty()) {
-            return Optional.empty();
+        if (poolSize == pool.length) {
+            pool = Arrays.copyOf(pool, pool.length * 2);
         }
+        tile = pool[poolSize];
+        if (tile == null) {
+            tile = new Tile();
+            pool[poolSize] = tile;
+        }
+        poolSize++;
+
+        tile.reset(q, r, hexes.get(q, r));
+        tiles.put(q, r, tile);
+        return tile;
+    }
 
-        return Optional.of(new HexPath(path.stream().map(tile -> tile.hex).collect(Collectors.toList())));
+    /**
+     * Orders by lowest sum of move and heuristic, then by lower heuristic, then the most recently opened tile.
+     */
+    private static boolean isBetter(Tile a, Tile b) {
+        if (a.sumCosts != b.sumCosts) {
+            return a.sumCosts < b.sumCosts;
+        }
+        if (a.heuristicCosts != b.heuristicCosts) {
+            return a.heuristicCosts < b.heuristicCosts;
+        }
+        return a.sequence > b.sequence;
     }
 
+    private void push(Tile tile) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        tile.sequence = sequence++;
+        heap[heapSize] = tile;
+        tile.heapIndex = heapSize;
+        siftUp(heapSize++);
+    }
 
-    private List<Tile> getNeighbours(Tile current) {
+    private Tile pop() {
+        Tile best = heap[0];
+        heapSize--;
+        Tile last = heap[heapSize];
+        heap[heapSize] = null;
+        if (heapSize > 0) {
+            heap[0] = last;
+            last.heapIndex = 0;
+            siftDown(0);
+        }
+        best.heapIndex = -1;
+        return best;
+    }
 
-        return current.hex.neighbours().stream()
-                .map(hex -> {
-                    Object val = hexesToItems.get(hex);
-                    if (val != null) {
-                        hex = hexesToItems.inverseBidiMap().get(val);
-                    }
-                    return new Tile(hex);
-                })
-                .collect(Collectors.toList());
+    private void siftUp(int index) {
+        Tile tile = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBetter(tile, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = tile;
+        tile.heapIndex = index;
     }
 
+    private void siftDown(int index) {
+        Tile tile = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < heapSize && isBetter(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!isBetter(heap[child], tile)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = tile;
+        tile.heapIndex = index;
+    }
 }
@@ -1,24 +1,67 @@
 package de.bonndan.nivio.output.map.hex;
 
+import org.springframework.lang.Nullable;
+
 import java.util.Objects;
 
 /**
+ * A node of the {@link PathFinder} search.
+ * <p>
+ * Tiles are pooled and reused between searches. Only hexes known to the map are referenced, other tiles are described
+ * by their coordinates only.
+ * <p>
  * Based on https://github.com/helfsoft/astar (no license given).
  */
 class Tile {
 
-    final Hex hex;
+    int q;
+    int r;
+
+    /**
+     * the hex of the map, null if the hex is not part of the map (free)
+     */
+    @Nullable
+    Hex hex;
+
     Tile parent;
 
     float moveCosts = 0f;
     float sumCosts;
     float heuristicCosts;
 
+    /**
+     * position in the open set heap, -1 if not in the open set
+     */
+    int heapIndex = -1;
+
+    /**
+     * order of insertion into the open set, used to break ties
+     */
+    int sequence;
+    boolean closed;
+
     public Tile(Hex hex) {
-        this.hex = Objects.requireNonNull(hex);
+        reset(Objects.requireNonNull(hex).q, hex.r, hex);
+    }
+
+    Tile() {
+    }
 
+    /**
+     * Prepares the (pooled) tile for a new search.
+     */
+    Tile reset(int q, int r, @Nullable Hex hex) {
+        this.q = q;
+        this.r = r;
+        this.hex = hex;
+        parent = null;
+        moveCosts = 0f;
         sumCosts = 0f;
         heuristicCosts = 0f;
+        heapIndex = -1;
+        sequence = 0;
+        closed = false;
+        return this;
     }
 
     /**
@@ -27,7 +70,9 @@ class Tile {
      * @param dst The destination.
      */
     public void calcHeuristic(Tile dst) {
-        heuristicCosts = hex.distance(dst.hex);
+        int dq = q - dst.q;
+        int dr = r - dst.r;
+        heuristicCosts = (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
     }
 
     /**
@@ -49,10 +94,10 @@ class Tile {
     public float calcMoveCostsFrom(Tile from) {
         float cost = 1f;
 
-        if (this.hex.item != null) {
-            cost *= 10f;
-        } else {
-            if (this.hex.group != null) {
+        if (hex != null) {
+            if (hex.item != null) {
+                cost *= 10f;
+            } else if (hex.group != null) {
                 cost *= 3f;
             }
         }
@@ -60,6 +105,20 @@ class Tile {
         return cost + from.moveCosts;
     }
 
+    /**
+     * @return true if the tile is occupied by an item
+     */
+    boolean isOccupied() {
+        return hex != null && hex.item != null;
+    }
+
+    /**
+     * @return the map hex or a new hex with the tile coordinates
+     */
+    Hex getHex() {
+        return hex != null ? hex : new Hex(q, r);
+    }
+
     @Override
     public boolean equals(Object obj) {
 
@@ -68,7 +127,12 @@ class Tile {
         }
         Tile other = (Tile) obj;
 
-        return other.hex.equals(this.hex);
+        return other.q == q && other.r == r;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * q + r;
     }
 
     public Tile getParent() {
@@ -81,6 +145,6 @@ class Tile {
 
     @Override
     public String toString() {
-        return "Tile{" + "hex=" + hex + '}';
+        return "Tile{" + "hex=" + getHex() + '}';
     }
 }
@@ -1,8 +1,10 @@
 package de.bonndan.nivio.output.map.svg;
 
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,6 +15,12 @@ public class BezierPath
     static final Matcher matchPoint = Pattern.compile("\\s*(\\d+)[^\\d]+(\\d+)\\s*").matcher("");
 
     BezierListProducer path;
+
+    private List<Bezier> segments = new ArrayList<>();
+    private float curveLength = 0f;
+    private final float[] coords = new float[4];
+    private float lastX;
+    private float lastY;
     
     /** Creates a new instance of Animate */
     public BezierPath()
@@ -24,6 +32,47 @@ public class BezierPath
         this.path = new BezierListProducer();
 
         parsePathList(d);
+        segments = path.bezierSegs;
+        curveLength = path.curveLength;
+    }
+
+    /**
+     * Starts the path at the given point, without parsing a path description.
+     */
+    void moveTo(float x, float y)
+    {
+        lastX = x;
+        lastY = y;
+    }
+
+    /**
+     * Adds a straight line from the last point.
+     */
+    void lineTo(float x, float y)
+    {
+        coords[0] = x;
+        coords[1] = y;
+        add(new Bezier(lastX, lastY, coords, 1), x, y);
+    }
+
+    /**
+     * Adds a quadratic curve from the last point.
+     */
+    void quadTo(float x1, float y1, float x, float y)
+    {
+        coords[0] = x1;
+        coords[1] = y1;
+        coords[2] = x;
+        coords[3] = y;
+        add(new Bezier(lastX, lastY, coords, 2), x, y);
+    }
+
+    private void add(Bezier bezier, float x, float y)
+    {
+        segments.add(bezier);
+        curveLength += bezier.getLength();
+        lastX = x;
+        lastY = y;
     }
     
     protected void parsePathList(String list)
@@ -138,8 +187,8 @@ public class BezierPath
         Point2D.Float point = new Point2D.Float();
   
         
-        double curLength = path.curveLength * interp;
-        for (Iterator<Bezier> it = path.bezierSegs.iterator(); it.hasNext();)
+        double curLength = curveLength * interp;
+        for (Iterator<Bezier> it = segments.iterator(); it.hasNext();)
         {
             Bezier bez = it.next();
             
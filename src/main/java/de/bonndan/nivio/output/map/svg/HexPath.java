@@ -9,13 +9,28 @@ import java.util.List;
 
 /**
  * Produces a point path along the centers of the given hexes.
+ *
+ * The path is kept as commands and coordinates, it is only formatted when the svg path description is requested.
  */
 public class HexPath {
 
+    static final char MOVE = 'M';
+    static final char LINE = 'L';
+    static final char QUAD = 'Q';
+
     private final List<Hex> hexes;
-    private final List<String> points = new ArrayList<>();
     private final List<Hex> bends;
+
+    /**
+     * commands (move, line, quadratic curve), and their coordinates as x,y pairs (one pair per point, two for curves)
+     */
+    private final char[] commands;
+    private final double[] coords;
+    private int commandCount;
+    private int coordCount;
+
     private final Point2D.Double endPoint;
+    private String pathData;
 
     /**
      * @param hexes the hex tile chain in correct order.
@@ -23,60 +38,62 @@ public class HexPath {
     public HexPath(final List<Hex> hexes) {
         this.hexes = hexes;
         this.bends = calcBends(hexes);
+        //one move, then a line per hex, bends add a curve
+        this.commands = new char[hexes.size() + bends.size()];
+        this.coords = new double[2 * (hexes.size() + 2 * bends.size())];
         this.endPoint = calcPoints();
     }
 
     /**
-     * @return a list of strings forming a path of cubic curves
+     * Calculates the path segments: lines between the hex centers and quadratic curves at the bends.
+     *
+     * @return the endpoint
      */
     private Point2D.Double calcPoints() {
-        points.add("M");
 
         for (var i = 0; i < hexes.size(); i++) {
             var hex = hexes.get(i);
             var prev = i > 0 ? hexes.get(i - 1).toPixel() : hex.toPixel(); //i==0 does not matter
+            char command = i == 0 ? MOVE : LINE;
 
             //the last segment needs to have half the length so we can draw an endpoint marker there
             boolean isLast = i == hexes.size() - 1;
-            var newBefore = new Point2D.Double();
             var point = hex.toPixel();
             if (this.isBend(hex)) {
-                //cubic curve
                 var next = hexes.get(i + 1).toPixel();
 
-                newBefore.x = prev.x + (point.x - prev.x) / 2;
-                newBefore.y = prev.y + (point.y - prev.y) / 2;
-
-                points.addAll(List.of(" ", String.valueOf(newBefore.x), ",", String.valueOf(newBefore.y), " "));
-                points.addAll(List.of("Q ", String.valueOf(point.x), ",", String.valueOf(point.y), " "));
-
-                var newAfter = new Point2D.Double();
-                newAfter.x = next.x + (point.x - next.x) / 2;
-                newAfter.y = next.y + (point.y - next.y) / 2;
+                add(command, prev.x + (point.x - prev.x) / 2, prev.y + (point.y - prev.y) / 2);
+                add(QUAD, point.x, point.y);
 
                 if (isLast) {
-                    newAfter.x = next.x + (point.x - next.x) / 10;
-                    newAfter.y = next.y + (point.y - next.y) / 10;
-                    points.addAll(List.of(String.valueOf(newAfter.x), ",", String.valueOf(newAfter.y)));
+                    addPoint(next.x + (point.x - next.x) / 10, next.y + (point.y - next.y) / 10);
                     return new Point2D.Double(point.x, point.y);
                 } else {
-                    points.addAll(List.of(String.valueOf(newAfter.x), ",", String.valueOf(newAfter.y), " L"));
+                    addPoint(next.x + (point.x - next.x) / 2, next.y + (point.y - next.y) / 2);
                 }
             } else {
                 if (isLast) {
-                    var newAfter = new Point2D.Double();
-                    newAfter.x = point.x - (point.x - prev.x) / 2;
-                    newAfter.y = point.y - (point.y - prev.y) / 2;
-                    points.addAll(List.of(" ", String.valueOf(newAfter.x), ",", String.valueOf(newAfter.y)));
-                    return new Point2D.Double(newAfter.x, newAfter.y);
+                    var newAfter = new Point2D.Double(point.x - (point.x - prev.x) / 2, point.y - (point.y - prev.y) / 2);
+                    add(command, newAfter.x, newAfter.y);
+                    return newAfter;
                 } else {
-                    points.addAll(List.of(" ", String.valueOf(point.x), ",", String.valueOf(point.y), " L"));
+                    add(command, point.x, point.y);
                 }
             }
         }
         return null;
     }
 
+    private void add(char command, double x, double y) {
+        commands[commandCount++] = command;
+        addPoint(x, y);
+    }
+
+    private void addPoint(double x, double y) {
+        coords[coordCount++] = x;
+        coords[coordCount++] = y;
+    }
+
     /**
      * Returns all hex tiles which are part of the path.
      */
@@ -89,8 +106,54 @@ public class HexPath {
      *
      * @return M...L notation
      */
-    List<String> getPoints() {
-        return points;
+    String getPathData() {
+        if (pathData == null) {
+            StringBuilder d = new StringBuilder(commandCount * 48);
+            int c = 0;
+            for (int i = 0; i < commandCount; i++) {
+                if (i > 0) {
+                    d.append(' ');
+                }
+                d.append(commands[i]).append(' ');
+                appendPoint(d, c);
+                c += 2;
+                if (commands[i] == QUAD) {
+                    d.append(' ');
+                    appendPoint(d, c);
+                    c += 2;
+                }
+            }
+            pathData = d.toString();
+        }
+        return pathData;
+    }
+
+    private void appendPoint(StringBuilder d, int c) {
+        d.append(coords[c]).append(',').append(coords[c + 1]);
+    }
+
+    /**
+     * Creates the bezier path from the path segments, for interpolation along the path.
+     */
+    BezierPath getBezierPath() {
+        BezierPath bezierPath = new BezierPath();
+        int c = 0;
+        for (int i = 0; i < commandCount; i++) {
+            float x = (float) coords[c++];
+            float y = (float) coords[c++];
+            switch (commands[i]) {
+                case MOVE:
+                    bezierPath.moveTo(x, y);
+                    break;
+                case LINE:
+                    bezierPath.lineTo(x, y);
+                    break;
+                case QUAD:
+                    bezierPath.quadTo(x, y, (float) coords[c++], (float) coords[c++]);
+                    break;
+            }
+        }
+        return bezierPath;
     }
 
     /**
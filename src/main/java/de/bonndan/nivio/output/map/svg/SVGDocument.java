@@ -11,9 +11,9 @@ import de.bonndan.nivio.model.Relation;
 import de.bonndan.nivio.output.layout.LayoutedComponent;
 import de.bonndan.nivio.output.map.hex.Hex;
 import de.bonndan.nivio.output.map.hex.HexMap;
+import j2html.attributes.Attribute;
 import j2html.tags.ContainerTag;
 import j2html.tags.DomContent;
-import j2html.tags.UnescapedText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
@@ -21,7 +21,12 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
 import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static j2html.TagCreator.rawHtml;
@@ -33,6 +38,8 @@ import static j2html.TagCreator.rawHtml;
 public class SVGDocument extends Component {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SVGDocument.class);
+    private static final String SVG_OPENING_TAG = "<svg";
+    private static final String SVG_CLOSING_TAG = "</svg>";
     public static final int LABEL_WIDTH = 140;
 
     private final LayoutedComponent layouted;
@@ -53,10 +60,64 @@ public class SVGDocument extends Component {
         this.debug = debug;
     }
 
+    /**
+     * @return the complete document as dom tree
+     */
     public DomContent render() {
+        MapElements map = prepare();
+        ContainerTag root = SvgTagCreator.svg();
+        map.rootAttributes.forEach(root::attr);
+        try {
+            map.forEachChild(root::with);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return root;
+    }
+
+    /**
+     * Writes the document in document order.
+     * <p>
+     * Only the elements of the map (items, relations, groups) are kept in memory, their markup is created and written
+     * one by one, so the complete dom tree and the resulting string are never held at once.
+     *
+     * @param writer target, not closed
+     * @throws IOException if writing fails
+     */
+    public void write(Writer writer) throws IOException {
+        MapElements map = prepare();
+
+        writer.append(SVG_OPENING_TAG);
+        for (Attribute attribute : map.rootAttributes) {
+            attribute.renderModel(writer, null);
+        }
+        writer.append(">");
+
+        map.forEachChild(child -> child.render(writer));
+        writer.append(SVG_CLOSING_TAG);
+    }
+
+    /**
+     * Creates the dom tree of each element right before it is consumed, so that only one of them exists at a time.
+     *
+     * @param elements the elements to render
+     * @param renderer creates the dom tree of an element
+     * @param consumer receives the dom trees in order
+     * @throws IOException if the consumer fails
+     */
+    static <T> void renderEach(Iterable<T> elements, Function<T, DomContent> renderer, ChildConsumer consumer) throws IOException {
+        for (T element : elements) {
+            consumer.accept(renderer.apply(element));
+        }
+    }
+
+    /**
+     * Places all items on the hex map, searches the relation paths and calculates the dimension.
+     */
+    private MapElements prepare() {
 
         List<DomContent> defs = new ArrayList<>();
-        List<DomContent> items = new ArrayList<>();
+        List<SVGItem> items = new ArrayList<>();
 
         hexMap = new HexMap(this.debug);
 
@@ -86,19 +147,15 @@ public class SVGDocument extends Component {
                 Point2D.Double pos = hexMap.hexForItem(item).toPixel();
 
                 List<StatusValue> itemStatuses = assessment.getResults().get(item.getFullyQualifiedIdentifier());
-                SVGItem SVGItem = new SVGItem(label.render(), layoutedItem, itemStatuses, pos);
-                items.add(SVGItem.render());
+                items.add(new SVGItem(label.render(), layoutedItem, itemStatuses, pos));
             });
         });
 
-        List<SVGGroupArea> groupAreas = new ArrayList<>();
-        List<DomContent> groups = layouted.getChildren().stream().map(groupLayout -> {
+        List<SVGGroupArea> groupAreas = layouted.getChildren().stream().map(groupLayout -> {
             Group group = (Group) groupLayout.getComponent();
             Set<Hex> groupArea = hexMap.getGroupArea(group);
             List<StatusValue> groupStatuses = assessment.getResults().get(group.getFullyQualifiedIdentifier());
-            SVGGroupArea area = SVGGroupAreaFactory.getGroup(group, groupArea, Assessable.getWorst(groupStatuses), debug);
-            groupAreas.add(area);
-            return area.render();
+            return SVGGroupAreaFactory.getGroup(group, groupArea, Assessable.getWorst(groupStatuses), debug);
         }).collect(Collectors.toList());
 
         defs.add(SVGRelation.dataflowMarker());
@@ -109,36 +166,17 @@ public class SVGDocument extends Component {
         //render background hexes
         defs.add(SVGBackgroundFactory.getHex());
 
-
-        List<DomContent> background = new ArrayList<>(
-                //SVGBackgroundFactory.getBackgroundTiles(dimension)
+        List<Attribute> rootAttributes = List.of(
+                new Attribute("version", "1.1"),
+                new Attribute("xmlns", "http://www.w3.org/2000/svg"),
+                new Attribute("xmlns:xlink", "http://www.w3.org/1999/xlink"),
+                new Attribute("width", String.valueOf(dimension.cartesian.horMax)),
+                new Attribute("height", String.valueOf(dimension.cartesian.vertMax)),
+                new Attribute("viewBox", dimension.cartesian.asViewBox()),
+                new Attribute("class", "map")
         );
 
-        DomContent title = getTitle(dimension);
-        DomContent logo = getLogo(dimension);
-
-        UnescapedText style = rawHtml("<style>\n" + cssStyles + "</style>");
-
-
-        return SvgTagCreator.svg(style)
-                .attr("version", "1.1")
-                .attr("xmlns", "http://www.w3.org/2000/svg")
-                .attr("xmlns:xlink", "http://www.w3.org/1999/xlink")
-                .attr("width", dimension.cartesian.horMax)
-                .attr("height", dimension.cartesian.vertMax)
-                .attr("viewBox", dimension.cartesian.asViewBox())
-                .attr("class", "map")
-
-                .with(background)
-                .with(logo, title)
-                .with(groups)
-                .with(relations.stream().map(SVGRelation::render))
-                //draw items above relations
-                .with(items)
-                // draw group labels above everything
-                .with(groupAreas.stream().map(SVGGroupArea::getLabel).collect(Collectors.toSet()))
-                //defs contain reusable stuff
-                .with(SvgTagCreator.defs().with(defs));
+        return new MapElements(rootAttributes, dimension, items, groupAreas, relations, defs);
     }
 
     @Nullable
@@ -165,26 +203,39 @@ public class SVGDocument extends Component {
 
     /**
      * Iterates over all items and invokes pathfinding for their relations.
+     *
+     * Paths are searched in parallel once the hex map is complete, the order of the relations is kept.
      */
     private List<SVGRelation> getRelations(LayoutedComponent layouted) {
-        List<SVGRelation> relations = new ArrayList<>();
+        List<LayoutedComponent> sources = new ArrayList<>();
+        List<Relation> outgoing = new ArrayList<>();
         layouted.getChildren().forEach(layoutedGroup -> {
             layoutedGroup.getChildren().forEach(layoutedItem -> {
                 Item item = (Item) layoutedItem.getComponent();
                 LOGGER.debug("Adding {} relations for {}", item.getRelations().size(), item.getFullyQualifiedIdentifier());
                 item.getRelations().stream()
                         .filter(rel -> rel.getSource().equals(item)) //do not paint twice / incoming (inverse) relations
-                        .map(rel -> getSvgRelation(layoutedItem, item, rel))
-                        .filter(Objects::nonNull)
-                        .forEach(relations::add);
+                        .forEach(rel -> {
+                            sources.add(layoutedItem);
+                            outgoing.add(rel);
+                        });
             });
         });
 
+        List<Optional<HexPath>> paths = hexMap.getPaths(outgoing);
+        List<SVGRelation> relations = new ArrayList<>();
+        for (int i = 0; i < outgoing.size(); i++) {
+            SVGRelation svgRelation = getSvgRelation(sources.get(i), outgoing.get(i), paths.get(i));
+            if (svgRelation != null) {
+                relations.add(svgRelation);
+            }
+        }
+
         return relations;
     }
 
-    private SVGRelation getSvgRelation(LayoutedComponent layoutedItem, Item source, Relation rel) {
-        Optional<HexPath> bestPath = hexMap.getPath(source, rel.getTarget());
+    private SVGRelation getSvgRelation(LayoutedComponent layoutedItem, Relation rel, Optional<HexPath> bestPath) {
+        Item source = rel.getSource();
         if (bestPath.isPresent()) {
             List<StatusValue> statusValues = assessment.getResults().get(source.getFullyQualifiedIdentifier());
             StatusValue worst = Assessable.getWorst(statusValues);
@@ -197,7 +248,69 @@ public class SVGDocument extends Component {
     }
 
     public String getXML() {
-        return render().render();
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Receives the children of the svg element.
+     */
+    @FunctionalInterface
+    interface ChildConsumer {
+        void accept(DomContent child) throws IOException;
+    }
+
+    /**
+     * The prepared map, its elements are rendered when the children are consumed.
+     */
+    private class MapElements {
+
+        private final List<Attribute> rootAttributes;
+        private final SVGDimension dimension;
+        private final List<SVGItem> items;
+        private final List<SVGGroupArea> groupAreas;
+        private final List<SVGRelation> relations;
+        private final List<DomContent> defs;
+
+        MapElements(List<Attribute> rootAttributes,
+            SVGDimension dimension,
+            List<SVGItem> items,
+            List<SVGGroupArea> groupAreas,
+            List<SVGRelation> relations,
+            List<DomContent> defs
+        ) {
+            this.rootAttributes = rootAttributes;
+            this.dimension = dimension;
+            this.items = items;
+            this.groupAreas = groupAreas;
+            this.relations = relations;
+            this.defs = defs;
+        }
+
+        /**
+         * Passes the children of the svg element in document order.
+         */
+        void forEachChild(ChildConsumer consumer) throws IOException {
+            consumer.accept(rawHtml("<style>\n" + cssStyles + "</style>"));
+            DomContent logo = getLogo(dimension);
+            if (logo != null) {
+                consumer.accept(logo);
+            }
+            consumer.accept(getTitle(dimension));
+            renderEach(groupAreas, SVGGroupArea::render, consumer);
+            renderEach(relations, SVGRelation::render, consumer);
+            //draw items above relations
+            renderEach(items, SVGItem::render, consumer);
+            // draw group labels above everything
+            renderEach(groupAreas, SVGGroupArea::getLabel, consumer);
+            //defs contain reusable stuff
+            consumer.accept(SvgTagCreator.defs().with(defs));
+        }
     }
 }
 
@@ -54,10 +54,9 @@ class SVGRelation extends Component {
 
         var fillId = "#" + fill;
 
-        //the bezier path is only used to interpolate the "stringPath"
-        BezierPath bezierPath = new BezierPath();
-        var points = String.join("", hexPath.getPoints());
-        bezierPath.parsePathString(points);
+        //the bezier path is only used to interpolate the label position
+        BezierPath bezierPath = hexPath.getBezierPath();
+        String points = hexPath.getPathData();
 
         String statusColor = statusValue.getStatus().getName();
 
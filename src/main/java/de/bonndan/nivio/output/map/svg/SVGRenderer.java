@@ -11,10 +11,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StreamUtils;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 
 /**
  * Turns the layouted landscape into a SVG image.
@@ -41,8 +38,8 @@ public class SVGRenderer implements Renderer<SVGDocument> {
 
     @Override
     public void render(@NonNull final LayoutedComponent landscape, @NonNull final Assessment assessment, @NonNull final File file, boolean debug) {
-        try (FileWriter fileWriter = new FileWriter(file)) {
-            fileWriter.write(render(landscape, assessment, debug).getXML());
+        try (Writer writer = new BufferedWriter(new FileWriter(file))) {
+            render(landscape, assessment, debug).write(writer);
         } catch (IOException e) {
             LOGGER.error("Failed to render to file", e);
         }
@@ -4,8 +4,11 @@ import com.googlecode.cqengine.ConcurrentIndexedCollection;
 import com.googlecode.cqengine.IndexedCollection;
 import com.googlecode.cqengine.attribute.Attribute;
 import com.googlecode.cqengine.attribute.support.SimpleFunction;
+import com.googlecode.cqengine.index.hash.HashIndex;
 import com.googlecode.cqengine.query.Query;
+import com.googlecode.cqengine.query.option.QueryOptions;
 import com.googlecode.cqengine.query.parser.common.InvalidQueryException;
+import com.googlecode.cqengine.query.parser.common.ParseResult;
 import com.googlecode.cqengine.query.parser.sql.SQLParser;
 import com.googlecode.cqengine.resultset.ResultSet;
 import de.bonndan.nivio.input.dto.ItemDescription;
@@ -20,6 +23,9 @@ import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +43,7 @@ public class ItemIndex<T extends ItemComponent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ItemIndex.class);
     public static final String CQE_FIELD_FQI = "fqi";
+    static final int QUERY_CACHE_SIZE = 128;
 
     /**
      * The {@link com.googlecode.cqengine.query.QueryFactory#attribute(String, SimpleFunction)})} relies on a method
@@ -87,12 +94,53 @@ public class ItemIndex<T extends ItemComponent> {
 
     private final SQLParser<T> parser;
 
-    private IndexedCollection<T> index = new ConcurrentIndexedCollection<>();
+    /**
+     * parsed queries by condition string
+     */
+    private final Map<String, ParseResult<T>> queryCache = Collections.synchronizedMap(new LinkedHashMap<>(QUERY_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParseResult<T>> eldest) {
+            return size() > QUERY_CACHE_SIZE;
+        }
+    });
+
+    private final boolean indexAttributes;
+
+    private IndexedCollection<T> index;
+
+    /**
+     * Items by lower-cased identifier and by lower-cased group and identifier, used to narrow down
+     * {@link #findAll(ItemMatcher)}. A missing group or identifier is stored as empty string, since it matches every
+     * value.
+     */
+    private volatile Map<String, List<T>> byIdentifier = new ConcurrentHashMap<>();
+    private volatile Map<String, List<T>> byGroupAndIdentifier = new ConcurrentHashMap<>();
+
+    /**
+     * Counts changes of identifiers and groups of the items after adding, see {@link #ensureKeysAreCurrent()}.
+     */
+    private final LongSupplier keyModifications;
+    private volatile long indexedKeyModifications;
 
     /**
      * Creates a new empty index.
      */
     public ItemIndex(Class<T> tClass) {
+        this(tClass, false);
+    }
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param tClass          item class
+     * @param indexAttributes whether to create hash indexes on the queryable attributes. Only use for items which are
+     *                        not modified after being added, since attribute values are indexed on insertion.
+     */
+    public ItemIndex(Class<T> tClass, boolean indexAttributes) {
+        this.indexAttributes = indexAttributes;
+        //only descriptions are modified after being added
+        this.keyModifications = indexAttributes ? () -> 0L : ItemDescription::getKeyModifications;
+        this.indexedKeyModifications = keyModifications.getAsLong();
 
         //init cq engine
         parser = SQLParser.forPojoWithAttributes(tClass,
@@ -102,7 +150,18 @@ public class ItemIndex<T extends ItemComponent> {
                         "name", CQE_ATTR_NAME,
                         "address", CQE_ATTR_ADDRESS)
         );
+        index = newCollection();
+    }
 
+    private IndexedCollection<T> newCollection() {
+        IndexedCollection<T> collection = new ConcurrentIndexedCollection<>();
+        if (indexAttributes) {
+            collection.addIndex(HashIndex.onAttribute(CQE_ATTR_FQI));
+            collection.addIndex(HashIndex.onAttribute(CQE_ATTR_IDENTIFIER));
+            collection.addIndex(HashIndex.onAttribute(CQE_ATTR_NAME));
+            collection.addIndex(HashIndex.onAttribute(CQE_ATTR_ADDRESS));
+        }
+        return collection;
     }
 
     public Stream<T> itemStream() {
@@ -110,8 +169,12 @@ public class ItemIndex<T extends ItemComponent> {
     }
 
     public void setItems(Set<T> items) {
-        index = new ConcurrentIndexedCollection<>();
-        index.addAll(items);
+        IndexedCollection<T> newIndex = newCollection();
+        newIndex.addAll(items);
+        synchronized (this) {
+            index = newIndex;
+            rebuildKeys();
+        }
     }
 
     /**
@@ -160,8 +223,10 @@ public class ItemIndex<T extends ItemComponent> {
         return index;
     }
 
-    public void add(T item) {
-        index.add(item);
+    public synchronized void add(T item) {
+        if (index.add(item)) {
+            addToKeys(item, byIdentifier, byGroupAndIdentifier);
+        }
     }
 
     /**
@@ -230,7 +295,14 @@ public class ItemIndex<T extends ItemComponent> {
 
     public List<T> cqnQueryOnIndex(String condition) {
         try {
-            ResultSet<T> results = parser.retrieve(index, condition);
+            ParseResult<T> parsed = queryCache.get(condition);
+            if (parsed == null) {
+                parsed = parser.parse(condition);
+                queryCache.put(condition, parsed);
+            }
+            //query options are modified during retrieval, so they are not shared
+            QueryOptions queryOptions = new QueryOptions(new HashMap<>(parsed.getQueryOptions().getOptions()));
+            ResultSet<T> results = index.retrieve(parsed.getQuery(), queryOptions);
             return results.stream().collect(Collectors.toList());
         } catch (InvalidQueryException e) {
             throw new RuntimeException(String.format("Failed to run query '%s'", condition), e);
@@ -244,12 +316,27 @@ public class ItemIndex<T extends ItemComponent> {
     /**
      * Find all items matching the given matcher.
      *
+     * If the matcher has an item identifier, only items with the same identifier (or without identifier) are compared.
+     *
      * @param itemMatcher the search criteria
      * @return list of results
      */
     public List<T> findAll(@NonNull final ItemMatcher itemMatcher) {
         Objects.requireNonNull(itemMatcher, "ItemMatcher is null");
-        return itemStream()
+        Stream<T> candidates;
+        if (StringUtils.isEmpty(itemMatcher.getItem())) {
+            candidates = itemStream();
+        } else {
+            ensureKeysAreCurrent();
+            String identifier = itemMatcher.getItem().toLowerCase();
+            if (StringUtils.isEmpty(itemMatcher.getGroup())) {
+                candidates = getBuckets(byIdentifier, identifier, "");
+            } else {
+                String group = itemMatcher.getGroup().toLowerCase();
+                candidates = getBuckets(byGroupAndIdentifier, getKey(group, identifier), getKey("", identifier), getKey(group, ""), getKey("", ""));
+            }
+        }
+        return candidates
                 .filter(item -> itemMatcher.isSimilarTo(item.getFullyQualifiedIdentifier()))
                 .collect(Collectors.toList());
     }
@@ -300,8 +387,65 @@ public class ItemIndex<T extends ItemComponent> {
     }
 
 
-    public void remove(T item) {
-        index.remove(item);
+    public synchronized void remove(T item) {
+        if (!index.remove(item)) {
+            return;
+        }
+        ensureKeysAreCurrent();
+        byIdentifier.getOrDefault(getIdentifierKey(item), new ArrayList<>()).remove(item);
+        byGroupAndIdentifier.getOrDefault(getKey(getGroupKey(item), getIdentifierKey(item)), new ArrayList<>()).remove(item);
+    }
+
+    /**
+     * Rebuilds the key indexes if identifiers or groups of items have been changed after adding.
+     */
+    private void ensureKeysAreCurrent() {
+        long modifications = keyModifications.getAsLong();
+        if (modifications == indexedKeyModifications) {
+            return;
+        }
+        synchronized (this) {
+            if (modifications != indexedKeyModifications) {
+                rebuildKeys();
+                indexedKeyModifications = modifications;
+            }
+        }
+    }
+
+    private void rebuildKeys() {
+        Map<String, List<T>> identifiers = new ConcurrentHashMap<>();
+        Map<String, List<T>> groupsAndIdentifiers = new ConcurrentHashMap<>();
+        index.forEach(item -> addToKeys(item, identifiers, groupsAndIdentifiers));
+        byIdentifier = identifiers;
+        byGroupAndIdentifier = groupsAndIdentifiers;
+    }
+
+    private void addToKeys(T item, Map<String, List<T>> identifiers, Map<String, List<T>> groupsAndIdentifiers) {
+        String identifier = getIdentifierKey(item);
+        identifiers.computeIfAbsent(identifier, s -> new CopyOnWriteArrayList<>()).add(item);
+        groupsAndIdentifiers.computeIfAbsent(getKey(getGroupKey(item), identifier), s -> new CopyOnWriteArrayList<>()).add(item);
+    }
+
+    private Stream<T> getBuckets(Map<String, List<T>> keyIndex, String... keys) {
+        List<T> items = new ArrayList<>();
+        for (String key : keys) {
+            items.addAll(keyIndex.getOrDefault(key, List.of()));
+        }
+        return items.stream();
+    }
+
+    private static String getIdentifierKey(ItemComponent item) {
+        String identifier = item.getFullyQualifiedIdentifier().getItem();
+        return StringUtils.isEmpty(identifier) ? "" : identifier.toLowerCase();
+    }
+
+    private static String getGroupKey(ItemComponent item) {
+        String group = item.getFullyQualifiedIdentifier().getGroup();
+        return StringUtils.isEmpty(group) ? "" : group.toLowerCase();
+    }
+
+    private static String getKey(String group, String identifier) {
+        return group + FullyQualifiedIdentifier.SEPARATOR + identifier;
     }
 
     /**
@@ -5,6 +5,7 @@ import de.bonndan.nivio.model.Item;
 import de.bonndan.nivio.model.Label;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.facet.FacetField;
 import org.apache.lucene.facet.FacetsConfig;
@@ -29,6 +30,10 @@ public class SearchDocumentFactory {
     public static final String LUCENE_FIELD_DESCRIPTION = "description";
     public static final String LUCENE_FIELD_CONTACT = "contact";
     public static final String LUCENE_FIELD_FQI = "fqi";
+    /**
+     * untokenized fqi, used to update documents
+     */
+    public static final String LUCENE_FIELD_FQI_TERM = "fqi_term";
     public static final String LUCENE_FIELD_COMPONENT_TYPE = "component";
     public static final String LUCENE_FIELD_GROUP = "group";
     public static final String LUCENE_FIELD_ITEM_TYPE = "type";
@@ -73,6 +78,7 @@ public class SearchDocumentFactory {
 
         addTextField.accept(LUCENE_FIELD_COMPONENT_TYPE, "item");
         addTextField.accept(LUCENE_FIELD_FQI, item.getFullyQualifiedIdentifier().toString());
+        document.add(new StringField(LUCENE_FIELD_FQI_TERM, item.getFullyQualifiedIdentifier().toString(), Field.Store.NO));
         addTextField.accept(LUCENE_FIELD_IDENTIFIER, item.getIdentifier());
         addTextField.accept(LUCENE_FIELD_NAME, item.getName());
         addTextField.accept(LUCENE_FIELD_CONTACT, item.getContact());
@@ -2,6 +2,8 @@ package de.bonndan.nivio.search;
 
 import de.bonndan.nivio.assessment.Assessment;
 import de.bonndan.nivio.assessment.StatusValue;
+import de.bonndan.nivio.input.ProcessingChangelog;
+import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.model.Component;
 import de.bonndan.nivio.model.FullyQualifiedIdentifier;
 import de.bonndan.nivio.model.Item;
@@ -13,22 +15,24 @@ import org.apache.lucene.facet.Facets;
 import org.apache.lucene.facet.FacetsCollector;
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.taxonomy.FastTaxonomyFacetCounts;
-import org.apache.lucene.facet.taxonomy.TaxonomyWriter;
-import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyReader;
+import org.apache.lucene.facet.taxonomy.SearcherTaxonomyManager;
 import org.apache.lucene.facet.taxonomy.directory.DirectoryTaxonomyWriter;
 import org.apache.lucene.index.*;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.RAMDirectory;
 import org.apache.lucene.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,55 +41,215 @@ import static de.bonndan.nivio.search.SearchDocumentFactory.*;
 
 /**
  * A lucene based search index on all landscape items.
+ *
+ * The index is kept in memory and updated incrementally: only documents of items which have been created, changed or
+ * removed according to the processing changelog are written. Searchers and taxonomy readers are shared between
+ * requests and refreshed after each update.
+ *
+ * It is meant to live as long as the landscape identifier, i.e. it is handed over when a landscape is recreated.
  */
-public class SearchIndex {
+public class SearchIndex implements Closeable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
     public static final String WILDCARD = "*";
     public static final String WHITESPACE = " ";
     public static final String FACET_DELIMITER = ":";
+    static final int QUERY_CACHE_SIZE = 256;
+
+    /**
+     * changelog component types of items, created items are logged with their description
+     */
+    private static final Set<String> ITEM_COMPONENT_TYPES = Set.of(Item.class.getSimpleName(), ItemDescription.class.getSimpleName());
 
     private final Directory searchIndex;
     private final Directory taxoIndex;
 
+    private IndexWriter writer;
+    private DirectoryTaxonomyWriter taxoWriter;
+    private volatile SearcherTaxonomyManager searcherManager;
+
+    /**
+     * results of recent searches (rewritten query -> fqis), cleared when the index is refreshed
+     */
+    private final Map<String, Set<FullyQualifiedIdentifier>> queryCache = new LinkedHashMap<>(QUERY_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Set<FullyQualifiedIdentifier>> eldest) {
+            return size() > QUERY_CACHE_SIZE;
+        }
+    };
+    private long generation = 0;
+
+    /**
+     * fqi -> kpi results the document has been built with
+     */
+    private final Map<String, String> assessed = new HashMap<>();
+
     /**
      * Creates a new empty index.
      */
     public SearchIndex() {
 
         //init lucene
-        searchIndex = new RAMDirectory();
-        taxoIndex = new RAMDirectory();
+        searchIndex = new ByteBuffersDirectory();
+        taxoIndex = new ByteBuffersDirectory();
     }
 
     /**
+     * Replaces the indexed documents with documents of all current landscape items.
      *
-     * @param landscape
-     * @param assessment
+     * @param landscape  the landscape
+     * @param assessment the current assessment
      */
-    public void indexForSearch(Landscape landscape, Assessment assessment) {
-        Set<Item> items = landscape.getItems().all();
-        indexItems(items, assessment.getResults());
+    public void indexForSearch(@NonNull Landscape landscape, @NonNull Assessment assessment) {
+        indexItems(landscape.getItems().all(), assessment.getResults());
     }
 
     /**
-     * Creates a search index based in a snapshot of current items state (later modifications won't be shown).
+     * Updates the documents of the items which have been created, updated or deleted according to the changelog, and
+     * of those whose kpi results have changed.
+     *
+     * All documents are written if the index is empty or no changelog is given.
      *
+     * @param landscape  the landscape
+     * @param assessment the current assessment
+     * @param changelog  the changes of the last processing run
      */
-    private void indexItems(Set<Item> items, Map<FullyQualifiedIdentifier, List<StatusValue>> results) {
+    public void indexForSearch(@NonNull Landscape landscape,
+                               @NonNull Assessment assessment,
+                               @Nullable ProcessingChangelog changelog
+    ) {
+        if (changelog == null) {
+            indexForSearch(landscape, assessment);
+            return;
+        }
+        indexChanges(landscape.getItems(), assessment.getResults(), changelog);
+    }
+
+    /**
+     * Rebuilds the search index based in a snapshot of current items state (later modifications won't be shown).
+     *
+     * @return the number of written documents
+     */
+    synchronized int indexItems(Set<Item> items, Map<FullyQualifiedIdentifier, List<StatusValue>> results) {
         try {
-            FacetsConfig config = SearchDocumentFactory.getConfig();
-            TaxonomyWriter taxoWriter = new DirectoryTaxonomyWriter(taxoIndex, IndexWriterConfig.OpenMode.CREATE);
-            IndexWriter writer = new IndexWriter(searchIndex, new IndexWriterConfig(new StandardAnalyzer()));
+            open();
             writer.deleteAll();
+            assessed.clear();
             for (Item item : items) {
-                writer.addDocument(config.build(taxoWriter, from(item, results.get(item.getFullyQualifiedIdentifier()))));
+                write(item, results.get(item.getFullyQualifiedIdentifier()));
+            }
+            refresh();
+            LOGGER.debug("Rebuilt search index with {} documents", items.size());
+            return items.size();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update search index", e);
+        }
+    }
+
+    /**
+     * Writes and deletes only the documents of changed items.
+     *
+     * @return the number of written and deleted documents
+     */
+    synchronized int indexChanges(ItemIndex<Item> items,
+                                  Map<FullyQualifiedIdentifier, List<StatusValue>> results,
+                                  ProcessingChangelog changelog
+    ) {
+        if (searcherManager == null) {
+            return indexItems(items.all(), results);
+        }
+
+        try {
+            Map<String, Item> toWrite = new HashMap<>();
+            int deleted = 0;
+            for (Map.Entry<String, ProcessingChangelog.Entry> change : changelog.changes.entrySet()) {
+                if (!ITEM_COMPONENT_TYPES.contains(change.getValue().getComponentType())) {
+                    continue;
+                }
+                String fqi = change.getKey();
+                if (ProcessingChangelog.ChangeType.DELETED.name().equals(change.getValue().getChangeType())) {
+                    writer.deleteDocuments(new Term(LUCENE_FIELD_FQI_TERM, fqi));
+                    assessed.remove(fqi);
+                    deleted++;
+                    continue;
+                }
+                //entries of created items may lack the group, which is assigned later
+                items.findAll(ItemMatcher.forTarget(FullyQualifiedIdentifier.from(fqi)))
+                        .forEach(item -> toWrite.put(item.getFullyQualifiedIdentifier().toString(), item));
+            }
+
+            results.forEach((fqi, statusValues) -> {
+                String key = fqi.toString();
+                if (!toWrite.containsKey(key) && assessed.containsKey(key) && !getAssessed(statusValues).equals(assessed.get(key))) {
+                    items.findAll(ItemMatcher.forTarget(fqi)).forEach(item -> toWrite.put(key, item));
+                }
+            });
+
+            for (Item item : toWrite.values()) {
+                write(item, results.get(item.getFullyQualifiedIdentifier()));
+            }
+
+            if (!toWrite.isEmpty() || deleted > 0) {
+                refresh();
             }
-            IOUtils.close(writer, taxoWriter);
+            LOGGER.debug("Updated search index: {} documents written, {} deleted", toWrite.size(), deleted);
+            return toWrite.size() + deleted;
         } catch (IOException e) {
             throw new RuntimeException("Failed to update search index", e);
         }
+    }
+
+    private void write(Item item, @Nullable List<StatusValue> statusValues) throws IOException {
+        String fqi = item.getFullyQualifiedIdentifier().toString();
+        Document document = SearchDocumentFactory.getConfig().build(taxoWriter, from(item, statusValues));
+        writer.updateDocument(new Term(LUCENE_FIELD_FQI_TERM, fqi), document);
+        assessed.put(fqi, getAssessed(statusValues));
+    }
+
+    private void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        synchronized (queryCache) {
+            queryCache.clear();
+            generation++;
+        }
+    }
 
+    private void open() throws IOException {
+        if (searcherManager != null) {
+            return;
+        }
+        taxoWriter = new DirectoryTaxonomyWriter(taxoIndex, IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(searchIndex, new IndexWriterConfig(new StandardAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherTaxonomyManager(writer, null, taxoWriter);
+    }
+
+    /**
+     * Closes the writers and searchers. The index is empty afterwards, it is reopened on the next update.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (searcherManager == null) {
+            return;
+        }
+        SearcherTaxonomyManager manager = searcherManager;
+        searcherManager = null;
+        assessed.clear();
+        synchronized (queryCache) {
+            queryCache.clear();
+            generation++;
+        }
+        IOUtils.close(manager, writer, taxoWriter);
+        writer = null;
+        taxoWriter = null;
+    }
+
+    private static String getAssessed(@Nullable List<StatusValue> statusValues) {
+        if (statusValues == null) {
+            return "";
+        }
+        return statusValues.stream()
+                .map(statusValue -> statusValue.getField() + "=" + statusValue.getStatus() + ":" + statusValue.getMessage())
+                .collect(Collectors.joining("\n"));
     }
 
     /**
@@ -97,10 +261,34 @@ public class SearchIndex {
      */
     @NonNull
     public Set<FullyQualifiedIdentifier> search(@NonNull final String queryString) {
+        SearcherTaxonomyManager manager = searcherManager;
+        if (manager == null) {
+            return new HashSet<>();
+        }
+        String rewritten = rewriteQuery(queryString);
+        long searchedGeneration;
+        synchronized (queryCache) {
+            Set<FullyQualifiedIdentifier> cached = queryCache.get(rewritten);
+            if (cached != null) {
+                return new HashSet<>(cached);
+            }
+            searchedGeneration = generation;
+        }
+
         try {
-            return documentSearch(rewriteQuery(queryString)).stream()
+            Set<FullyQualifiedIdentifier> result = documentSearch(manager, rewritten).stream()
                     .map(doc -> FullyQualifiedIdentifier.from(doc.get(LUCENE_FIELD_FQI)))
                     .collect(Collectors.toSet());
+            synchronized (queryCache) {
+                //do not cache results of a searcher which has been replaced in the meantime
+                if (searchedGeneration == generation) {
+                    queryCache.put(rewritten, Set.copyOf(result));
+                }
+            }
+            return result;
+        } catch (AlreadyClosedException e) {
+            LOGGER.debug("Search index has been closed during search for '{}'", queryString);
+            return new HashSet<>();
         } catch (IOException | ParseException e) {
             throw new RuntimeException(String.format("Failed to execute search for '%s'", queryString));
         }
@@ -132,18 +320,24 @@ public class SearchIndex {
      * @return top 10 facets
      */
     public List<FacetResult> facets() {
+        SearcherTaxonomyManager manager = searcherManager;
+        if (manager == null) {
+            return new ArrayList<>();
+        }
         try {
-            DirectoryReader ireader = DirectoryReader.open(searchIndex);
-            IndexSearcher searcher = new IndexSearcher(ireader);
+            SearcherTaxonomyManager.SearcherAndTaxonomy searcherAndTaxonomy = manager.acquire();
+            try {
+                FacetsCollector fc = new FacetsCollector();
+                FacetsConfig config = getConfig();
+                FacetsCollector.search(searcherAndTaxonomy.searcher, new MatchAllDocsQuery(), 10, fc);
 
-            DirectoryTaxonomyReader taxoReader = new DirectoryTaxonomyReader(taxoIndex);
-            FacetsCollector fc = new FacetsCollector();
-            FacetsConfig config = getConfig();
-            FacetsCollector.search(searcher, new MatchAllDocsQuery(), 10, fc);
-
-            Facets facets = new FastTaxonomyFacetCounts(taxoReader, config, fc);
-            ireader.close();
-            return facets.getAllDims(10);
+                Facets facets = new FastTaxonomyFacetCounts(searcherAndTaxonomy.taxonomyReader, config, fc);
+                return facets.getAllDims(10);
+            } finally {
+                manager.release(searcherAndTaxonomy);
+            }
+        } catch (AlreadyClosedException e) {
+            return new ArrayList<>();
         } catch (IOException e) {
             LOGGER.warn("Unable to get the facets for the given query error: ", e);
         }
@@ -151,26 +345,28 @@ public class SearchIndex {
         return null;
     }
 
-    private List<Document> documentSearch(String queryString) throws IOException, ParseException {
+    private List<Document> documentSearch(SearcherTaxonomyManager manager, String queryString) throws IOException, ParseException {
 
-        DirectoryReader ireader = DirectoryReader.open(searchIndex);
-        IndexSearcher isearcher = new IndexSearcher(ireader);
-        // Parse a simple query that searches for "text":
-        QueryParser parser = new MultiFieldQueryParser(new String[]{LUCENE_FIELD_IDENTIFIER, LUCENE_FIELD_NAME, LUCENE_FIELD_DESCRIPTION}, new StandardAnalyzer());
-        parser.setAllowLeadingWildcard(true);
-        parser.setSplitOnWhitespace(true);
-        parser.setDefaultOperator(QueryParser.Operator.AND);
-        Query query = parser.parse(queryString);
-        ScoreDoc[] hits = isearcher.search(query, 10).scoreDocs;
+        SearcherTaxonomyManager.SearcherAndTaxonomy searcherAndTaxonomy = manager.acquire();
+        IndexSearcher isearcher = searcherAndTaxonomy.searcher;
+        try {
+            // Parse a simple query that searches for "text":
+            QueryParser parser = new MultiFieldQueryParser(new String[]{LUCENE_FIELD_IDENTIFIER, LUCENE_FIELD_NAME, LUCENE_FIELD_DESCRIPTION}, new StandardAnalyzer());
+            parser.setAllowLeadingWildcard(true);
+            parser.setSplitOnWhitespace(true);
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            Query query = parser.parse(queryString);
+            ScoreDoc[] hits = isearcher.search(query, 10).scoreDocs;
 
-        List<Document> documents = new ArrayList<>();
-        // Iterate through the results:
-        for (ScoreDoc hit : hits) {
-            Document hitDoc = isearcher.doc(hit.doc);
-            documents.add(hitDoc);
+            List<Document> documents = new ArrayList<>();
+            // Iterate through the results:
+            for (ScoreDoc hit : hits) {
+                Document hitDoc = isearcher.doc(hit.doc);
+                documents.add(hitDoc);
+            }
+            return documents;
+        } finally {
+            manager.release(searcherAndTaxonomy);
         }
-        ireader.close();
-
-        return documents;
     }
 }
@@ -8,12 +8,11 @@ import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
-
 /**
- * Triggers rebuilding of the search index after successful processing.
- *
+ * Triggers updating of the search index after successful processing.
  *
+ * Only documents of items listed in the changelog of the processing run, or whose kpi results have changed, are
+ * rewritten.
  */
 @Component
 public class SearchIndexingEventListener {
@@ -25,6 +24,6 @@ public class SearchIndexingEventListener {
 
         //see https://github.com/dedica-team/nivio/issues/519
         Assessment assessment = new Assessment(landscape.applyKPIs(landscape.getKpis()));
-        searchIndex.indexForSearch(landscape, assessment);
+        searchIndex.indexForSearch(landscape, assessment, event.getChangelog());
     }
 }
@@ -0,0 +1,184 @@
+package de.bonndan.nivio.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedEventExecutorTest {
+
+    private KeyedEventExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void sameKeyRunsInOrder() throws InterruptedException {
+        executor = new KeyedEventExecutor(4, 100);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            executor.execute("a", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(n);
+                sleep(2);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        assertThat(order).isSorted().hasSize(20);
+        assertEquals(0, executor.getPending());
+    }
+
+    @Test
+    void differentKeysRunInParallel() throws InterruptedException {
+        executor = new KeyedEventExecutor(2, 100);
+        CountDownLatch bStarted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        executor.execute("a", () -> {
+            try {
+                //blocks until b runs, which would time out if b waited for a
+                if (bStarted.await(5, TimeUnit.SECONDS)) {
+                    done.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute("b", () -> {
+            bStarted.countDown();
+            done.countDown();
+        });
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failingTaskDoesNotBlockKey() throws InterruptedException {
+        executor = new KeyedEventExecutor(1, 10);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("a", () -> {
+            throw new RuntimeException("test");
+        });
+        executor.execute("a", done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectedTasksRunInCallerAndAreCounted() throws InterruptedException {
+        executor = new KeyedEventExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(null, blocking);
+        executor.execute(null, blocking);
+
+        Thread caller = Thread.currentThread();
+        List<Thread> ranIn = new CopyOnWriteArrayList<>();
+        executor.execute(null, () -> ranIn.add(Thread.currentThread()));
+        release.countDown();
+
+        assertThat(ranIn).containsExactly(caller);
+        assertEquals(1, executor.getRejected());
+    }
+
+    @Test
+    void fullQueueDelaysSubmitterAndDeliversLastTask() throws InterruptedException {
+        executor = new KeyedEventExecutor(1, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        executor.execute("a", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        //wait until the first task is running
+        while (executor.getPending() > 0) {
+            sleep(1);
+        }
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                int n = i;
+                executor.execute("a", () -> ran.add(n));
+            }
+            submitted.countDown();
+        });
+        submitter.start();
+
+        //the queue is full, the submitter waits
+        assertFalse(submitted.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(5, executor.getPending());
+        assertThat(executor.getRejected()).isPositive();
+
+        release.countDown();
+        assertTrue(submitted.await(5, TimeUnit.SECONDS));
+        while (ran.size() < 20) {
+            sleep(1);
+        }
+        assertThat(ran).isSorted().hasSize(20).endsWith(19);
+    }
+
+    @Test
+    void executorThreadsDoNotWaitForCapacity() throws InterruptedException {
+        executor = new KeyedEventExecutor(1, 1);
+        CountDownLatch done = new CountDownLatch(3);
+        executor.execute("a", () -> {
+            //the nested tasks exceed the capacity, waiting for it would block the only thread
+            executor.execute("a", done::countDown);
+            executor.execute("a", done::countDown);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void exposesMetrics() {
+        executor = new KeyedEventExecutor(1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+
+        assertThat(registry.find(KeyedEventExecutor.METRIC_PREFIX + ".pending").gauge()).isNotNull();
+        assertThat(registry.find(KeyedEventExecutor.METRIC_PREFIX + ".rejected").functionCounter()).isNotNull();
+        assertThat(registry.find("executor.queued").tag("name", KeyedEventExecutor.METRIC_PREFIX).gauge()).isNotNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
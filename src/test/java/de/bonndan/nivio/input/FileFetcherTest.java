@@ -8,11 +8,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class FileFetcherTest {
@@ -54,4 +58,18 @@ public class FileFetcherTest {
         assertEquals("http://acme.org/somedir/files/one.yml", s);
     }
 
+    @Test
+    public void fingerprintChangesOnSameSizeRewrite() throws IOException {
+        File file = File.createTempFile("source", ".yml");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "items: [a]");
+        long modified = file.lastModified();
+        SourceReference ref = new SourceReference(file.toURI().toString());
+        String before = fileFetcher.getFingerprint(ref, null).orElseThrow();
+
+        Files.writeString(file.toPath(), "items: [b]");
+        assertTrue(file.setLastModified(modified));
+
+        assertNotEquals(before, fileFetcher.getFingerprint(ref, null).orElseThrow());
+    }
 }
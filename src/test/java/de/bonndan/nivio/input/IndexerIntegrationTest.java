@@ -6,6 +6,8 @@ import de.bonndan.nivio.input.external.LinkHandlerFactory;
 import de.bonndan.nivio.model.*;
 import de.bonndan.nivio.output.icons.IconService;
 import de.bonndan.nivio.search.ItemIndex;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +49,12 @@ public class IndexerIntegrationTest {
     @Autowired
     IconService iconService;
 
+    @Autowired
+    SourceReferenceCache sourceReferenceCache;
+
+    @Autowired
+    SourceReaderExecutor sourceReaders;
+
     @Mock
     LinkHandlerFactory linkHandlerFactory;
 
@@ -61,7 +69,7 @@ public class IndexerIntegrationTest {
         File file = new File(getRootPath() + path);
         LandscapeDescription landscapeDescription = landscapeDescriptionFactory.fromYaml(file);
 
-        Indexer indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, applicationEventPublisher, iconService);
+        Indexer indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, applicationEventPublisher, iconService, sourceReferenceCache, sourceReaders);
 
         indexer.index(landscapeDescription);
         return landscapeRepository.findDistinctByIdentifier(landscapeDescription.getIdentifier()).orElseThrow();
@@ -184,7 +192,7 @@ public class IndexerIntegrationTest {
         exsistingWordPress.setName("Other name");
         landscapeDescription.getItemDescriptions().add(exsistingWordPress);
 
-        Indexer indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, applicationEventPublisher, iconService);
+        Indexer indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, applicationEventPublisher, iconService, sourceReferenceCache, sourceReaders);
 
         //created
         indexer.index(landscapeDescription);
@@ -209,6 +217,35 @@ public class IndexerIntegrationTest {
         assertThat(changelog.changes).containsKey("nivio:example/content/wordpress-web");
     }
 
+    @Test
+    public void recordsStages() {
+        File file = new File(getRootPath() + "/src/test/resources/example/example_env.yml");
+        LandscapeDescription landscapeDescription = landscapeDescriptionFactory.fromYaml(file);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Indexer indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, applicationEventPublisher, iconService, sourceReferenceCache, sourceReaders, registry);
+
+        indexer.index(landscapeDescription);
+
+        ArgumentCaptor<ProcessingFinishedEvent> captor = ArgumentCaptor.forClass(ProcessingFinishedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        List<StageMetric> stages = captor.getValue().getStages();
+        assertThat(stages).extracting(stageMetric -> stageMetric.stage)
+                .startsWith("SourceReferencesResolver", "TemplateResolver")
+                .endsWith("DiffProcessor", "GroupProcessor", "ItemRelationProcessor", "AppearanceProcessor");
+        StageMetric diff = stages.get(stages.size() - 4);
+        assertEquals(17, diff.itemsIn);
+        assertEquals(17, diff.itemsOut);
+
+        Landscape landscape = landscapeRepository.findDistinctByIdentifier(landscapeDescription.getIdentifier()).orElseThrow();
+        assertThat(landscape.getLog().getStages()).isEqualTo(stages);
+
+        Timer timer = registry.get("nivio.indexer.stage")
+                .tag("landscape", landscapeDescription.getIdentifier())
+                .tag("stage", "DiffProcessor")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
     /**
      * Ensures that same names in different landscapes do not collide
      */
@@ -108,4 +108,25 @@ class ItemRelationProcessorTest {
         Item baz = landscape.getItems().pick("baz", "a");
         assertThat(baz.getRelations()).hasSize(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void processRemovesRelationToRemovedItem() {
+
+        ItemDescription description = new ItemDescription("foo");
+        description.setGroup("a");
+        description.addRelation(new RelationDescription("foo", "bar"));
+        input.mergeItems(List.of(description));
+
+        //baz has been removed by the diff processor
+        Set<Item> items = new HashSet<>(landscape.getItems().all());
+        items.remove(landscape.getItems().pick("baz", "a"));
+        landscape.setItems(items);
+
+        //when
+        ProcessingChangelog process = processor.process(input, landscape);
+
+        //then
+        assertThat(process.changes).containsOnlyKeys("test/a/foo;test/a/baz");
+        assertThat(landscape.getItems().pick("foo", "a").getRelations()).hasSize(1);
+    }
+}
@@ -8,6 +8,7 @@ import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.input.nivio.InputFormatHandlerNivio;
 import de.bonndan.nivio.model.RelationType;
 import de.bonndan.nivio.util.RootPath;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -32,15 +33,25 @@ class RelationEndpointResolverTest {
     @Mock
     ProcessLog log;
 
+    private HttpService httpService;
+    private SourceReaderExecutor sourceReaders;
 
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
+        sourceReaders = new SourceReaderExecutor(4, 16);
         log = new ProcessLog(Mockito.mock(Logger.class), "test");
         relationEndpointResolver = new RelationEndpointResolver(log);
         FileFetcher fileFetcher = new FileFetcher(mock(HttpService.class));
         factory = new LandscapeDescriptionFactory(fileFetcher);
     }
 
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
+        sourceReaders.shutdown();
+    }
+
     @Test
     public void assignTemplateWithRegex() {
 
@@ -102,10 +113,10 @@ class RelationEndpointResolverTest {
         LandscapeDescription landscapeDescription = factory.fromYaml(file);
 
         InputFormatHandlerFactory formatFactory = new InputFormatHandlerFactory(
-                new ArrayList<>(Arrays.asList(new InputFormatHandlerNivio(new FileFetcher(new HttpService())), InputFormatHandlerCompose2.forTesting()))
+                new ArrayList<>(Arrays.asList(new InputFormatHandlerNivio(new FileFetcher(httpService)), new InputFormatHandlerCompose2(new FileFetcher(httpService))))
         );
         ProcessLog logger = new ProcessLog(mock(Logger.class), "test");
-        SourceReferencesResolver sourceReferencesResolver = new SourceReferencesResolver(formatFactory, logger, mock(ApplicationEventPublisher.class));
+        SourceReferencesResolver sourceReferencesResolver = new SourceReferencesResolver(formatFactory, logger, mock(ApplicationEventPublisher.class), sourceReaders);
         sourceReferencesResolver.resolve(landscapeDescription);
 
         new TemplateResolver(logger).resolve(landscapeDescription);
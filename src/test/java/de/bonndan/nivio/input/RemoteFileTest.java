@@ -24,9 +24,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class RemoteFileTest {
 
     private WireMockServer wireMockServer;
+    private HttpService httpService;
 
     @BeforeEach
     void configureSystemUnderTest() {
+        httpService = new HttpService();
         wireMockServer = new WireMockServer(options().dynamicPort());
         wireMockServer.start();
         WireMock.configureFor("localhost", wireMockServer.port());
@@ -34,6 +36,7 @@ public class RemoteFileTest {
 
     @AfterEach
     void stopWireMockServer() {
+        httpService.close();
         wireMockServer.stop();
     }
 
@@ -49,7 +52,7 @@ public class RemoteFileTest {
 
         String serverUrl = buildApiUrl();
         SourceReference sourceReference = new SourceReference(serverUrl);
-        FileFetcher fetcher = new FileFetcher(new HttpService());
+        FileFetcher fetcher = new FileFetcher(httpService);
         String s = fetcher.get(sourceReference);
         assertEquals(yml, s);
     }
@@ -70,7 +73,7 @@ public class RemoteFileTest {
         SourceReference sourceReference = new SourceReference(serverUrl);
         sourceReference.setHeaderTokenName("PRIVATE_KEY");
         sourceReference.setHeaderTokenValue("xyz");
-        FileFetcher fetcher = new FileFetcher(new HttpService());
+        FileFetcher fetcher = new FileFetcher(httpService);
         String s = fetcher.get(sourceReference);
         assertEquals(yml, s);
     }
@@ -91,7 +94,7 @@ public class RemoteFileTest {
         SourceReference sourceReference = new SourceReference(serverUrl);
         sourceReference.setBasicAuthUsername("x");
         sourceReference.setBasicAuthPassword("y");
-        FileFetcher fetcher = new FileFetcher(new HttpService());
+        FileFetcher fetcher = new FileFetcher(httpService);
         String s = fetcher.get(sourceReference);
         assertEquals(yml, s);
     }
@@ -109,7 +112,7 @@ public class RemoteFileTest {
         SourceReference sourceReference = new SourceReference(serverUrl);
         sourceReference.setBasicAuthUsername("x");
         sourceReference.setBasicAuthPassword("y");
-        FileFetcher fetcher = new FileFetcher(new HttpService());
+        FileFetcher fetcher = new FileFetcher(httpService);
         assertThrows(ReadingException.class,() -> fetcher.get(sourceReference));
     }
 
@@ -1,12 +1,18 @@
 package de.bonndan.nivio.input;
 
 import de.bonndan.nivio.input.compose2.InputFormatHandlerCompose2;
+import de.bonndan.nivio.input.dto.GroupDescription;
+import de.bonndan.nivio.input.dto.InterfaceDescription;
 import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.input.nivio.InputFormatHandlerNivio;
 import de.bonndan.nivio.model.Label;
+import de.bonndan.nivio.model.Link;
+import de.bonndan.nivio.observation.InputFormatObserver;
 import de.bonndan.nivio.util.RootPath;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,14 +22,20 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class SourceReferencesResolverTest {
@@ -35,9 +47,13 @@ public class SourceReferencesResolverTest {
     private LandscapeDescriptionFactory factory;
     private FileFetcher fileFetcher;
     private ApplicationEventPublisher eventPublisher;
+    private HttpService httpService;
+    private SourceReaderExecutor sourceReaders;
 
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
+        sourceReaders = new SourceReaderExecutor(4, 16);
         log = new ProcessLog(LoggerFactory.getLogger(SourceReferencesResolver.class), "test");
         fileFetcher = new FileFetcher(mock(HttpService.class));
         eventPublisher = mock(ApplicationEventPublisher.class);
@@ -45,16 +61,22 @@ public class SourceReferencesResolverTest {
                 new InputFormatHandlerFactory(
                         new ArrayList<>(Arrays.asList(
                                 new InputFormatHandlerNivio(fileFetcher),
-                                InputFormatHandlerCompose2.forTesting())
+                                new InputFormatHandlerCompose2(new FileFetcher(httpService)))
                         )
                 )
                 , log,
-                eventPublisher
+                eventPublisher, sourceReaders
         );
 
         factory = new LandscapeDescriptionFactory(fileFetcher);
     }
 
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
+        sourceReaders.shutdown();
+    }
+
     @Test
     public void resolve() {
 
@@ -82,11 +104,11 @@ public class SourceReferencesResolverTest {
         sourceReferencesResolver = new SourceReferencesResolver(
                 new InputFormatHandlerFactory(
                         new ArrayList<>(Arrays.asList(
-                                new InputFormatHandlerNivio(new FileFetcher(new HttpService())),
-                                InputFormatHandlerCompose2.forTesting())
+                                new InputFormatHandlerNivio(new FileFetcher(httpService)),
+                                new InputFormatHandlerCompose2(new FileFetcher(httpService)))
                         )
                 )
-                , log, eventPublisher);
+                , log, eventPublisher, sourceReaders);
 
         //when
         sourceReferencesResolver.resolve(landscapeDescription);
@@ -110,11 +132,11 @@ public class SourceReferencesResolverTest {
         sourceReferencesResolver = new SourceReferencesResolver(
                 new InputFormatHandlerFactory(
                         new ArrayList<>(Arrays.asList(
-                                new InputFormatHandlerNivio(new FileFetcher(new HttpService())),
-                                InputFormatHandlerCompose2.forTesting())
+                                new InputFormatHandlerNivio(new FileFetcher(httpService)),
+                                new InputFormatHandlerCompose2(new FileFetcher(httpService)))
                         )
                 )
-                , log, eventPublisher);
+                , log, eventPublisher, sourceReaders);
 
         //when
         sourceReferencesResolver.resolve(landscapeDescription);
@@ -136,12 +158,12 @@ public class SourceReferencesResolverTest {
         sourceReferencesResolver = new SourceReferencesResolver(
                 new InputFormatHandlerFactory(
                         new ArrayList<>(Arrays.asList(
-                                new InputFormatHandlerNivio(new FileFetcher(new HttpService())),
-                                InputFormatHandlerCompose2.forTesting())
+                                new InputFormatHandlerNivio(new FileFetcher(httpService)),
+                                new InputFormatHandlerCompose2(new FileFetcher(httpService)))
                         )
                 )
                 , log,
-                eventPublisher);
+                eventPublisher, sourceReaders);
 
         //when
         sourceReferencesResolver.resolve(landscapeDescription);
@@ -153,4 +175,264 @@ public class SourceReferencesResolverTest {
         assertThat(value).isNotNull();
         assertThat(value.getMessage()).contains("Failed to parse yaml service description");
     }
+
+    @Test
+    void reusesUnchangedSources() {
+        //given
+        File file = new File(RootPath.get() + "/src/test/resources/example/example_incremental_env.yml");
+        InputFormatHandlerNivio handler = spy(new InputFormatHandlerNivio(fileFetcher));
+        SourceReferenceCache cache = new SourceReferenceCache(fileFetcher);
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(handler)), log, eventPublisher, sourceReaders, cache
+        );
+        sourceReferencesResolver.resolve(factory.fromYaml(file));
+        verify(handler, times(3)).applyData(any(), any(), any());
+
+        //when
+        LandscapeDescription second = factory.fromYaml(file);
+        sourceReferencesResolver.resolve(second);
+
+        //then
+        verify(handler, times(3)).applyData(any(), any(), any());
+        ItemDescription mapped = second.getItemDescriptions().pick("blog-server", null);
+        assertNotNull(mapped);
+        assertEquals("blog1", mapped.getLabel(Label.shortname));
+        assertEquals("name2", mapped.getName());
+    }
+
+    @Test
+    void reusedSourcesAreCopies() {
+        //given
+        File file = new File(RootPath.get() + "/src/test/resources/example/example_incremental_env.yml");
+        SourceReferenceCache cache = new SourceReferenceCache(fileFetcher);
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new InputFormatHandlerNivio(fileFetcher))), log, eventPublisher, sourceReaders, cache
+        );
+        LandscapeDescription first = factory.fromYaml(file);
+        sourceReferencesResolver.resolve(first);
+
+        //when
+        first.getItemDescriptions().pick("blog-server", null).setName("modified");
+        LandscapeDescription second = factory.fromYaml(file);
+        sourceReferencesResolver.resolve(second);
+
+        //then
+        assertEquals("name2", second.getItemDescriptions().pick("blog-server", null).getName());
+    }
+
+    @Test
+    void copiesLinksAndInterfaces() throws MalformedURLException {
+        //given
+        LandscapeDescription buffer = new LandscapeDescription("test");
+        ItemDescription item = new ItemDescription("a");
+        Link link = new Link("http://acme.com");
+        link.setProperty("foo", "bar");
+        item.getLinks().put("docs", link);
+        InterfaceDescription intf = new InterfaceDescription("api");
+        intf.setPath("/v1");
+        item.getInterfaces().add(intf);
+        buffer.getItemDescriptions().add(item);
+
+        //when
+        ItemDescription copy = SourceReferenceCache.copy(buffer).getItemDescriptions().pick("a", null);
+
+        //then
+        Link copiedLink = copy.getLinks().get("docs");
+        assertNotSame(link, copiedLink);
+        assertEquals(new URL("http://acme.com"), copiedLink.getHref());
+        assertEquals("bar", copiedLink.getProperty("foo"));
+        InterfaceDescription copiedIntf = copy.getInterfaces().iterator().next();
+        assertNotSame(intf, copiedIntf);
+        assertEquals("/v1", copiedIntf.getPath());
+    }
+
+    @Test
+    void cachedReReadEqualsFreshParse() {
+        //given
+        File file = new File(RootPath.get() + "/src/test/resources/example/pet_clinic.yml");
+        LandscapeDescription fresh = factory.fromYaml(file);
+        sourceReferencesResolver.resolve(fresh);
+
+        SourceReferenceCache cache = new SourceReferenceCache(fileFetcher);
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new InputFormatHandlerNivio(fileFetcher))), log, eventPublisher, sourceReaders, cache
+        );
+        sourceReferencesResolver.resolve(factory.fromYaml(file));
+
+        //when
+        LandscapeDescription cached = factory.fromYaml(file);
+        sourceReferencesResolver.resolve(cached);
+
+        //then
+        assertThat(cached.getItemDescriptions().all()).hasSameSizeAs(fresh.getItemDescriptions().all());
+        fresh.getItemDescriptions().all().forEach(expected -> {
+            ItemDescription actual = cached.getItemDescriptions().find(expected.getIdentifier(), expected.getGroup()).orElseThrow();
+            assertEquals(expected.getFullyQualifiedIdentifier(), actual.getFullyQualifiedIdentifier());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getLabels(), actual.getLabels());
+            assertEquals(expected.getLinks().keySet(), actual.getLinks().keySet());
+            assertEquals(expected.getProvidedBy(), actual.getProvidedBy());
+            assertEquals(expected.getRelations().size(), actual.getRelations().size());
+        });
+        assertEquals(fresh.getGroups().keySet(), cached.getGroups().keySet());
+        fresh.getGroups().forEach((key, expected) -> {
+            GroupDescription actual = cached.getGroups().get(key);
+            assertEquals(expected.getFullyQualifiedIdentifier(), actual.getFullyQualifiedIdentifier());
+            assertEquals(expected.getOwner(), actual.getOwner());
+            assertEquals(expected.getLabels(), actual.getLabels());
+        });
+    }
+
+    @Test
+    void copiesGroupEnvironment() {
+        //given
+        LandscapeDescription buffer = new LandscapeDescription("test");
+        GroupDescription group = new GroupDescription();
+        group.setIdentifier("billing");
+        group.setEnvironment("test");
+        buffer.getGroups().put("billing", group);
+
+        //when
+        GroupDescription copy = SourceReferenceCache.copy(buffer).getGroups().get("billing");
+
+        //then
+        assertNotSame(group, copy);
+        assertEquals(group.getFullyQualifiedIdentifier(), copy.getFullyQualifiedIdentifier());
+    }
+
+    @Test
+    void mergesConcurrentSourcesInDeclarationOrder() {
+        //given
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+        landscapeDescription.setSources(List.of(
+                new SourceReference("http://first/300", DelayedHandler.FORMAT),
+                new SourceReference("http://second/0", DelayedHandler.FORMAT)
+        ));
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new DelayedHandler())), log, eventPublisher, sourceReaders
+        );
+
+        //when
+        sourceReferencesResolver.resolve(landscapeDescription);
+
+        //then
+        assertEquals("http://second/0", landscapeDescription.getItemDescriptions().pick("x", null).getName());
+        assertFalse(landscapeDescription.isPartial());
+    }
+
+    @Test
+    void sourceTimeoutMakesPartial() {
+        //given
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+        landscapeDescription.getConfig().setSourceTimeout(1L);
+        landscapeDescription.setSources(List.of(
+                new SourceReference("http://first/0", DelayedHandler.FORMAT),
+                new SourceReference("http://second/5000", DelayedHandler.FORMAT)
+        ));
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new DelayedHandler())), log, eventPublisher, sourceReaders
+        );
+
+        //when
+        sourceReferencesResolver.resolve(landscapeDescription);
+
+        //then
+        assertTrue(landscapeDescription.isPartial());
+        assertEquals("http://first/0", landscapeDescription.getItemDescriptions().pick("x", null).getName());
+        var last = log.getMessages().get(log.getMessages().size() - 1);
+        assertEquals("WARN", last.level);
+        assertThat(last.message).contains("Timeout");
+    }
+
+    @Test
+    void sourceTimeoutAppliesWithoutConcurrency() {
+        //given
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+        landscapeDescription.getConfig().setSourceTimeout(1L);
+        landscapeDescription.getConfig().setSourceConcurrency(1);
+        landscapeDescription.setSources(List.of(new SourceReference("http://first/5000", DelayedHandler.FORMAT)));
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new DelayedHandler())), log, eventPublisher, sourceReaders
+        );
+
+        //when
+        long start = System.currentTimeMillis();
+        sourceReferencesResolver.resolve(landscapeDescription);
+
+        //then
+        assertThat(System.currentTimeMillis() - start).isLessThan(4000);
+        assertTrue(landscapeDescription.isPartial());
+    }
+
+    @Test
+    void shutDownReadersMakePartial() {
+        //given
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+        landscapeDescription.setSources(List.of(new SourceReference("http://first/0", DelayedHandler.FORMAT)));
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new DelayedHandler())), log, eventPublisher, sourceReaders
+        );
+        sourceReaders.shutdown();
+
+        //when
+        sourceReferencesResolver.resolve(landscapeDescription);
+
+        //then
+        assertTrue(landscapeDescription.isPartial());
+    }
+
+    @Test
+    void sourceTimeoutIsCountedFromStart() {
+        //given
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+        landscapeDescription.getConfig().setSourceTimeout(1L);
+        landscapeDescription.getConfig().setSourceConcurrency(1);
+        landscapeDescription.setSources(List.of(
+                new SourceReference("http://first/700", DelayedHandler.FORMAT),
+                new SourceReference("http://second/700", DelayedHandler.FORMAT)
+        ));
+        sourceReferencesResolver = new SourceReferencesResolver(
+                new InputFormatHandlerFactory(List.of(new DelayedHandler())), log, eventPublisher, sourceReaders
+        );
+
+        //when
+        sourceReferencesResolver.resolve(landscapeDescription);
+
+        //then
+        assertTrue(landscapeDescription.isPartial());
+        assertEquals("http://first/700", landscapeDescription.getItemDescriptions().pick("x", null).getName());
+        var last = log.getMessages().get(log.getMessages().size() - 1);
+        assertThat(last.message).contains("Timeout").contains("second");
+    }
+
+    /**
+     * Waits for the milliseconds given in the url path, then adds an item named like the url.
+     */
+    private static class DelayedHandler implements InputFormatHandler {
+
+        static final String FORMAT = "delayed";
+
+        @Override
+        public List<String> getFormats() {
+            return List.of(FORMAT);
+        }
+
+        @Override
+        public void applyData(SourceReference reference, URL baseUrl, LandscapeDescription landscapeDescription) {
+            try {
+                Thread.sleep(Long.parseLong(reference.getUrl().substring(reference.getUrl().lastIndexOf('/') + 1)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            ItemDescription itemDescription = new ItemDescription("x");
+            itemDescription.setName(reference.getUrl());
+            landscapeDescription.mergeItems(List.of(itemDescription));
+        }
+
+        @Override
+        public InputFormatObserver getObserver(InputFormatObserver inner, SourceReference sourceReference) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package de.bonndan.nivio.input;
+
+import de.bonndan.nivio.input.dto.ItemDescription;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.LandscapeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StageRecorderTest {
+
+    private SimpleMeterRegistry registry;
+    private StageRecorder recorder;
+    private LandscapeDescription input;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        recorder = new StageRecorder(registry, "test");
+        input = new LandscapeDescription("test");
+        input.mergeItems(List.of(new ItemDescription("a"), new ItemDescription("b")));
+    }
+
+    @Test
+    void recordsResolver() {
+        recorder.resolve("adding", input, () -> {
+            List<byte[]> garbage = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                garbage.add(new byte[10_000]);
+            }
+            input.mergeItems(List.of(new ItemDescription("c" + garbage.size())));
+        });
+
+        assertThat(recorder.getStages()).hasSize(1);
+        StageMetric stage = recorder.getStages().get(0);
+        assertEquals("adding", stage.stage);
+        assertEquals(2, stage.itemsIn);
+        assertEquals(3, stage.itemsOut);
+        assertThat(stage.durationMillis).isPositive();
+        assertNotNull(stage.allocatedBytes);
+        assertThat(stage.allocatedBytes).isGreaterThanOrEqualTo(100_000L);
+
+        assertEquals(1, registry.get(StageRecorder.METRIC_PREFIX).tags("landscape", "test", "stage", "adding").timer().count());
+        assertEquals(1, registry.get(StageRecorder.METRIC_PREFIX + ".allocated").tags("landscape", "test", "stage", "adding").summary().count());
+    }
+
+    @Test
+    void recordsProcessorWithLandscapeItems() {
+        Landscape landscape = LandscapeFactory.createForTesting("test", "test").build();
+        ProcessLog log = new ProcessLog(LoggerFactory.getLogger(StageRecorderTest.class), "test");
+
+        recorder.process(new DiffProcessor(log), input, landscape);
+
+        StageMetric stage = recorder.getStages().get(0);
+        assertEquals("DiffProcessor", stage.stage);
+        assertEquals(2, stage.itemsIn);
+        assertEquals(2, stage.itemsOut);
+    }
+
+    @Test
+    void recordsFailedStage() {
+        assertThrows(ProcessingException.class, () -> recorder.resolve("failing", input, () -> {
+            throw new ProcessingException(input, "failure");
+        }));
+
+        assertThat(recorder.getStages()).extracting(stage -> stage.stage).containsExactly("failing");
+        assertEquals(1, registry.get(StageRecorder.METRIC_PREFIX).tags("stage", "failing").timer().count());
+    }
+}
@@ -8,6 +8,7 @@ import de.bonndan.nivio.input.nivio.InputFormatHandlerNivio;
 import de.bonndan.nivio.model.Label;
 import de.bonndan.nivio.model.Tagged;
 import de.bonndan.nivio.util.RootPath;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -31,14 +32,25 @@ class TemplateResolverTest {
     @Mock
     ProcessLog log;
 
+    private HttpService httpService;
+    private SourceReaderExecutor sourceReaders;
+
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
+        sourceReaders = new SourceReaderExecutor(4, 16);
         log = new ProcessLog(LoggerFactory.getLogger(TemplateResolver.class), "test");
         templateResolver = new TemplateResolver(mock(ProcessLog.class));
         FileFetcher fileFetcher = new FileFetcher(mock(HttpService.class));
         factory = new LandscapeDescriptionFactory(fileFetcher);
     }
 
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
+        sourceReaders.shutdown();
+    }
+
 
     @Test
     public void assignTemplateToAll() {
@@ -114,9 +126,9 @@ class TemplateResolverTest {
     private LandscapeDescription getLandscapeDescription(String s) {
         File file = new File(RootPath.get() + s);
         InputFormatHandlerFactory formatFactory = new InputFormatHandlerFactory(
-                new ArrayList<>(Arrays.asList(new InputFormatHandlerNivio(new FileFetcher(new HttpService())), InputFormatHandlerCompose2.forTesting()))
+                new ArrayList<>(Arrays.asList(new InputFormatHandlerNivio(new FileFetcher(httpService)), new InputFormatHandlerCompose2(new FileFetcher(httpService))))
         );
-        SourceReferencesResolver sourceReferencesResolver = new SourceReferencesResolver(formatFactory, new ProcessLog(mock(Logger.class), "test"), mock(ApplicationEventPublisher.class));
+        SourceReferencesResolver sourceReferencesResolver = new SourceReferencesResolver(formatFactory, new ProcessLog(mock(Logger.class), "test"), mock(ApplicationEventPublisher.class), sourceReaders);
         LandscapeDescription landscapeDescription = factory.fromYaml(file);
         sourceReferencesResolver.resolve(landscapeDescription);
         return landscapeDescription;
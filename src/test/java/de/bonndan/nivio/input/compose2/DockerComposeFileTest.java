@@ -7,6 +7,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import de.bonndan.nivio.input.FileFetcher;
 import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.input.dto.SourceReference;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -26,10 +27,17 @@ public class DockerComposeFileTest {
     private static final Logger logger = LoggerFactory.getLogger(DockerComposeFileTest.class);
     private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
     private FileFetcher fileFetcher;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
-        fileFetcher = new FileFetcher(new HttpService());
+        httpService = new HttpService();
+        fileFetcher = new FileFetcher(httpService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
     }
 
     static {
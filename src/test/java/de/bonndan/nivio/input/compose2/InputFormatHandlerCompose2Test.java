@@ -7,6 +7,7 @@ import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.model.Label;
 import de.bonndan.nivio.search.ItemIndex;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -20,10 +21,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 class InputFormatHandlerCompose2Test {
 
     private FileFetcher fileFetcher;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
-        fileFetcher = new FileFetcher(new HttpService());
+        httpService = new HttpService();
+        fileFetcher = new FileFetcher(httpService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
     }
 
     @Test
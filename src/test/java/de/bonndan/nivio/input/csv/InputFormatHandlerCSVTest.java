@@ -7,10 +7,13 @@ import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.observation.InputFormatObserver;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -23,10 +26,17 @@ import static org.mockito.ArgumentMatchers.any;
 class InputFormatHandlerCSVTest {
 
     private FileFetcher fileFetcher;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
-        fileFetcher = new FileFetcher(new HttpService());
+        httpService = new HttpService();
+        fileFetcher = new FileFetcher(httpService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
     }
 
     @Test
@@ -103,6 +113,37 @@ class InputFormatHandlerCSVTest {
         });
     }
 
+    @Test
+    public void readsMoreRowsThanBatchSize() throws IOException {
+        Path csv = Files.createTempFile("nivio", ".csv");
+        StringBuilder content = new StringBuilder("name;identifier\n");
+        int rows = InputFormatHandlerCSV.BATCH_SIZE * 2 + 500;
+        for (int i = 0; i < rows; i++) {
+            content.append("Item ").append(i).append(";item").append(i).append("\n");
+        }
+        Files.writeString(csv, content.toString());
+
+        SourceReference file = SourceReference.of(csv.toFile());
+        Map<String, Object> mapping = new HashMap<>();
+        mapping.put("identifier", 1);
+        mapping.put("name", 0);
+        mapping.put("description", 5);
+        file.setProperty("mapping", mapping);
+        file.setProperty("skipLines", 1);
+
+        LandscapeDescription landscapeDescription = new LandscapeDescription("test");
+
+        //when
+        new InputFormatHandlerCSV(fileFetcher).applyData(file, null, landscapeDescription);
+
+        //then
+        assertEquals(rows, landscapeDescription.getItemDescriptions().all().size());
+        ItemDescription last = landscapeDescription.getItemDescriptions().pick("item" + (rows - 1), null);
+        assertEquals("Item " + (rows - 1), last.getLabels().get("nivio.name"));
+        assertFalse(last.getLabels().containsKey("nivio.description"));
+        csv.toFile().deleteOnExit();
+    }
+
     private String getRootPath() {
         Path currentRelativePath = Paths.get("");
         return currentRelativePath.toAbsolutePath().toString();
@@ -9,6 +9,7 @@ import de.bonndan.nivio.input.nivio.InputFormatHandlerNivio;
 import de.bonndan.nivio.model.Item;
 import de.bonndan.nivio.model.Label;
 import de.bonndan.nivio.model.Lifecycle;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -27,14 +28,21 @@ class InputFormatHandlerNivioTest {
 
     private InputFormatHandlerNivio descriptionFactory;
     private LandscapeDescription landscapeDescription;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
-        FileFetcher fileFetcher = new FileFetcher(new HttpService());
+        httpService = new HttpService();
+        FileFetcher fileFetcher = new FileFetcher(httpService);
         descriptionFactory = new InputFormatHandlerNivio(fileFetcher);
         landscapeDescription = new LandscapeDescription("test");
     }
 
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
+    }
+
     @Test
     public void readServiceAndInfra() {
 
@@ -26,23 +26,27 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static de.bonndan.nivio.input.external.openapi.OpenAPILinkHandler.NAMESPACE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class OpenAPILinkHandlerTest {
 
     private WireMockServer wireMockServer;
     private OpenAPILinkHandler openAPILinkHandler;
+    private HttpService httpService;
 
     @BeforeEach
     void configureSystemUnderTest() {
+        httpService = new HttpService();
         wireMockServer = new WireMockServer(options().dynamicPort());
         wireMockServer.start();
         WireMock.configureFor("localhost", wireMockServer.port());
 
-        openAPILinkHandler = new OpenAPILinkHandler(new HttpService());
+        openAPILinkHandler = new OpenAPILinkHandler(httpService);
     }
 
     @AfterEach
     void stopWireMockServer() {
+        httpService.close();
         wireMockServer.stop();
     }
 
@@ -101,6 +105,7 @@ class OpenAPILinkHandlerTest {
 
         //when
         CompletableFuture<ComponentDescription> resolve = openAPILinkHandler.resolve(link);
+        assertThrows(ExecutionException.class, resolve::get);
         assertThat(resolve).hasFailed();
     }
 
@@ -0,0 +1,60 @@
+package de.bonndan.nivio.input.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BodyCacheTest {
+
+    private BodyCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new BodyCache(10);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByChars() {
+        cache.put("a", validator("1234"), "1234");
+        cache.put("b", validator("1234"), "1234");
+        cache.get("a");
+
+        cache.put("c", validator("1234"), "1234");
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(8, cache.getChars());
+    }
+
+    @Test
+    void replacesEntry() {
+        cache.put("a", validator("1234"), "1234");
+        cache.put("a", validator("12"), "12");
+
+        assertEquals("12", cache.get("a").body);
+        assertEquals(2, cache.getChars());
+    }
+
+    @Test
+    void doesNotCacheTooLargeBodies() {
+        cache.put("a", validator("12345678901"), "12345678901");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getChars());
+    }
+
+    @Test
+    void doesNotCacheBodiesWithoutValidators() {
+        cache.put("a", new Validator(null, null, "1234"), "1234");
+
+        assertEquals(0, cache.size());
+    }
+
+    private static Validator validator(String body) {
+        return new Validator("\"" + body + "\"", null, body);
+    }
+}
@@ -0,0 +1,236 @@
+package de.bonndan.nivio.input.http;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpServiceTest {
+
+    private WireMockServer wireMockServer;
+    private URL url;
+    private HttpService httpService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        WireMock.configureFor("localhost", wireMockServer.port());
+        url = new URL(String.format("http://localhost:%d/landscape.yml", wireMockServer.port()));
+        httpService = new HttpService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpService.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void usesETag() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").inScenario("etag").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody("foo"))
+                .willSetStateTo("cached")
+        );
+        givenThat(get("/landscape.yml").inScenario("etag").whenScenarioStateIs("cached")
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304))
+        );
+
+        String first = httpService.get(url);
+        String second = httpService.get(url);
+
+        assertEquals("foo", first);
+        assertSame(first, second);
+        verify(2, getRequestedFor(urlEqualTo("/landscape.yml")));
+        verify(1, getRequestedFor(urlEqualTo("/landscape.yml")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void usesLastModified() throws IOException, URISyntaxException {
+        String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        givenThat(get("/landscape.yml")
+                .willReturn(aResponse().withStatus(200).withHeader("Last-Modified", lastModified).withBody("foo"))
+        );
+        givenThat(get("/landscape.yml").withHeader("If-Modified-Since", equalTo(lastModified))
+                .willReturn(aResponse().withStatus(304))
+        );
+
+        httpService.get(url);
+        assertEquals("foo", httpService.get(url));
+        verify(1, getRequestedFor(urlEqualTo("/landscape.yml")).withHeader("If-Modified-Since", equalTo(lastModified)));
+    }
+
+    @Test
+    void returnsChangedContent() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody("foo"))
+                .willSetStateTo("changed")
+        );
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs("changed")
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v2\"").withBody("bar"))
+        );
+
+        assertEquals("foo", httpService.get(url));
+        assertEquals("bar", httpService.get(url));
+    }
+
+    @Test
+    void getIfModified() throws URISyntaxException {
+        givenThat(get("/landscape.yml").inScenario("etag").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody("foo"))
+                .willSetStateTo("cached")
+        );
+        givenThat(get("/landscape.yml").inScenario("etag").whenScenarioStateIs("cached")
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304))
+        );
+
+        ValidatedContent first = httpService.getIfModified(url, null);
+        assertEquals(Optional.of("foo"), first.getContent());
+        ValidatedContent second = httpService.getIfModified(url, first.getValidator());
+        assertEquals(Optional.empty(), second.getContent());
+        assertEquals(first.getValidator(), second.getValidator());
+    }
+
+    @Test
+    void getIfModifiedComparesBodyWithoutValidators() throws URISyntaxException {
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(200).withBody("foo"))
+                .willSetStateTo("same")
+        );
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs("same")
+                .willReturn(aResponse().withStatus(200).withBody("foo"))
+                .willSetStateTo("changed")
+        );
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs("changed")
+                .willReturn(aResponse().withStatus(200).withBody("bar"))
+        );
+
+        ValidatedContent first = httpService.getIfModified(url, null);
+        assertEquals(Optional.of("foo"), first.getContent());
+        ValidatedContent second = httpService.getIfModified(url, first.getValidator());
+        assertEquals(Optional.empty(), second.getContent());
+        assertEquals(Optional.of("bar"), httpService.getIfModified(url, second.getValidator()).getContent());
+    }
+
+    @Test
+    void getIfModifiedIsNotAffectedByOtherRequests() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody("foo"))
+                .willSetStateTo("changed")
+        );
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs("changed")
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v2\"").withBody("bar"))
+        );
+        givenThat(get("/landscape.yml").inScenario("change").whenScenarioStateIs("changed")
+                .withHeader("If-None-Match", equalTo("\"v2\""))
+                .willReturn(aResponse().withStatus(304))
+        );
+
+        ValidatedContent first = httpService.getIfModified(url, null);
+
+        //another consumer fetches the change first
+        assertEquals("bar", httpService.get(url));
+
+        assertEquals(Optional.of("bar"), httpService.getIfModified(url, first.getValidator()).getContent());
+    }
+
+    @Test
+    void getIfModifiedDoesNotCacheBodies() throws URISyntaxException {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody("foo")));
+
+        httpService.getIfModified(url, null);
+        httpService.getIfModified(url, null);
+
+        verify(2, getRequestedFor(urlEqualTo("/landscape.yml")).withoutHeader("If-None-Match"));
+    }
+
+    @Test
+    void getRequestsEveryTime() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(200).withBody("foo")));
+
+        httpService.get(url);
+        assertEquals("foo", httpService.get(url));
+
+        verify(2, getRequestedFor(urlEqualTo("/landscape.yml")));
+    }
+
+    @Test
+    void cachesPerCredentials() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").withHeader("token", equalTo("a")).willReturn(aResponse().withStatus(200).withBody("a")));
+        givenThat(get("/landscape.yml").withHeader("token", equalTo("b")).willReturn(aResponse().withStatus(200).withBody("b")));
+
+        assertEquals("a", httpService.getWithHeaderToken(url, "token", "a"));
+        assertEquals("b", httpService.getWithHeaderToken(url, "token", "b"));
+    }
+
+    @Test
+    void getAsync() throws ExecutionException, InterruptedException {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(200).withBody("foo")));
+
+        assertEquals("foo", httpService.getAsync(url).get());
+    }
+
+    @Test
+    void getAsyncFails() {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(404)));
+
+        CompletableFuture<String> future = httpService.getAsync(url);
+        assertThrows(ExecutionException.class, future::get);
+    }
+
+    @Test
+    void getAsyncRejectsWhenQueueIsFull() {
+        HttpService singleThreaded = new HttpService(HttpService.DEFAULT_MAX_CONNECTIONS, 1,
+                HttpService.DEFAULT_CONNECT_TIMEOUT, HttpService.DEFAULT_SOCKET_TIMEOUT);
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(200).withBody("foo").withFixedDelay(500)));
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < HttpService.ASYNC_QUEUE_CAPACITY + 2; i++) {
+            futures.add(singleThreaded.getAsync(url));
+        }
+        singleThreaded.close();
+
+        CompletableFuture<String> last = futures.get(futures.size() - 1);
+        ExecutionException e = assertThrows(ExecutionException.class, last::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void getReader() throws IOException, URISyntaxException {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(200).withBody("foo\nbar")));
+
+        try (BufferedReader reader = new BufferedReader(httpService.getReader(url))) {
+            assertEquals("foo", reader.readLine());
+            assertEquals("bar", reader.readLine());
+        }
+    }
+
+    @Test
+    void getReaderFails() {
+        givenThat(get("/landscape.yml").willReturn(aResponse().withStatus(404)));
+
+        assertThrows(IOException.class, () -> httpService.getReader(url));
+    }
+}
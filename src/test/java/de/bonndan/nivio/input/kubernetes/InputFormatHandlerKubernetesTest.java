@@ -0,0 +1,136 @@
+package de.bonndan.nivio.input.kubernetes;
+
+import de.bonndan.nivio.input.ItemType;
+import de.bonndan.nivio.input.dto.LandscapeDescription;
+import de.bonndan.nivio.input.dto.SourceReference;
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.LandscapeFactory;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+class InputFormatHandlerKubernetesTest {
+
+    static KubernetesClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.pods().inAnyNamespace().delete();
+    }
+
+    @Test
+    void paramsAreNotSharedBetweenSources() {
+        client.pods().inNamespace("default").create(pod("pod1", "default"));
+        client.pods().inNamespace("other").create(pod("pod2", "other"));
+        InputFormatHandlerKubernetes handler = new InputFormatHandlerKubernetes(Optional.of(client), mock(ApplicationEventPublisher.class));
+
+        SourceReference withParams = new SourceReference(null, "k8s");
+        withParams.setUrl("http://localhost:80?groupLabel=release&namespace=default");
+        LandscapeDescription first = new LandscapeDescription("first");
+        handler.applyData(withParams, null, first);
+
+        SourceReference withoutParams = new SourceReference(null, "k8s");
+        withoutParams.setUrl("http://localhost:80");
+        LandscapeDescription second = new LandscapeDescription("second");
+        handler.applyData(withoutParams, null, second);
+
+        //namespace and group label of the first source
+        assertEquals(1, first.getItemDescriptions().all().stream().filter(item -> ItemType.POD.equals(item.getType())).count());
+        assertEquals("testgroup", first.getItemDescriptions().pick("pod1", null).getGroup());
+
+        //all namespaces, no group label
+        assertNotNull(second.getItemDescriptions().pick("pod2", null));
+        assertEquals("", second.getItemDescriptions().pick("pod1", null).getGroup());
+    }
+
+    @Test
+    void sourceObserverDoesNotListResources() {
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        when(mockClient.getConfiguration()).thenReturn(new ConfigBuilder().withMasterUrl("https://cluster").build());
+        InputFormatHandlerKubernetes handler = new InputFormatHandlerKubernetes(Optional.of(mockClient), mock(ApplicationEventPublisher.class));
+        Landscape landscape = LandscapeFactory.createForTesting("test", "test").build();
+
+        SourceReference reference = new SourceReference(null, "k8s");
+        reference.setUrl("http://localhost:80?namespace=default");
+
+        assertNotNull(handler.getSourceObserver(landscape, reference));
+
+        verify(mockClient, never()).pods();
+        verify(mockClient, never()).services();
+    }
+
+    @Test
+    void closeStopsCaches() {
+        InputFormatHandlerKubernetes handler = new InputFormatHandlerKubernetes(Optional.of(client), mock(ApplicationEventPublisher.class));
+        Landscape landscape = LandscapeFactory.createForTesting("test", "test").build();
+        SourceReference reference = new SourceReference(null, "k8s");
+        reference.setUrl("http://localhost:80?namespace=default");
+        handler.applyData(reference, null, new LandscapeDescription("test"));
+        KubernetesObserver observer = (KubernetesObserver) handler.getSourceObserver(landscape, reference);
+        observer.run();
+        assertTrue(observer.isCacheStarted());
+
+        //when
+        handler.close();
+
+        //then
+        assertFalse(observer.isCacheStarted());
+    }
+
+    @Test
+    void stoppingLastObserverStopsCache() {
+        InputFormatHandlerKubernetes handler = new InputFormatHandlerKubernetes(Optional.of(client), mock(ApplicationEventPublisher.class));
+        Landscape landscape = LandscapeFactory.createForTesting("test", "test").build();
+        SourceReference reference = new SourceReference(null, "k8s");
+        reference.setUrl("http://localhost:80?namespace=default");
+        handler.applyData(reference, null, new LandscapeDescription("test"));
+        KubernetesObserver first = (KubernetesObserver) handler.getSourceObserver(landscape, reference);
+        KubernetesObserver second = (KubernetesObserver) handler.getSourceObserver(landscape, reference);
+        first.run();
+        second.run();
+
+        //when
+        first.stop();
+        assertTrue(second.isCacheStarted());
+        second.stop();
+
+        //then
+        assertFalse(second.isCacheStarted());
+        handler.close();
+    }
+
+    @Test
+    void cacheKeyDependsOnClusterAndCredentials() {
+        Config config = new ConfigBuilder().withMasterUrl("https://a").withOauthToken("foo").build();
+        String key = InputFormatHandlerKubernetes.getCacheKey(config, "default");
+
+        assertEquals(key, InputFormatHandlerKubernetes.getCacheKey(new ConfigBuilder().withMasterUrl("https://a").withOauthToken("foo").build(), "default"));
+        assertNotEquals(key, InputFormatHandlerKubernetes.getCacheKey(config, "other"));
+        assertNotEquals(key, InputFormatHandlerKubernetes.getCacheKey(new ConfigBuilder().withMasterUrl("https://b").withOauthToken("foo").build(), "default"));
+        assertNotEquals(key, InputFormatHandlerKubernetes.getCacheKey(new ConfigBuilder().withMasterUrl("https://a").withOauthToken("bar").build(), "default"));
+    }
+
+    private static Pod pod(String name, String namespace) {
+        return new PodBuilder()
+                .withNewMetadata().withName(name).withNamespace(namespace).addToLabels("release", "testgroup").endMetadata()
+                .withNewSpec().withNodeName("node1").endSpec()
+                .withNewStatus().endStatus()
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package de.bonndan.nivio.input.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnableKubernetesMockClient(https = false, crud = true)
+class KubernetesCacheTest {
+
+    static KubernetesClient client;
+
+    private KubernetesCache cache;
+
+    @BeforeEach
+    void setup() {
+        client.pods().inNamespace("default").create(pod("pod1"));
+        client.pods().inNamespace("default").create(pod("pod2"));
+        client.pods().inNamespace("default").create(pod("pod3"));
+        cache = new KubernetesCache(client, "default", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+        client.pods().inNamespace("default").delete();
+    }
+
+    @Test
+    void listsAllPages() {
+        cache.start();
+
+        assertEquals(3, cache.getPods().size());
+    }
+
+    @Test
+    void watchUpdatesCacheAndNotifiesListeners() throws InterruptedException {
+        cache.start();
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> changes = new CopyOnWriteArrayList<>();
+        cache.addListener(change -> {
+            changes.add(change);
+            latch.countDown();
+        });
+
+        client.pods().inNamespace("default").create(pod("pod4"));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("pod default/pod4 added", changes.get(0));
+        assertEquals(4, cache.getPods().size());
+    }
+
+    @Test
+    void removedListenerIsNotNotified() throws InterruptedException {
+        cache.start();
+        List<String> changes = new CopyOnWriteArrayList<>();
+        Runnable remove = cache.addListener(changes::add);
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.addListener(change -> latch.countDown());
+        remove.run();
+
+        client.pods().inNamespace("default").create(pod("pod4"));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void removingLastListenerStops() {
+        cache.start();
+        Runnable first = cache.addListener(change -> {});
+        Runnable second = cache.addListener(change -> {});
+
+        first.run();
+        assertTrue(cache.isStarted());
+
+        second.run();
+        assertFalse(cache.isStarted());
+
+        //removing again has no effect
+        cache.start();
+        second.run();
+        assertTrue(cache.isStarted());
+    }
+
+    private static Pod pod(String name) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("default")
+                .endMetadata()
+                .build();
+    }
+}
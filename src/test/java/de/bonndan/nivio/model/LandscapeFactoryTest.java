@@ -90,6 +90,7 @@ class LandscapeFactoryTest {
         assertEquals("two",  landscape.getLabels().get("one"));
         assertEquals(1,  landscape.getLinks().size());
         assertEquals("https://dedica.team",  landscape.getLinks().get("home").getHref().toString());
+        assertThat(landscape.getSearchIndex()).isSameAs(existing.getSearchIndex());
     }
 
     @Test
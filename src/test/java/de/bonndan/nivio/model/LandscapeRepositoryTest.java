@@ -0,0 +1,50 @@
+package de.bonndan.nivio.model;
+
+import de.bonndan.nivio.search.SearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.*;
+
+class LandscapeRepositoryTest {
+
+    @Test
+    void closesSearchIndexOfReplacedLandscape() throws IOException {
+        LandscapeRepository repository = new LandscapeRepository();
+        SearchIndex searchIndex = mock(SearchIndex.class);
+        repository.save(LandscapeFactory.createForTesting("test", "test").withSearchIndex(searchIndex).build());
+
+        //when
+        repository.save(LandscapeFactory.createForTesting("test", "test").build());
+
+        //then
+        verify(searchIndex).close();
+    }
+
+    @Test
+    void keepsSharedSearchIndex() throws IOException {
+        LandscapeRepository repository = new LandscapeRepository();
+        SearchIndex searchIndex = mock(SearchIndex.class);
+        repository.save(LandscapeFactory.createForTesting("test", "test").withSearchIndex(searchIndex).build());
+
+        //when
+        repository.save(LandscapeFactory.createForTesting("test", "test").withSearchIndex(searchIndex).build());
+
+        //then
+        verify(searchIndex, never()).close();
+    }
+
+    @Test
+    void closesSearchIndexesOnShutdown() throws IOException {
+        LandscapeRepository repository = new LandscapeRepository();
+        SearchIndex searchIndex = mock(SearchIndex.class);
+        repository.save(LandscapeFactory.createForTesting("test", "test").withSearchIndex(searchIndex).build());
+
+        //when
+        repository.shutdown();
+
+        //then
+        verify(searchIndex).close();
+    }
+}
@@ -0,0 +1,89 @@
+package de.bonndan.nivio.observation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileWatcherTest {
+
+    private FileWatcher fileWatcher;
+    private Path dir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        fileWatcher = new FileWatcher(100);
+        dir = Files.createTempDirectory("nivio");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileWatcher.close();
+    }
+
+    @Test
+    void filesInSameDirectoryShareRegistration() throws IOException, InterruptedException {
+        Path one = Files.createFile(dir.resolve("one.yml"));
+        Path two = Files.createFile(dir.resolve("two.yml"));
+        AtomicInteger oneChanges = new AtomicInteger();
+        CountDownLatch twoChanged = new CountDownLatch(1);
+
+        fileWatcher.watch(one, oneChanges::incrementAndGet);
+        fileWatcher.watch(two, twoChanged::countDown);
+        assertEquals(1, fileWatcher.getWatchedDirectories());
+
+        //when
+        Files.write(two, "foo".getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertTrue(twoChanged.await(10, TimeUnit.SECONDS));
+        assertEquals(0, oneChanges.get());
+    }
+
+    @Test
+    void cancelStopsWatchingDirectory() throws IOException {
+        Path one = Files.createFile(dir.resolve("one.yml"));
+        Path two = Files.createFile(dir.resolve("two.yml"));
+
+        FileWatcher.Registration first = fileWatcher.watch(one, () -> {});
+        FileWatcher.Registration second = fileWatcher.watch(two, () -> {});
+
+        first.cancel();
+        assertEquals(1, fileWatcher.getWatchedDirectories());
+        second.cancel();
+        assertEquals(0, fileWatcher.getWatchedDirectories());
+    }
+
+    @Test
+    void watchesDeletedDirectoryAgain() throws IOException, InterruptedException {
+        Path one = Files.createFile(dir.resolve("one.yml"));
+        CountDownLatch changed = new CountDownLatch(1);
+        fileWatcher.watch(one, changed::countDown);
+
+        //when
+        Files.delete(one);
+        Files.delete(dir);
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (fileWatcher.getWatchedDirectories() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, fileWatcher.getWatchedDirectories());
+
+        Files.createDirectory(dir);
+        Files.write(one, "foo".getBytes(StandardCharsets.UTF_8));
+
+        //then
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+        assertEquals(1, fileWatcher.getWatchedDirectories());
+    }
+}
@@ -8,8 +8,11 @@ import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.LandscapeSource;
 import de.bonndan.nivio.input.dto.SourceReference;
 import de.bonndan.nivio.input.http.HttpService;
+import de.bonndan.nivio.input.http.ValidatedContent;
+import de.bonndan.nivio.input.http.Validator;
 import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.LandscapeFactory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,14 +35,21 @@ class LandscapeObserverFactoryTest {
     private InputFormatHandlerFactory formatFactory;
     private LandscapeObserverFactory observerPoolFactory;
     private FileFetcher fileFetcher;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
         landscape = LandscapeFactory.createForTesting("test", "testLandscape").build();
         formatFactory = mock(InputFormatHandlerFactory.class);
         fileFetcher = mock(FileFetcher.class);
         ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
-        observerPoolFactory = new LandscapeObserverFactory(formatFactory, fileFetcher, publisher);
+        observerPoolFactory = new LandscapeObserverFactory(formatFactory, fileFetcher, publisher, mock(FileWatcher.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
     }
 
     @Test
@@ -47,7 +57,7 @@ class LandscapeObserverFactoryTest {
     public void getObservers() throws MalformedURLException {
         String source = getRootPath() + "/src/test/resources/example/example_env.yml";
         File file = new File(source);
-        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(new HttpService()));
+        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(httpService));
         LandscapeDescription description = landscapeDescriptionFactory.fromYaml(file);
         landscape = LandscapeFactory.createForTesting("test", "testLandscape")
                 .withSource(new LandscapeSource(file.toURI().toURL()))
@@ -62,7 +72,7 @@ class LandscapeObserverFactoryTest {
         when(handler.getObserver(any(InputFormatObserver.class), any(SourceReference.class))).thenReturn(mockObserver);
         when(formatFactory.getInputFormatHandler(any(SourceReference.class))).thenReturn(handler);
 
-        when(fileFetcher.get(any(URL.class))).thenReturn("");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(new ValidatedContent("", new Validator(null, null, "")));
 
         //when
         List<InputFormatObserver> observers = observerPoolFactory.getObserversFor(landscape, description);
@@ -81,7 +91,7 @@ class LandscapeObserverFactoryTest {
     @Test
     @DisplayName("Landscape pushed through API wont have a source url, but still source references")
     public void withoutSourceUrl() {
-        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(new HttpService()));
+        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(httpService));
         LandscapeDescription description = landscapeDescriptionFactory.fromYaml(new File(getRootPath() + "/src/test/resources/example/example_env.yml"));
         description.setSource(null);
 
@@ -93,6 +103,7 @@ class LandscapeObserverFactoryTest {
         InputFormatHandler handler = mock(InputFormatHandler.class);
         when(handler.getObserver(any(InputFormatObserver.class), any(SourceReference.class))).thenReturn(mock(InputFormatObserver.class));
         when(formatFactory.getInputFormatHandler(any(SourceReference.class))).thenReturn(handler);
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(new ValidatedContent("", new Validator(null, null, "")));
 
         //when
         List<InputFormatObserver> observers = observerPoolFactory.getObserversFor(landscape, description);
@@ -2,11 +2,15 @@ package de.bonndan.nivio.observation;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class LandscapeObserverPoolTest {
@@ -19,9 +23,9 @@ class LandscapeObserverPoolTest {
     void setup() {
         scheduler = mock(ThreadPoolTaskScheduler.class);
         scheduledFuture = mock(ScheduledFuture.class);
-        when(scheduler.scheduleWithFixedDelay(any(Runnable.class), anyLong())).thenReturn(scheduledFuture);
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenReturn(scheduledFuture);
 
-        landscapeObserverPool = new LandscapeObserverPool(scheduler, 1);
+        landscapeObserverPool = new LandscapeObserverPool(scheduler, 1000);
     }
 
     @Test
@@ -34,7 +38,7 @@ class LandscapeObserverPoolTest {
         landscapeObserverPool.updateObservers(List.of(observer1, observer2, observer3));
 
         //then
-        verify(scheduler, times(3)).scheduleWithFixedDelay(any(Runnable.class), eq(1L));
+        verify(scheduler, times(3)).schedule(any(Runnable.class), any(Instant.class));
     }
 
     @Test
@@ -52,4 +56,39 @@ class LandscapeObserverPoolTest {
         verify(scheduledFuture, times(2)).cancel(eq(true));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void startsEventDrivenObserversOnce() {
+        InputFormatObserver observer = mock(InputFormatObserver.class);
+        when(observer.isEventDriven()).thenReturn(true);
+
+        //when
+        landscapeObserverPool.updateObservers(List.of(observer));
+        landscapeObserverPool.updateObservers(List.of());
+
+        //then
+        verify(observer).run();
+        verify(observer).stop();
+        verify(scheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    public void backsOffOnUnchangedSources() {
+        InputFormatObserver observer = mock(InputFormatObserver.class);
+        when(observer.poll()).thenReturn(false, false, false, false, false, true);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> next = ArgumentCaptor.forClass(Instant.class);
+        landscapeObserverPool.updateObservers(List.of(observer));
+
+        verify(scheduler).schedule(task.capture(), any(Instant.class));
+        List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            long before = System.currentTimeMillis();
+            task.getValue().run();
+            verify(scheduler, times(i + 2)).schedule(task.capture(), next.capture());
+            delays.add(Math.round((next.getValue().toEpochMilli() - before) / 1000d) * 1000);
+        }
+
+        assertThat(delays).containsExactly(2000L, 4000L, 8000L, 8000L, 8000L, 1000L);
+    }
+
+}
@@ -3,6 +3,7 @@ package de.bonndan.nivio.observation;
 import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.LandscapeFactory;
 import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ApplicationEventPublisher;
@@ -22,24 +23,30 @@ class LocalFileObserverTest {
 
     private Landscape landscape;
     private ApplicationEventPublisher publisher;
+    private FileWatcher fileWatcher;
 
     @BeforeEach
     void setup() {
         landscape = LandscapeFactory.createForTesting("foo", "bar").build();
         publisher = mock(ApplicationEventPublisher.class);
+        fileWatcher = new FileWatcher();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileWatcher.close();
     }
 
     @Test
     void checksFileExists() {
-        assertThrows(Exception.class, () -> new LocalFileObserver(landscape, publisher, new File("boohoo")));
+        assertThrows(Exception.class, () -> new LocalFileObserver(landscape, publisher, fileWatcher, new File("boohoo")));
     }
 
     @Test
     void detectsFileChange() throws IOException, InterruptedException {
         Path tempFile = Files.createTempFile("foo", "bar");
-        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, tempFile.toFile());
-        Thread thread = new Thread(localFileObserver);
-        thread.start();
+        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, fileWatcher, tempFile.toFile());
+        localFileObserver.run();
 
         //mac os x does not use native events, acc. to stackoverflow polling is used
         int factor = SystemUtils.IS_OS_MAC_OSX ? 3 : 1;
@@ -48,7 +55,7 @@ class LocalFileObserverTest {
         Files.write(tempFile, "foo".getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE);
         Thread.sleep(4000 * factor);
 
-        thread.interrupt();
+        localFileObserver.stop();
         tempFile.toFile().deleteOnExit();
 
         verify(publisher).publishEvent(any(InputChangedEvent.class));
@@ -57,9 +64,8 @@ class LocalFileObserverTest {
     @Test
     void ignoresChangesWithinGracePeriod() throws IOException, InterruptedException {
         Path tempFile = Files.createTempFile("foo", "bar");
-        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, tempFile.toFile());
-        Thread thread = new Thread(localFileObserver);
-        thread.start();
+        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, fileWatcher, tempFile.toFile());
+        localFileObserver.run();
 
         //mac os x does not use native events, acc. to stackoverflow polling is used
         int factor = SystemUtils.IS_OS_MAC_OSX ? 3 : 1;
@@ -69,7 +75,7 @@ class LocalFileObserverTest {
         Files.write(tempFile, "bar".getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE);
         Thread.sleep(4000 * factor);
 
-        thread.interrupt();
+        localFileObserver.stop();
         tempFile.toFile().deleteOnExit();
 
         verify(publisher, times(1)).publishEvent(any(InputChangedEvent.class));
@@ -79,14 +85,13 @@ class LocalFileObserverTest {
     void doesNotCareAboutOtherFileChange() throws IOException, InterruptedException {
         Path tempFile = Files.createTempFile("foo", "bar");
         Path tempFile2 = Files.createTempFile("foo", "baz");
-        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, tempFile.toFile());
-        Thread thread = new Thread(localFileObserver);
-        thread.start();
+        LocalFileObserver localFileObserver = new LocalFileObserver(landscape, publisher, fileWatcher, tempFile.toFile());
+        localFileObserver.run();
         Thread.sleep(1000);
         Files.write(tempFile2, "foo".getBytes(StandardCharsets.UTF_8), StandardOpenOption.WRITE);
         Thread.sleep(4000);
 
-        thread.interrupt();
+        localFileObserver.stop();
         tempFile.toFile().deleteOnExit();
 
         verify(publisher, never()).publishEvent(any(InputChangedEvent.class));
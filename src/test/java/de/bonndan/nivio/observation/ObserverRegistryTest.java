@@ -1,23 +1,28 @@
 package de.bonndan.nivio.observation;
 
+import de.bonndan.nivio.config.NivioConfigProperties;
 import de.bonndan.nivio.input.*;
 import de.bonndan.nivio.input.dto.LandscapeDescription;
 import de.bonndan.nivio.input.dto.LandscapeSource;
 import de.bonndan.nivio.input.http.HttpService;
 import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.model.LandscapeFactory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.io.File;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.*;
@@ -30,14 +35,21 @@ class ObserverRegistryTest {
     private Landscape landscape;
     private ThreadPoolTaskScheduler taskScheduler;
     private IndexingDispatcher indexingDispatcher;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
         landscapeDescriptionFactory = mock(LandscapeDescriptionFactory.class);
         taskScheduler = mock(ThreadPoolTaskScheduler.class);
         observerPoolFactory = mock(LandscapeObserverFactory.class);
         indexingDispatcher = mock(IndexingDispatcher.class);
-        observerRegistry = new ObserverRegistry(observerPoolFactory, taskScheduler, indexingDispatcher);
+        observerRegistry = new ObserverRegistry(observerPoolFactory, taskScheduler, indexingDispatcher, new NivioConfigProperties(), 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpService.close();
     }
 
     @Test
@@ -46,7 +58,7 @@ class ObserverRegistryTest {
 
         String source = getRootPath() + "/src/test/resources/example/example_env.yml";
         File file = new File(source);
-        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(new HttpService()));
+        LandscapeDescriptionFactory landscapeDescriptionFactory = new LandscapeDescriptionFactory(new FileFetcher(httpService));
         LandscapeDescription description = landscapeDescriptionFactory.fromYaml(file);
 
         landscape = LandscapeFactory.createForTesting(description.getIdentifier(), description.getName())
@@ -71,6 +83,55 @@ class ObserverRegistryTest {
         verify(observerPoolFactory).getObserversFor(eq(landscape), eq(description));
     }
 
+    @Test
+    @DisplayName("Changes within the debounce window trigger a single reindex")
+    public void coalescesChanges() {
+        landscape = LandscapeFactory.createForTesting("test", "testLandscape").build();
+        ObservedChange first = new ObservedChange(landscape, "a.yml");
+        ObservedChange second = new ObservedChange(landscape, "b.yml");
+
+        //when
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(first));
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(second));
+
+        //then
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(captor.capture(), any(Instant.class));
+        verify(indexingDispatcher, never()).fromIncoming(any());
+
+        captor.getValue().run();
+        verify(indexingDispatcher, times(1)).fromIncoming(eq(landscape));
+        assertThat(first.getChanges()).containsExactly("a.yml", "b.yml");
+
+        //a later change is scheduled again
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(new ObservedChange(landscape, "c.yml")));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Changes of different landscapes are not coalesced")
+    public void doesNotCoalesceDifferentLandscapes() {
+        Landscape one = LandscapeFactory.createForTesting("one", "one").build();
+        Landscape two = LandscapeFactory.createForTesting("two", "two").build();
+
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(new ObservedChange(one, "a.yml")));
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(new ObservedChange(two, "a.yml")));
+
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Without debounce window changes are indexed immediately")
+    public void noDebounce() {
+        observerRegistry = new ObserverRegistry(observerPoolFactory, taskScheduler, indexingDispatcher, new NivioConfigProperties(), 0);
+        landscape = LandscapeFactory.createForTesting("test", "testLandscape").build();
+
+        observerRegistry.onInputChangedEvent(new InputChangedEvent(new ObservedChange(landscape, "a.yml")));
+
+        verify(indexingDispatcher).fromIncoming(eq(landscape));
+        verifyZeroInteractions(taskScheduler);
+    }
+
     private String getRootPath() {
         Path currentRelativePath = Paths.get("");
         return currentRelativePath.toAbsolutePath().toString();
@@ -3,6 +3,8 @@ package de.bonndan.nivio.observation;
 import de.bonndan.nivio.input.FileFetcher;
 import de.bonndan.nivio.input.ProcessingException;
 import de.bonndan.nivio.input.ReadingException;
+import de.bonndan.nivio.input.http.ValidatedContent;
+import de.bonndan.nivio.input.http.Validator;
 import de.bonndan.nivio.model.Landscape;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,8 @@ import java.net.URL;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class RemoteURLObserverTest {
@@ -34,7 +38,7 @@ class RemoteURLObserverTest {
 
     @Test
     public void detectsChange() {
-        when(fileFetcher.get(any(URL.class))).thenReturn("foo", "bar");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(modified("foo"), modified("bar"));
         remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
 
         //call again (once in constructor)
@@ -46,7 +50,7 @@ class RemoteURLObserverTest {
 
     @Test
     public void hasSubsequentChange() {
-        when(fileFetcher.get(any(URL.class))).thenReturn("foo", "bar", "baz");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(modified("foo"), modified("bar"), modified("baz"));
         remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
 
         //call again (once in constructor)
@@ -61,7 +65,7 @@ class RemoteURLObserverTest {
 
     @Test
     public void hasNoChangeOnInit() {
-        when(fileFetcher.get(any(URL.class))).thenReturn("foo");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(modified("foo"), unmodified("foo"));
         remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
 
         //when
@@ -73,7 +77,7 @@ class RemoteURLObserverTest {
 
     @Test
     public void hasNoChange() {
-        when(fileFetcher.get(any(URL.class))).thenReturn("foo");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(modified("foo"), unmodified("foo"));
         remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
         remoteUrlObserver.run();
 
@@ -84,12 +88,46 @@ class RemoteURLObserverTest {
         verify(publisher, never()).publishEvent(any(InputChangedEvent.class));
     }
 
+    @Test
+    public void doesNotKeepContent() {
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(modified("foo"), unmodified("foo"));
+        remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
+
+        //when
+        remoteUrlObserver.run();
+
+        //then
+        verify(fileFetcher, never()).get(any(URL.class));
+    }
+
     @Test
     public void hasError() {
         //given
-        when(fileFetcher.get(any(URL.class))).thenThrow(new ReadingException("foo", new RuntimeException("bar")));
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenThrow(new ReadingException("foo", new RuntimeException("bar")));
 
         //when
         assertThrows(ProcessingException.class, () -> new RemoteURLObserver(landscape, publisher, fileFetcher, url));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void passesOwnValidator() {
+        ValidatedContent first = modified("foo");
+        when(fileFetcher.getIfModified(any(URL.class), any())).thenReturn(first, unmodified("foo"));
+        remoteUrlObserver = new RemoteURLObserver(landscape, publisher, fileFetcher, url);
+
+        //when
+        remoteUrlObserver.run();
+
+        //then
+        verify(fileFetcher).getIfModified(eq(url), isNull());
+        verify(fileFetcher).getIfModified(eq(url), eq(first.getValidator()));
+    }
+
+    private static ValidatedContent modified(String content) {
+        return new ValidatedContent(content, new Validator(null, null, content));
+    }
+
+    private static ValidatedContent unmodified(String content) {
+        return new ValidatedContent(null, new Validator(null, null, content));
+    }
+}
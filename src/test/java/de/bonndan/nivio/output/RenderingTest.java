@@ -19,6 +19,7 @@ import de.bonndan.nivio.output.map.svg.MapStyleSheetFactory;
 import de.bonndan.nivio.output.map.svg.SVGDocument;
 import de.bonndan.nivio.output.map.svg.SVGRenderer;
 import de.bonndan.nivio.util.RootPath;
+import org.junit.jupiter.api.AfterEach;
 import org.mockito.ArgumentMatchers;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -43,10 +44,11 @@ public abstract class RenderingTest {
     protected Indexer indexer;
     protected LandscapeDescriptionFactory factory;
     protected HttpService httpService;
+    protected SourceReaderExecutor sourceReaders;
 
     public void setup() throws URISyntaxException {
         landscapeRepository = new LandscapeRepository();
-        formatFactory = new InputFormatHandlerFactory(List.of(new InputFormatHandlerNivio(new FileFetcher(new HttpService()))));
+        sourceReaders = new SourceReaderExecutor(4, 16);
         httpService = mock(HttpService.class);
 
         CachedResponse response = mock(CachedResponse.class);
@@ -54,11 +56,17 @@ public abstract class RenderingTest {
         when(httpService.getResponse(any(URL.class))).thenReturn(response);
 
         FileFetcher fileFetcher = new FileFetcher(httpService);
+        formatFactory = new InputFormatHandlerFactory(List.of(new InputFormatHandlerNivio(fileFetcher)));
         factory = new LandscapeDescriptionFactory(fileFetcher);
 
         LinkHandlerFactory linkHandlerFactory = mock(LinkHandlerFactory.class);
         IconService iconService = new IconService(new LocalIcons(), new ExternalIcons(httpService));
-        indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, mock(ApplicationEventPublisher.class), iconService);
+        indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, mock(ApplicationEventPublisher.class), iconService, new SourceReferenceCache(fileFetcher), sourceReaders);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sourceReaders.shutdown();
     }
 
     protected Landscape getLandscape(String path) {
@@ -23,19 +23,22 @@ class ExternalIconsTest {
     public static final String FAKED_LOGO_PATH = "/logocontest/82.png";
     private WireMockServer wireMockServer;
     private ExternalIcons externalIcons;
+    private HttpService httpService;
 
     @BeforeEach
     public void setup() {
+        httpService = new HttpService();
         wireMockServer = new WireMockServer(options().dynamicPort());
         wireMockServer.start();
         WireMock.configureFor("localhost", wireMockServer.port());
 
-        externalIcons = new ExternalIcons(new HttpService());
+        externalIcons = new ExternalIcons(httpService);
         externalIcons.add("redis", "http://localhost:" + wireMockServer.port() + FAKED_LOGO_PATH);
     }
 
     @AfterEach
     void stopWireMockServer() {
+        httpService.close();
         wireMockServer.stop();
     }
 
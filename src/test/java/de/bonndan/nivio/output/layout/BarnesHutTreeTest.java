@@ -0,0 +1,120 @@
+package de.bonndan.nivio.output.layout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BarnesHutTreeTest {
+
+    private static final double FORCE_CONSTANT_SQUARED = 150 * 150;
+    private static final double MIN_DISTANCE_LIMIT = 2;
+    private static final double MAX_DISTANCE_LIMIT = 300;
+
+    @Test
+    void withoutApproximationEqualsExactRepulsion() {
+        double[][] centers = randomCenters(200, 2000);
+        double[] radius = radius(200, 50);
+        double[][] exact = exactRepulsion(centers, radius, MAX_DISTANCE_LIMIT);
+
+        BarnesHutTree tree = new BarnesHutTree(0, FORCE_CONSTANT_SQUARED, MIN_DISTANCE_LIMIT, MAX_DISTANCE_LIMIT);
+        tree.build(centers, radius);
+
+        for (int i = 0; i < centers.length; i++) {
+            double[] disp = new double[2];
+            tree.addRepulsion(i, disp);
+            assertEquals(exact[i][0], disp[0], 0.0001);
+            assertEquals(exact[i][1], disp[1], 0.0001);
+        }
+    }
+
+    @Test
+    void approximatesExactRepulsion() {
+        double[][] centers = randomCenters(500, 5000);
+        double[] radius = radius(500, 50);
+        double[][] exact = exactRepulsion(centers, radius, MAX_DISTANCE_LIMIT * 10);
+
+        BarnesHutTree tree = new BarnesHutTree(0.5, FORCE_CONSTANT_SQUARED, MIN_DISTANCE_LIMIT, MAX_DISTANCE_LIMIT * 10);
+        tree.build(centers, radius);
+
+        double error = 0;
+        double total = 0;
+        for (int i = 0; i < centers.length; i++) {
+            double[] disp = new double[2];
+            tree.addRepulsion(i, disp);
+            error += Math.hypot(exact[i][0] - disp[0], exact[i][1] - disp[1]);
+            total += Math.hypot(exact[i][0], exact[i][1]);
+        }
+
+        assertThat(error / total).isLessThan(0.1);
+    }
+
+    @Test
+    void separatesVerticesAtSamePosition() {
+        double[][] centers = new double[][]{{10, 10}, {10, 10}, {10, 10}, {500, 500}};
+        double[] radius = radius(4, 50);
+        double[][] exact = exactRepulsion(centers, radius, MAX_DISTANCE_LIMIT);
+
+        BarnesHutTree tree = new BarnesHutTree(0.5, FORCE_CONSTANT_SQUARED, MIN_DISTANCE_LIMIT, MAX_DISTANCE_LIMIT);
+        tree.build(centers, radius);
+
+        double[][] disp = new double[3][2];
+        for (int i = 0; i < 3; i++) {
+            tree.addRepulsion(i, disp[i]);
+            assertEquals(exact[i][0], disp[i][0], 0.0001);
+            assertEquals(exact[i][1], disp[i][1], 0.0001);
+        }
+
+        //pushed apart in opposite directions
+        assertThat(disp[0][0]).isGreaterThan(0);
+        assertThat(disp[0][1]).isGreaterThan(0);
+        assertThat(disp[2][0]).isLessThan(0);
+        assertThat(disp[2][1]).isLessThan(0);
+        assertEquals(0, disp[0][0] + disp[1][0] + disp[2][0], 0.0001);
+    }
+
+    private static double[][] randomCenters(int n, int range) {
+        Random random = new Random(42);
+        double[][] centers = new double[n][];
+        for (int i = 0; i < n; i++) {
+            centers[i] = new double[]{random.nextDouble() * range, random.nextDouble() * range};
+        }
+        return centers;
+    }
+
+    private static double[] radius(int n, double value) {
+        double[] radius = new double[n];
+        Arrays.fill(radius, value);
+        return radius;
+    }
+
+    /**
+     * Same calculation as {@link FastOrganicLayout#calcRepulsion()}.
+     */
+    private static double[][] exactRepulsion(double[][] centers, double[] radius, double maxDistanceLimit) {
+        double[][] disp = new double[centers.length][2];
+        for (int i = 0; i < centers.length; i++) {
+            for (int j = i + 1; j < centers.length; j++) {
+                double xDelta = centers[i][0] - centers[j][0];
+                double yDelta = centers[i][1] - centers[j][1];
+                xDelta = xDelta == 0 ? 0.01 : xDelta;
+                yDelta = yDelta == 0 ? 0.01 : yDelta;
+                double deltaLength = Math.sqrt((xDelta * xDelta) + (yDelta * yDelta));
+                double deltaLengthWithRadius = deltaLength - radius[i] - radius[j];
+                if (deltaLengthWithRadius > maxDistanceLimit) {
+                    continue;
+                }
+                deltaLengthWithRadius = Math.max(deltaLengthWithRadius, MIN_DISTANCE_LIMIT);
+                double force = FORCE_CONSTANT_SQUARED / deltaLengthWithRadius;
+                disp[i][0] += (xDelta / deltaLength) * force;
+                disp[i][1] += (yDelta / deltaLength) * force;
+                disp[j][0] -= (xDelta / deltaLength) * force;
+                disp[j][1] -= (yDelta / deltaLength) * force;
+            }
+        }
+        return disp;
+    }
+}
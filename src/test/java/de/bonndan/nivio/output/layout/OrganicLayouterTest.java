@@ -5,6 +5,7 @@ import de.bonndan.nivio.assessment.Assessment;
 import de.bonndan.nivio.input.FileFetcher;
 import de.bonndan.nivio.input.Indexer;
 import de.bonndan.nivio.input.InputFormatHandlerFactory;
+import de.bonndan.nivio.input.SourceReferenceCache;
 import de.bonndan.nivio.input.external.LinkHandlerFactory;
 import de.bonndan.nivio.input.csv.InputFormatHandlerCSV;
 import de.bonndan.nivio.input.dto.GroupDescription;
@@ -175,11 +176,13 @@ class OrganicLayouterTest extends RenderingTest {
 
         HttpService httpService = new HttpService();
         IconService iconService = new IconService(new LocalIcons(), new ExternalIcons(httpService));
-        formatFactory = new InputFormatHandlerFactory(List.of(new InputFormatHandlerCSV(new FileFetcher(httpService))));
+        FileFetcher fileFetcher = new FileFetcher(httpService);
+        formatFactory = new InputFormatHandlerFactory(List.of(new InputFormatHandlerCSV(fileFetcher)));
         LinkHandlerFactory linkHandlerFactory = mock(LinkHandlerFactory.class);
-        indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, mock(ApplicationEventPublisher.class),  iconService);
+        indexer = new Indexer(landscapeRepository, formatFactory, linkHandlerFactory, mock(ApplicationEventPublisher.class),  iconService, new SourceReferenceCache(fileFetcher), sourceReaders);
 
         debugRender("/src/test/resources/example/example_csv", false);
+        httpService.close();
     }
 
     @Test
@@ -201,4 +204,64 @@ class OrganicLayouterTest extends RenderingTest {
         assertEquals(691.4090488048637, itemComponent.getX()); //margin + group offset + own offset
         assertEquals(1459.8723644530933, itemComponent.getY()); //margin + group offset + own offset
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reusesPreviousLayout() {
+
+        //given
+        String path = "/src/test/resources/example/inout";
+        Landscape landscape = getLandscape(path + ".yml");
+        OrganicLayouter layouter = new OrganicLayouter();
+        LayoutedComponent first = layouter.layout(landscape);
+
+        //when
+        LayoutedComponent second = layouter.layout(landscape);
+
+        //then
+        LayoutedComponent firstItem = first.getChildren().get(0).getChildren().get(0);
+        LayoutedComponent secondItem = second.getChildren().get(0).getChildren().get(0);
+        assertEquals(firstItem.getX(), secondItem.getX());
+        assertEquals(firstItem.getY(), secondItem.getY());
+        assertEquals(first.getWidth(), second.getWidth());
+        assertEquals(first.getHeight(), second.getHeight());
+    }
+
+    @Test
+    public void layoutIsReproducible() {
+
+        //given
+        String path = "/src/test/resources/example/example_env";
+        Landscape landscape = getLandscape(path + ".yml");
+
+        //when
+        LayoutedComponent first = new OrganicLayouter().layout(landscape);
+        LayoutedComponent second = new OrganicLayouter().layout(landscape);
+
+        //then
+        assertTrue(first.getChildren().size() > 1);
+        for (int i = 0; i < first.getChildren().size(); i++) {
+            LayoutedComponent firstGroup = first.getChildren().get(i);
+            LayoutedComponent secondGroup = second.getChildren().get(i);
+            assertEquals(firstGroup.getComponent(), secondGroup.getComponent());
+            for (int j = 0; j < firstGroup.getChildren().size(); j++) {
+                assertEquals(firstGroup.getChildren().get(j).getX(), secondGroup.getChildren().get(j).getX());
+                assertEquals(firstGroup.getChildren().get(j).getY(), secondGroup.getChildren().get(j).getY());
+            }
+        }
+    }
+
+    @Test
+    public void keepsLayoutsOfLimitedNumberOfLandscapes() {
+
+        //given
+        OrganicLayouter layouter = new OrganicLayouter();
+
+        //when
+        for (int i = 0; i <= OrganicLayouter.MAX_LANDSCAPES; i++) {
+            layouter.layout(LandscapeFactory.createForTesting("test" + i, "test" + i).build());
+        }
+
+        //then
+        assertEquals(OrganicLayouter.MAX_LANDSCAPES, layouter.getSnapshotCount());
+    }
+}
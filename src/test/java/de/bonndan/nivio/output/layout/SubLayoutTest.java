@@ -6,11 +6,16 @@ import de.bonndan.nivio.model.Item;
 import de.bonndan.nivio.model.Relation;
 import org.junit.jupiter.api.Test;
 
+import java.awt.geom.Point2D;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 import static de.bonndan.nivio.model.ItemFactory.getTestItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class SubLayoutTest {
 
@@ -49,4 +54,68 @@ class SubLayoutTest {
         assertEquals(104, Math.round(two.getX()));
         assertEquals(64, Math.round(two.getY()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reusesUnchangedLayout() {
+
+        //given
+        Group foo = new Group("foo", "landscapeIdentifier");
+        Item bar = getTestItem(foo.getIdentifier(), "bar");
+        foo.addItem(bar);
+        Item baz = getTestItem(foo.getIdentifier(), "baz");
+        foo.addItem(baz);
+        baz.addOrReplace(new Relation(baz, bar));
+        SubLayout first = new SubLayout(foo, new HashSet<>(foo.getItems()), new LandscapeConfig.LayoutConfig());
+
+        //when
+        SubLayout second = new SubLayout(foo, new HashSet<>(foo.getItems()), new LandscapeConfig.LayoutConfig(), first.getSnapshot());
+
+        //then
+        assertSame(first.getSnapshot(), second.getSnapshot());
+        assertEquals(first.getOuterBounds().getChildren().get(0).getX(), second.getOuterBounds().getChildren().get(0).getX());
+        assertEquals(first.getOuterBounds().getChildren().get(0).getY(), second.getOuterBounds().getChildren().get(0).getY());
+    }
+
+    @Test
+    public void changedGroupStartsFromPreviousLayout() {
+
+        //given
+        Group foo = new Group("foo", "landscapeIdentifier");
+        Item bar = getTestItem(foo.getIdentifier(), "bar");
+        foo.addItem(bar);
+        Item baz = getTestItem(foo.getIdentifier(), "baz");
+        foo.addItem(baz);
+        SubLayout first = new SubLayout(foo, new HashSet<>(foo.getItems()), new LandscapeConfig.LayoutConfig());
+
+        //when
+        baz.addOrReplace(new Relation(baz, bar));
+        SubLayout second = new SubLayout(foo, new HashSet<>(foo.getItems()), new LandscapeConfig.LayoutConfig(), first.getSnapshot());
+
+        //then
+        assertNotEquals(first.getSnapshot().getSignature(), second.getSnapshot().getSignature());
+        assertNotNull(second.getSnapshot().getPosition(bar.getFullyQualifiedIdentifier().toString()));
+    }
+
+    @Test
+    public void seededLayoutKeepsItsSignature() {
+
+        //given
+        Group foo = new Group("foo", "landscapeIdentifier");
+        Item bar = getTestItem(foo.getIdentifier(), "bar");
+        foo.addItem(bar);
+        Item baz = getTestItem(foo.getIdentifier(), "baz");
+        foo.addItem(baz);
+        List<LayoutedComponent> components = List.of(
+                new LayoutedComponent(bar, List.of(baz)),
+                new LayoutedComponent(baz, List.of())
+        );
+        FastOrganicLayout layout = new FastOrganicLayout(components);
+        String signature = layout.getSignature();
+
+        //when
+        layout.execute(new LayoutSnapshot("previous", Map.of(bar.getFullyQualifiedIdentifier().toString(), new Point2D.Double(0, 0))));
+
+        //then
+        assertEquals(signature, layout.getSignature());
+    }
+}
@@ -0,0 +1,46 @@
+package de.bonndan.nivio.output.map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedRenderingTest {
+
+    private static final String SVG = "<svg><text>⚠ group</text></svg>";
+
+    @Test
+    void compressesWrittenContent() throws IOException {
+        CachedRendering rendering = new CachedRendering(writer -> {
+            writer.write("<svg>");
+            writer.append("<text>⚠ group</text>");
+            writer.write("</svg>");
+        });
+
+        assertEquals(SVG, rendering.getXML());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(rendering.getGzipped()))) {
+            assertEquals(SVG, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThat(rendering.getSize()).isEqualTo(rendering.getGzipped().length);
+    }
+
+    @Test
+    void lengthAndETagOfUncompressedBytes() throws IOException {
+        byte[] bytes = SVG.getBytes(StandardCharsets.UTF_8);
+
+        CachedRendering rendering = new CachedRendering(SVG);
+
+        assertEquals(bytes.length, rendering.getLength());
+        assertEquals("\"" + DigestUtils.md5DigestAsHex(bytes) + "\"", rendering.getETag());
+        try (InputStream in = rendering.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(bytes);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.bonndan.nivio.output.map;
+
+import de.bonndan.nivio.model.Landscape;
+import de.bonndan.nivio.model.LandscapeFactory;
+import de.bonndan.nivio.model.LandscapeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MapControllerTest {
+
+    private static final String SVG = "<svg></svg>";
+
+    private MapController controller;
+    private CachedRendering rendering;
+
+    @BeforeEach
+    void setup() {
+        LandscapeRepository landscapeRepository = mock(LandscapeRepository.class);
+        RenderCache renderCache = mock(RenderCache.class);
+        Landscape landscape = LandscapeFactory.createForTesting("test", "testLandscape").build();
+        when(landscapeRepository.findDistinctByIdentifier("test")).thenReturn(Optional.of(landscape));
+        rendering = new CachedRendering(SVG);
+        when(renderCache.getRendering(landscape, false)).thenReturn(rendering);
+        controller = new MapController(landscapeRepository, renderCache);
+    }
+
+    @Test
+    void returnsSvgWithETag() throws IOException {
+        ResponseEntity<Resource> response = controller.svg("test", false, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(SVG, new String(response.getBody().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(SVG.length(), response.getHeaders().getContentLength());
+        assertEquals(rendering.getETag(), response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void notModified() {
+        ResponseEntity<Resource> response = controller.svg("test", false, "W/\"foo\", " + rendering.getETag(), null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(rendering.getETag(), response.getHeaders().getETag());
+    }
+
+    @Test
+    void modified() {
+        ResponseEntity<Resource> response = controller.svg("test", false, "\"foo\"", null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void returnsGzipped() throws IOException {
+        ResponseEntity<Resource> response = controller.svg("test", false, null, "deflate, gzip;q=0.8");
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(response.getBody().getInputStream())) {
+            assertEquals(SVG, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void doesNotGzipIfRejected() {
+        ResponseEntity<Resource> response = controller.svg("test", false, null, "gzip;q=0");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -20,9 +20,17 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static de.bonndan.nivio.model.ItemFactory.getTestItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -73,6 +81,15 @@ class RenderCacheTest {
         assertTrue(svg.contains("svg"));
     }
 
+    @Test
+    void renderingIsContentAddressed() {
+        CachedRendering first = renderCache.getRendering(getLandscape("test", "testLandscape"), false);
+        CachedRendering other = new CachedRendering(first.getXML());
+
+        assertEquals(first.getETag(), other.getETag());
+        assertNotEquals(first.getETag(), renderCache.getRendering(getLandscape("test", "testLandscape"), true).getETag());
+    }
+
     @Test
     void onProcessingFinishedEvent() {
         renderCache.onApplicationEvent(new ProcessingFinishedEvent(
@@ -84,6 +101,82 @@ class RenderCacheTest {
         verify(stylesheetFactory, times(1)).getMapStylesheet(any(), any());
     }
 
+    @Test
+    void concurrentRequestsRenderOnce() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stylesheetFactory.getMapStylesheet(any(), any())).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "";
+        });
+        Landscape landscape = getLandscape("test", "testLandscape");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> renderCache.getSVG(landscape, false));
+            assertTrue(rendering.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> renderCache.getSVG(landscape, false));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(stylesheetFactory, times(1)).getMapStylesheet(any(), any());
+    }
+
+    @Test
+    void servesPreviousRenderingWhileRefreshing() throws Exception {
+        Landscape landscape = getLandscape("test", "testLandscape");
+        CachedRendering previous = renderCache.getRendering(landscape, false);
+
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stylesheetFactory.getMapStylesheet(any(), any())).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ".changed {}";
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> refresh = executor.submit(() -> renderCache.onApplicationEvent(new ProcessingFinishedEvent(
+                    new LandscapeDescription("test", "testLandscape", null), landscape, new ProcessingChangelog()
+            )));
+            assertTrue(rendering.await(5, TimeUnit.SECONDS));
+            assertSame(previous, renderCache.getRendering(landscape, false));
+
+            release.countDown();
+            refresh.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(renderCache.getSVG(landscape, false).contains(".changed {}"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        Landscape one = getLandscape("one", "one");
+        long size = new RenderCache(svgRenderer).getRendering(one, false).getSize();
+        renderCache = new RenderCache(svgRenderer, size * 2 + size / 2);
+        clearInvocations(stylesheetFactory);
+
+        renderCache.getSVG(one, false);
+        renderCache.getSVG(getLandscape("two", "two"), false);
+        renderCache.getSVG(one, false);
+        renderCache.getSVG(getLandscape("three", "three"), false);
+        assertTrue(renderCache.getBytes() <= size * 2 + size / 2);
+        verify(stylesheetFactory, times(3)).getMapStylesheet(any(), any());
+
+        renderCache.getSVG(one, false);
+        verify(stylesheetFactory, times(3)).getMapStylesheet(any(), any());
+
+        renderCache.getSVG(getLandscape("two", "two"), false);
+        verify(stylesheetFactory, times(4)).getMapStylesheet(any(), any());
+    }
+
     private Landscape getLandscape(String identifier, String name) {
 
         ProcessLog test = new ProcessLog(LoggerFactory.getLogger("test"), "test");
@@ -104,4 +197,4 @@ class RenderCacheTest {
         new AppearanceProcessor(landscape.getLog(), mock(IconService.class)).process(null, landscape);
         return landscape;
     }
-}
\ No newline at end of file
+}
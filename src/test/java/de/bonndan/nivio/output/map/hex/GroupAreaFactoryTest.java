@@ -63,7 +63,9 @@ class GroupAreaFactoryTest {
         //then
         assertThat(inArea).containsAll(expectedTerritory);
 
-        PathFinder pathFinder = new PathFinder(hexesToItems);
+        HexTable<Hex> hexes = new HexTable<>();
+        hexesToItems.keySet().forEach(hex -> hexes.put(hex.q, hex.r, hex));
+        PathFinder pathFinder = new PathFinder(hexes);
         HexPath shortestPath = pathFinder.getPath(one, two).orElseThrow();
         assertThat(inArea).containsAll(shortestPath.getHexes());
 
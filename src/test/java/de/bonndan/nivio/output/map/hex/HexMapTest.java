@@ -1,6 +1,7 @@
 package de.bonndan.nivio.output.map.hex;
 
 import de.bonndan.nivio.model.Item;
+import de.bonndan.nivio.model.Relation;
 import de.bonndan.nivio.output.layout.LayoutedComponent;
 import de.bonndan.nivio.output.map.svg.HexPath;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import java.util.Optional;
 
 import static de.bonndan.nivio.model.ItemFactory.getTestItem;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class HexMapTest {
 
@@ -54,4 +56,38 @@ class HexMapTest {
         assertThat(added).isNotNull();
         assertThat(added.item).isEqualTo(bar.getFullyQualifiedIdentifier().toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPathsKeepsOrder() {
+        HexMap hexMap = new HexMap(false);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Item item = getTestItem("foo", "item" + i);
+            LayoutedComponent component = new LayoutedComponent(item);
+            component.x = (i % 5) * 400;
+            component.y = (i / 5) * 400;
+            hexMap.add(component);
+            items.add(item);
+        }
+
+        List<Relation> relations = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            for (int j = 0; j < items.size(); j++) {
+                if (i != j) {
+                    relations.add(new Relation(items.get(i), items.get(j)));
+                }
+            }
+        }
+
+        //when
+        List<Optional<HexPath>> paths = hexMap.getPaths(relations);
+
+        //then
+        assertEquals(relations.size(), paths.size());
+        for (int i = 0; i < relations.size(); i++) {
+            Relation relation = relations.get(i);
+            HexPath expected = hexMap.getPath(relation.getSource(), relation.getTarget()).orElseThrow();
+            assertEquals(expected.getHexes(), paths.get(i).orElseThrow().getHexes());
+        }
+    }
+}
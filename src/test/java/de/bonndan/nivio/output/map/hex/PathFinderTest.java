@@ -0,0 +1,90 @@
+package de.bonndan.nivio.output.map.hex;
+
+import de.bonndan.nivio.output.map.svg.HexPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PathFinderTest {
+
+    @Test
+    void findsShortestPathOnEmptyMap() {
+        PathFinder pathFinder = new PathFinder(new HexTable<>());
+        Hex start = new Hex(0, 0);
+        Hex dst = new Hex(5, -2);
+
+        HexPath path = pathFinder.getPath(start, dst).orElseThrow();
+
+        List<Hex> hexes = path.getHexes();
+        assertEquals(start.distance(dst) + 1, hexes.size());
+        assertEquals(start, hexes.get(0));
+        assertEquals(dst, hexes.get(hexes.size() - 1));
+        assertContiguous(hexes);
+    }
+
+    @Test
+    void avoidsItems() {
+        HexTable<Hex> hexes = new HexTable<>();
+        Hex start = item(hexes, 0, 0);
+        Hex dst = item(hexes, 6, 0);
+        for (int r = -3; r <= 3; r++) {
+            item(hexes, 3, r);
+        }
+
+        HexPath path = new PathFinder(hexes).getPath(start, dst).orElseThrow();
+
+        List<Hex> pathHexes = path.getHexes();
+        assertThat(pathHexes.subList(1, pathHexes.size() - 1)).allMatch(hex -> hex.item == null);
+        assertThat(pathHexes.get(pathHexes.size() - 1)).isSameAs(dst);
+        assertContiguous(pathHexes);
+    }
+
+    @Test
+    void noPathToEnclosedDestination() {
+        HexTable<Hex> hexes = new HexTable<>();
+        Hex start = item(hexes, 0, 0);
+        Hex dst = new Hex(1, 0);
+        Hex enclosed = new Hex(10, 10);
+        enclosed.neighbours().forEach(hex -> item(hexes, hex.q, hex.r));
+
+        PathFinder pathFinder = new PathFinder(hexes);
+        assertThat(pathFinder.getPath(start, new Hex(10, 10))).isEmpty();
+
+        //instance can be reused
+        Optional<HexPath> path = pathFinder.getPath(start, dst);
+        assertThat(path).isPresent();
+        assertEquals(2, path.get().getHexes().size());
+    }
+
+    @Test
+    void repeatedSearchesReturnSamePath() {
+        HexTable<Hex> hexes = new HexTable<>();
+        Hex start = item(hexes, -4, 1);
+        Hex dst = item(hexes, 7, -3);
+        item(hexes, 1, 0);
+        item(hexes, 2, -1);
+
+        PathFinder pathFinder = new PathFinder(hexes);
+        List<Hex> first = pathFinder.getPath(start, dst).orElseThrow().getHexes();
+        List<Hex> second = pathFinder.getPath(start, dst).orElseThrow().getHexes();
+
+        assertEquals(first, second);
+    }
+
+    private static Hex item(HexTable<Hex> hexes, int q, int r) {
+        Hex hex = new Hex(q, r);
+        hex.item = q + "/" + r;
+        hexes.put(q, r, hex);
+        return hex;
+    }
+
+    private static void assertContiguous(List<Hex> hexes) {
+        for (int i = 1; i < hexes.size(); i++) {
+            assertEquals(1, hexes.get(i - 1).distance(hexes.get(i)));
+        }
+    }
+}
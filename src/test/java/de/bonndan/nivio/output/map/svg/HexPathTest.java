@@ -32,9 +32,20 @@ class HexPathTest {
     }
 
     @Test
-    void getPoints() {
+    void getPathData() {
+        assertThat(hexpath.getPathData()).isEqualTo("M 200.0,373.2050807568877 L 200.0,546.4101615137754 " +
+                "L 200.0,633.0127018922193 Q 200.0,719.6152422706632 275.0,762.9165124598851 L 275.0,762.9165124598851");
+    }
 
-        assertThat(hexpath.getPoints()).isNotEmpty().hasSize(29);
+    @Test
+    void getBezierPathEvaluatesLikeParsedPathData() {
+        BezierPath parsed = new BezierPath();
+        parsed.parsePathString(hexpath.getPathData());
+
+        BezierPath bezierPath = hexpath.getBezierPath();
+        for (float interp : new float[]{0f, 0.25f, 0.49f, 0.51f, 0.75f, 0.99f}) {
+            assertThat(bezierPath.eval(interp)).isEqualTo(parsed.eval(interp));
+        }
     }
 
     @Test
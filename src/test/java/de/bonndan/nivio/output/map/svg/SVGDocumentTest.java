@@ -1,16 +1,23 @@
 package de.bonndan.nivio.output.map.svg;
 
+import de.bonndan.nivio.assessment.Assessment;
 import de.bonndan.nivio.input.http.CachedResponse;
 import de.bonndan.nivio.model.Landscape;
 import de.bonndan.nivio.output.RenderingTest;
+import de.bonndan.nivio.output.layout.LayoutedComponent;
+import de.bonndan.nivio.output.layout.OrganicLayouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -70,4 +77,41 @@ class SVGDocumentTest extends RenderingTest {
         assertThat(svg).contains("fill=\"url(#Wm05dg==)\""); //pattern for "foo" response
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void writesSameMarkupAsDomTree() throws IOException {
+        String path = "/src/test/resources/example/inout";
+        Landscape landscape = getLandscape(path + ".yml");
+        LayoutedComponent layouted = new OrganicLayouter().layout(landscape);
+        SVGDocument document = new SVGDocument(layouted, new Assessment(landscape.applyKPIs(landscape.getKpis())), ".item {}");
+
+        //when
+        StringWriter writer = new StringWriter();
+        document.write(writer);
+
+        //then
+        assertEquals(document.render().render(), writer.toString());
+        assertThat(writer.toString()).startsWith("<svg version=\"1.1\"").endsWith("</svg>");
+    }
+
+    @Test
+    public void rendersElementsOneByOne() throws IOException {
+        List<String> events = new ArrayList<>();
+
+        //when
+        SVGDocument.renderEach(List.of("a", "b", "c"),
+                element -> {
+                    events.add("render " + element);
+                    return SvgTagCreator.text(element);
+                },
+                child -> events.add("write " + child.render())
+        );
+
+        //then
+        assertEquals(List.of(
+                "render a", "write <text>a</text>",
+                "render b", "write <text>b</text>",
+                "render c", "write <text>c</text>"
+        ), events);
+    }
+}
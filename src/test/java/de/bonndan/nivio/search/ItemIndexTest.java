@@ -61,6 +61,43 @@ class ItemIndexTest {
         assertNotNull(landscape.getItems().pick(s2));
     }
 
+    @Test
+    void findsDescriptionsWithIdentifierSetAfterAdding() {
+        ItemIndex<ItemDescription> index = new ItemIndex<>(ItemDescription.class);
+        ItemDescription description = new ItemDescription();
+        index.add(description);
+
+        //when
+        description.setIdentifier("later");
+        description.setGroup("g1");
+
+        //then
+        assertThat(index.find("later", null)).containsSame(description);
+        assertThat(index.find("later", "g1")).containsSame(description);
+        assertThat(index.find("later", "g2")).isEmpty();
+    }
+
+    @Test
+    void findsDescriptionsWithChangedIdentifier() {
+        ItemIndex<ItemDescription> index = new ItemIndex<>(ItemDescription.class);
+        ItemDescription description = new ItemDescription("before");
+        index.add(description);
+
+        //when
+        description.setIdentifier("after");
+
+        //then
+        assertThat(index.find("before", null)).isEmpty();
+        assertThat(index.find("after", null)).containsSame(description);
+    }
+
+    @Test
+    void findsByGroupAndIdentifier() {
+        assertThat(landscape.getItems().findAll(ItemMatcher.build(null, "g1", "s1"))).containsExactly(items.get(0));
+        assertThat(landscape.getItems().findAll(ItemMatcher.build(null, "g2", "s1"))).isEmpty();
+        assertThat(landscape.getItems().findAll(ItemMatcher.build(null, "g2", "hasaddress"))).containsExactly(items.get(2));
+    }
+
     @Test
     public void pickGracefulWithoutGroup() {
 
@@ -106,4 +143,47 @@ class ItemIndexTest {
         assertThat(search).contains(items.get(0));
         assertThat(search).contains(items.get(1));
     }
+
+    @Test
+    public void findAllIgnoresCase() {
+        List<Item> found = landscape.getItems().findAll(ItemMatcher.build(null, "G1", "S1"));
+
+        assertThat(found).containsExactly(items.get(0));
+    }
+
+    @Test
+    public void findAllAfterRemove() {
+        landscape.getItems().remove(items.get(0));
+
+        assertThat(landscape.getItems().findAll(ItemMatcher.build(null, null, "s1"))).isEmpty();
+        assertThat(landscape.getItems().findAll(ItemMatcher.build(null, null, "s2"))).containsExactly(items.get(1));
+    }
+
+    @Test
+    public void findAllMatchesItemsWithoutIdentifier() {
+        ItemIndex<ItemDescription> index = new ItemIndex<>(ItemDescription.class);
+        ItemDescription withoutIdentifier = new ItemDescription();
+        withoutIdentifier.setGroup("g1");
+        ItemDescription other = new ItemDescription("other");
+        index.add(withoutIdentifier);
+        index.add(other);
+
+        assertThat(index.findAll(ItemMatcher.build(null, "g1", "s1"))).containsExactly(withoutIdentifier);
+        assertThat(index.findAll(ItemMatcher.build(null, null, null))).hasSize(2);
+    }
+
+    @Test
+    public void repeatedQuerySeesNewItems() {
+        assertThat(landscape.getItems().query("name = 'foo'")).hasSize(1);
+
+        Item other = getTestItemBuilder("g2", "other").withName("foo").withLandscape(landscape).build();
+        landscape.getItems().add(other);
+
+        //when
+        Collection<Item> result = landscape.getItems().query("name = 'foo'");
+
+        //then
+        assertThat(result).hasSize(2);
+        assertThat(result).contains(other);
+    }
 }
@@ -1,11 +1,18 @@
 package de.bonndan.nivio.search;
 
 import de.bonndan.nivio.assessment.Assessment;
+import de.bonndan.nivio.assessment.Status;
+import de.bonndan.nivio.assessment.StatusValue;
+import de.bonndan.nivio.input.ProcessingChangelog;
+import de.bonndan.nivio.input.dto.ItemDescription;
 import de.bonndan.nivio.model.*;
+import org.apache.lucene.facet.FacetResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -35,6 +42,165 @@ class SearchIndexTest {
         searchIndex.indexForSearch(landscape, new Assessment(Map.of()));
     }
 
+    @Test
+    void emptyIndex() {
+        assertThat(new SearchIndex().search("Arnold")).isEmpty();
+    }
+
+    @Test
+    void updatesChangedItems() {
+        Item arnie = ItemFactory.getTestItemBuilder("foo", "a").withName("Arnie").build();
+
+        //when
+        searchIndex.indexForSearch(landscapeWith(arnie, sylvester()), new Assessment(Map.of()));
+
+        //then
+        assertThat(searchIndex.search("Arnie")).containsExactly(arnie.getFullyQualifiedIdentifier());
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+        assertThat(searchIndex.search("Sylvester")).hasSize(1);
+    }
+
+    @Test
+    void cachedResultsAreInvalidatedOnUpdate() {
+        assertThat(searchIndex.search("Arnold")).hasSize(1);
+        assertThat(searchIndex.search("Arnold")).hasSize(1);
+
+        Item arnie = ItemFactory.getTestItemBuilder("foo", "a").withName("Arnie").build();
+
+        //when
+        searchIndex.indexForSearch(landscapeWith(arnie, sylvester()), new Assessment(Map.of()));
+
+        //then
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+    }
+
+    @Test
+    void facets() {
+        List<FacetResult> facets = searchIndex.facets();
+        assertThat(facets).isNotEmpty();
+        assertThat(facets).anyMatch(facetResult -> facetResult.dim.equals(SearchDocumentFactory.LUCENE_FIELD_TAG) && facetResult.labelValues[0].value.intValue() == 2);
+    }
+
+    @Test
+    void writesOnlyItemsOfTheChangelog() {
+        Item arnie = ItemFactory.getTestItemBuilder("foo", "a").withName("Arnie").build();
+        Item sly = ItemFactory.getTestItemBuilder("foo", "s").withName("Sly").build();
+        ProcessingChangelog changelog = new ProcessingChangelog();
+        changelog.addEntry(arnie, ProcessingChangelog.ChangeType.UPDATED);
+
+        //when
+        int updated = searchIndex.indexChanges(landscapeWith(arnie, sly).getItems(), Map.of(), changelog);
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(searchIndex.search("Arnie")).containsExactly(arnie.getFullyQualifiedIdentifier());
+        assertThat(searchIndex.search("Sylvester")).hasSize(1); //not in changelog
+    }
+
+    @Test
+    void deletesItemsOfTheChangelog() {
+        Item arnold = ItemFactory.getTestItemBuilder("foo", "a").withName("Arnold").build();
+        ProcessingChangelog changelog = new ProcessingChangelog();
+        changelog.addEntry(arnold, ProcessingChangelog.ChangeType.DELETED);
+
+        //when
+        int updated = searchIndex.indexChanges(landscapeWith(sylvester()).getItems(), Map.of(), changelog);
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+        assertThat(searchIndex.search("Sylvester")).hasSize(1);
+    }
+
+    @Test
+    void writesCreatedItemsWithoutGroupInChangelog() {
+        Item bruce = ItemFactory.getTestItemBuilder("foo", "b").withName("Bruce").build();
+        ProcessingChangelog changelog = new ProcessingChangelog();
+        changelog.addEntry(new ItemDescription(FullyQualifiedIdentifier.build("test", null, "b")), ProcessingChangelog.ChangeType.CREATED);
+
+        //when
+        searchIndex.indexForSearch(landscapeWith(bruce, sylvester()), new Assessment(Map.of()), changelog);
+
+        //then
+        assertThat(searchIndex.search("Bruce")).containsExactly(bruce.getFullyQualifiedIdentifier());
+    }
+
+    @Test
+    void firstUpdateWritesAllItems() {
+        SearchIndex index = new SearchIndex();
+
+        //when
+        int updated = index.indexChanges(landscapeWith(sylvester()).getItems(), Map.of(), new ProcessingChangelog());
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(index.search("Sylvester")).hasSize(1);
+    }
+
+    @Test
+    void writesItemsWithChangedKpiResults() {
+        Item sly = sylvester();
+        Landscape landscape = landscapeWith(sly);
+        searchIndex.indexForSearch(landscape, new Assessment(Map.of()));
+        StatusValue statusValue = new StatusValue("foo", Status.RED, "bad");
+
+        //when
+        int updated = searchIndex.indexChanges(landscape.getItems(), Map.of(sly.getFullyQualifiedIdentifier(), List.of(statusValue)), new ProcessingChangelog());
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(searchIndex.indexChanges(landscape.getItems(), Map.of(sly.getFullyQualifiedIdentifier(), List.of(statusValue)), new ProcessingChangelog())).isZero();
+    }
+
+    @Test
+    void updatesItemsWithChangedLabels() {
+        Item arnold = ItemFactory.getTestItemBuilder("foo", "a")
+                .withName("Arnold")
+                .withDescription("is a strong guy")
+                .withLabels(Map.of(Tagged.LABEL_PREFIX_TAG + "strong", "strong", "movie", "predator"))
+                .build();
+
+        //when
+        searchIndex.indexForSearch(landscapeWith(arnold, sylvester()), new Assessment(Map.of()));
+
+        //then
+        assertThat(searchIndex.search("movie:predator")).containsExactly(arnold.getFullyQualifiedIdentifier());
+    }
+
+    @Test
+    void close() throws IOException {
+        searchIndex.close();
+
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+        assertThat(searchIndex.facets()).isEmpty();
+
+        //reopened on update
+        searchIndex.indexForSearch(landscapeWith(sylvester()), new Assessment(Map.of()));
+        assertThat(searchIndex.search("Sylvester")).hasSize(1);
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+    }
+
+    @Test
+    void removesDeletedItems() {
+        Item bruce = ItemFactory.getTestItemBuilder("foo", "b").withName("Bruce").build();
+
+        //when
+        searchIndex.indexForSearch(landscapeWith(bruce, sylvester()), new Assessment(Map.of()));
+
+        //then
+        assertThat(searchIndex.search("Arnold")).isEmpty();
+        assertThat(searchIndex.search("Bruce")).containsExactly(bruce.getFullyQualifiedIdentifier());
+        assertThat(searchIndex.search("Sylvester")).hasSize(1);
+    }
+
+    private static Item sylvester() {
+        return ItemFactory.getTestItemBuilder("foo", "s").withName("Sylvester").build();
+    }
+
+    private static Landscape landscapeWith(Item... items) {
+        return LandscapeFactory.createForTesting("test", "test").withItems(new HashSet<>(Set.of(items))).build();
+    }
+
     @Test
     void splitOnWhiteSpace() {
 
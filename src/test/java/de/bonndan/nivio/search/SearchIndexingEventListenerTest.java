@@ -42,6 +42,6 @@ class SearchIndexingEventListenerTest {
         verify(landscape).getSearchIndex();
         verify(landscape).getKpis();
         verify(landscape).applyKPIs(any());
-        verify(searchIndex).indexForSearch(eq(landscape), any(Assessment.class));
+        verify(searchIndex).indexForSearch(eq(landscape), any(Assessment.class), eq(e.getChangelog()));
     }
 }
\ No newline at end of file